@@ -0,0 +1,72 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
+
+import de.gematik.demis.igs.service.service.validation.ValidationTracker;
+import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
+
+/**
+ * Tracker remembering the first failure of any step instead of the status of a document. A
+ * benchmark checks it after each operation, so a broken document fails the run instead of
+ * measuring how fast a validation gives up.
+ */
+class FailureRecordingTracker extends ValidationTracker {
+
+  private volatile String failure;
+
+  @Override
+  public void updateValidationStatus(
+      String documentId, ValidationStatus validationStatus, String errorMessage) {
+    record("validation", validationStatus, errorMessage);
+  }
+
+  @Override
+  public void updateHashStatus(
+      String documentId, ValidationStatus hashStatus, String errorMessage) {
+    record("hash", hashStatus, errorMessage);
+  }
+
+  @Override
+  public void updateGzipStatus(
+      String documentId, ValidationStatus gzipStatus, String errorMessage) {
+    record("gzip", gzipStatus, errorMessage);
+  }
+
+  void check() {
+    if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  private void record(String step, ValidationStatus status, String errorMessage) {
+    if (status == VALIDATION_FAILED && failure == null) {
+      failure = step + " failed: " + errorMessage;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import de.gematik.demis.igs.service.parser.FhirParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.hl7.fhir.r4.model.Parameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+/**
+ * Deserializes and serializes the sample notification once with parsers created for each call and
+ * once with the parsers {@link FhirParser} keeps per thread. The difference of {@code
+ * gc.alloc.rate.norm} reported by {@code -prof gc} is the allocation saved per notification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class FhirParserBenchmark {
+
+  private static final FhirContext FHIR_CONTEXT = FhirContext.forR4Cached();
+
+  @Benchmark
+  public String newParsers(Notification notification) {
+    Parameters parameters =
+        newParser(notification.mediaType).parseResource(Parameters.class, notification.content);
+    return newParser(notification.mediaType).encodeResourceToString(parameters);
+  }
+
+  @Benchmark
+  public String threadParsers(Notification notification) {
+    Parameters parameters =
+        FhirParser.deserializeResource(
+            notification.content, notification.mediaType, Parameters.class);
+    return FhirParser.serializeResource(parameters, notification.mediaType);
+  }
+
+  private static IParser newParser(MediaType mediaType) {
+    return mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)
+        ? FHIR_CONTEXT.newJsonParser()
+        : FHIR_CONTEXT.newXmlParser();
+  }
+
+  @State(Scope.Benchmark)
+  public static class Notification {
+
+    @Param({"xml", "json"})
+    public String format;
+
+    private String content;
+    private MediaType mediaType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      String name = "xml".equals(format) ? "notification.xml" : "IGSMeldung.json";
+      mediaType = "xml".equals(format) ? MediaType.APPLICATION_XML : MediaType.APPLICATION_JSON;
+      try (InputStream in = getClass().getResourceAsStream("/igsNotification/" + name)) {
+        if (in == null) {
+          throw new IllegalStateException("Sample " + name + " not found on the classpath");
+        }
+        content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.benchmark.ValidationStages.DOCUMENT_ID;
+
+import de.gematik.demis.igs.service.service.GzipDecompressionFunction;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link GzipDecompressionFunction} on the compressed document, counted in bytes of
+ * the plain document.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class GzipDecompressionBenchmark {
+
+  @Benchmark
+  public void apply(SequenceDocument document, ValidationStages stages, ProcessedBytes processed)
+      throws IOException {
+    new GzipDecompressionFunction(0x1f, 0x8b, DOCUMENT_ID, stages.tracker, stages.bufferPool)
+        .apply(document.openCompressed(), OutputStream.nullOutputStream());
+    stages.tracker.check();
+    processed.add(document.plainLength());
+  }
+}
@@ -0,0 +1,104 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration.Entropy;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration.Version;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generates ids on 64 threads, as many as requests handled at the same time, once with {@link
+ * UUID#randomUUID()} as before and once with the {@link IdGenerator} for each configuration. The
+ * transaction ids compare the former {@code String.format} and {@code toUpperCase} with the
+ * concatenation of the upper case id.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class IdGeneratorBenchmark {
+
+  @Benchmark
+  public String randomUuid() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public String idGenerator(Generator generator) {
+    return generator.idGenerator.nextOrderedId();
+  }
+
+  @Benchmark
+  public String formattedTransactionId() {
+    return String.format("%s-%s-%s-%s", "IGS", "10285", "cvdp", UUID.randomUUID()).toUpperCase();
+  }
+
+  @Benchmark
+  public String generatedTransactionId(Generator generator) {
+    return "IGS-10285-"
+        + "cvdp".toUpperCase()
+        + "-"
+        + generator.idGenerator.nextOrderedUpperCaseId();
+  }
+
+  @State(Scope.Benchmark)
+  public static class Generator {
+
+    @Param({"TIME_ORDERED", "RANDOM"})
+    public Version version;
+
+    @Param({"SECURE", "FAST"})
+    public Entropy entropy;
+
+    private IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      idGenerator =
+          new IdGenerator(
+              IdGeneratorConfiguration.builder().version(version).entropy(entropy).build());
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.service.NotificationService.HTTPS_DEMIS_RKI_DE_FHIR_STRUCTURE_DEFINITION_NOTIFICATION_SEQUENCE_REQUEST;
+
+import de.gematik.demis.igs.service.parser.FhirProfileScanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the profile pre-check of notifications by the former regular expression with the
+ * {@link FhirProfileScanner}. The notifications are the samples of the tests with their bundle
+ * entries repeated {@code entries} times; without the profile the whole document has to be read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class ProfilePreCheckBenchmark {
+
+  private static final String PROFILE =
+      HTTPS_DEMIS_RKI_DE_FHIR_STRUCTURE_DEFINITION_NOTIFICATION_SEQUENCE_REQUEST;
+  private static final Pattern PATTERN =
+      Pattern.compile("(?s)meta.*profile.*" + Pattern.quote(PROFILE) + "(?!\\w|/)");
+
+  @Benchmark
+  public boolean regex(Notification notification, ProcessedBytes processed) {
+    processed.add(notification.bytes.length);
+    return PATTERN.matcher(notification.content).find();
+  }
+
+  @Benchmark
+  public boolean scanner(Notification notification, ProcessedBytes processed) {
+    processed.add(notification.bytes.length);
+    return FhirProfileScanner.declaresProfile(notification.bytes, PROFILE);
+  }
+
+  @State(Scope.Benchmark)
+  public static class Notification {
+
+    @Param({"xml", "json"})
+    public String format;
+
+    /**
+     * How often the entries of the sample bundle are repeated, 10 gives about 200 KB. The regular
+     * expression takes time quadratic in the length of a notification without the profile, so
+     * larger values make a single operation of {@code regex} take minutes.
+     */
+    @Param({"1", "10"})
+    public int entries;
+
+    @Param({"true", "false"})
+    public boolean declared;
+
+    private String content;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      String sample =
+          switch (format) {
+            case "xml" -> repeatXmlEntries(readSample("notification.xml"));
+            case "json" -> repeatJsonEntries(readSample("IGSMeldung.json"));
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+          };
+      content = declared ? sample : sample.replace(PROFILE, PROFILE + "Draft");
+      bytes = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String repeatXmlEntries(String sample) {
+      int start = sample.indexOf("<entry>");
+      int end = sample.lastIndexOf("</entry>") + "</entry>".length();
+      return sample.substring(0, start)
+          + sample.substring(start, end).repeat(entries)
+          + sample.substring(end);
+    }
+
+    private String repeatJsonEntries(String sample) {
+      int start = sample.indexOf('[', sample.indexOf("\"entry\"")) + 1;
+      int end = endOfArray(sample, start);
+      String items = sample.substring(start, end).strip();
+      return sample.substring(0, start)
+          + String.join(",", Collections.nCopies(entries, items))
+          + sample.substring(end);
+    }
+
+    /** Returns the index of the bracket closing the array starting before {@code start}. */
+    private static int endOfArray(String json, int start) {
+      int depth = 0;
+      boolean inString = false;
+      for (int i = start; i < json.length(); i++) {
+        char c = json.charAt(i);
+        if (inString) {
+          if (c == '\\') {
+            i++;
+          } else if (c == '"') {
+            inString = false;
+          }
+        } else if (c == '"') {
+          inString = true;
+        } else if (c == '[' || c == '{') {
+          depth++;
+        } else if (c == ']' || c == '}') {
+          if (depth-- == 0) {
+            return i;
+          }
+        }
+      }
+      throw new IllegalArgumentException("Unterminated array");
+    }
+
+    private String readSample(String name) throws IOException {
+      try (InputStream in = getClass().getResourceAsStream("/igsNotification/" + name)) {
+        if (in == null) {
+          throw new IllegalStateException("Sample " + name + " not found on the classpath");
+        }
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.benchmark.ValidationStages.DOCUMENT_ID;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares validating a document decoded to chars by a Reader with validating its raw bytes. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class SequenceDecodingBenchmark {
+
+  @Benchmark
+  public void reader(SequenceDocument document, ValidationStages stages, ProcessedBytes processed)
+      throws IOException {
+    stages.sequenceValidatorService.validateSequence(
+        new InputStreamReader(document.openPlain()), DOCUMENT_ID, stages.tracker, false);
+    stages.tracker.check();
+    processed.add(document.plainLength());
+  }
+
+  @Benchmark
+  public void bytes(SequenceDocument document, ValidationStages stages, ProcessedBytes processed)
+      throws IOException {
+    stages.sequenceValidatorService.validateSequence(
+        document.openPlain(), DOCUMENT_ID, stages.tracker, false);
+    stages.tracker.check();
+    processed.add(document.plainLength());
+  }
+}
@@ -0,0 +1,192 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.utils.Constants.HASH_ALGORITHM;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import util.SequenceCorpusGenerator;
+import util.SequenceCorpusGenerator.Compression;
+import util.SequenceCorpusGenerator.Format;
+
+/**
+ * The document fed into a benchmark, plain and gzip compressed. Either one of the samples of the
+ * tests or a document of the given size from the {@link SequenceCorpusGenerator}. Documents up to
+ * {@value #IN_MEMORY_LIMIT} bytes are kept in memory, larger ones are written once to {@code
+ * target/jmh-data} and reused by later runs, so generating them is not measured.
+ */
+@State(Scope.Benchmark)
+public class SequenceDocument {
+
+  private static final long IN_MEMORY_LIMIT = 256L * 1024 * 1024;
+  private static final Path DATA_DIRECTORY = Path.of("target", "jmh-data");
+
+  @Param({"fasta", "fastq"})
+  public String format;
+
+  /** Either {@code sample} or a size like {@code 64MB} or {@code 4GB}. */
+  @Param({"sample", "64MB"})
+  public String size;
+
+  private byte[] plain;
+  private byte[] compressed;
+  private Path plainFile;
+  private Path compressedFile;
+  private long plainLength;
+  private String plainHash;
+  private String compressedHash;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    if ("sample".equals(size)) {
+      plain = readSample();
+      compressed = compress(plain);
+    } else {
+      SequenceCorpusGenerator generator =
+          SequenceCorpusGenerator.builder()
+              .format(Format.valueOf(format.toUpperCase(Locale.ROOT)))
+              .sizeInBytes(parseSize(size))
+              .build();
+      if (parseSize(size) <= IN_MEMORY_LIMIT) {
+        plain = generator.generate();
+        compressed = generator.toBuilder().compression(Compression.GZIP).build().generate();
+      } else {
+        plainFile = writeOnce(generator, format + "-" + size);
+        compressedFile =
+            writeOnce(
+                generator.toBuilder().compression(Compression.GZIP).build(),
+                format + "-" + size + ".gz");
+      }
+    }
+    try (DigestInputStream in = new DigestInputStream(openPlain(), messageDigest())) {
+      plainLength = in.transferTo(OutputStream.nullOutputStream());
+      plainHash = HexFormat.of().formatHex(in.getMessageDigest().digest());
+    }
+    try (DigestInputStream in = new DigestInputStream(openCompressed(), messageDigest())) {
+      in.transferTo(OutputStream.nullOutputStream());
+      compressedHash = HexFormat.of().formatHex(in.getMessageDigest().digest());
+    }
+  }
+
+  public InputStream openPlain() throws IOException {
+    return plain != null ? new ByteArrayInputStream(plain) : Files.newInputStream(plainFile);
+  }
+
+  public InputStream openCompressed() throws IOException {
+    return compressed != null
+        ? new ByteArrayInputStream(compressed)
+        : Files.newInputStream(compressedFile);
+  }
+
+  public long plainLength() {
+    return plainLength;
+  }
+
+  public String plainHash() {
+    return plainHash;
+  }
+
+  public String compressedHash() {
+    return compressedHash;
+  }
+
+  private byte[] readSample() throws IOException {
+    String name =
+        switch (format) {
+          case "fasta" -> "Sample.fa";
+          case "fastq" -> "Sample12346_R2_small.fastq";
+          default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    try (InputStream in = getClass().getResourceAsStream("/sampleSequenceData/" + name)) {
+      if (in == null) {
+        throw new IllegalStateException("Sample " + name + " not found on the classpath");
+      }
+      return in.readAllBytes();
+    }
+  }
+
+  private static byte[] compress(byte[] document) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(document);
+    }
+    return out.toByteArray();
+  }
+
+  /** The generator is deterministic, so a file of an earlier run has the same content. */
+  private static Path writeOnce(SequenceCorpusGenerator generator, String name)
+      throws IOException {
+    Path file = DATA_DIRECTORY.resolve(name);
+    if (Files.isRegularFile(file) && Files.size(file) > 0) {
+      return file;
+    }
+    Files.createDirectories(DATA_DIRECTORY);
+    Path temporary = Files.createTempFile(DATA_DIRECTORY, name, ".tmp");
+    generator.writeTo(temporary);
+    return Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private static MessageDigest messageDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static long parseSize(String size) {
+    String value = size.trim().toUpperCase(Locale.ROOT);
+    long unit = 1;
+    if (value.endsWith("KB")) {
+      unit = 1024;
+    } else if (value.endsWith("MB")) {
+      unit = 1024 * 1024;
+    } else if (value.endsWith("GB")) {
+      unit = 1024 * 1024 * 1024;
+    }
+    String number = unit == 1 ? value : value.substring(0, value.length() - 2);
+    return Long.parseLong(number.trim()) * unit;
+  }
+}
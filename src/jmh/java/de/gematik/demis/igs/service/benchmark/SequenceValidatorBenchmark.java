@@ -0,0 +1,71 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.igs.service.service.validation.FastAValidationSpecifications;
+import de.gematik.demis.igs.service.service.validation.FastAValidator;
+import de.gematik.demis.igs.service.service.validation.FastQValidator;
+import de.gematik.demis.igs.service.service.validation.SequenceValidator;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Throughput of {@link FastAValidator} and {@link FastQValidator} on the plain document. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-XX:+AlwaysPreTouch"})
+public class SequenceValidatorBenchmark {
+
+  private static final FastAValidationSpecifications SPECIFICATIONS =
+      FastAValidationSpecifications.builder().build();
+
+  @Benchmark
+  public void validate(SequenceDocument document, ProcessedBytes processed) throws IOException {
+    SequenceValidator validator =
+        "fasta".equals(document.format)
+            ? new FastAValidator(SPECIFICATIONS, false)
+            : new FastQValidator();
+    try (InputStream in = document.openPlain()) {
+      AsciiLineReader lineReader = new AsciiLineReader(in);
+      AsciiLine firstLine = new AsciiLine();
+      lineReader.readLine(firstLine);
+      validator.validate(firstLine, lineReader);
+    }
+    processed.add(document.plainLength());
+  }
+}
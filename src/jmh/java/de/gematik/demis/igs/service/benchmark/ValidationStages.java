@@ -0,0 +1,90 @@
+package de.gematik.demis.igs.service.benchmark;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.igs.service.service.ProxyInputStreamService;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.stream.StreamConfiguration;
+import de.gematik.demis.igs.service.service.validation.SequenceValidatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * The stages of a validation wired up like in the application, with the stream settings of the
+ * {@code application.yaml}.
+ */
+@State(Scope.Benchmark)
+public class ValidationStages {
+
+  static final String DOCUMENT_ID = "benchmark";
+
+  final FailureRecordingTracker tracker = new FailureRecordingTracker();
+  SequenceValidatorService sequenceValidatorService;
+  BufferPool bufferPool;
+  ProxyInputStreamService proxy;
+  private ThreadPoolTaskExecutor ioExecutor;
+  private ThreadPoolTaskExecutor cpuExecutor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    bufferPool =
+        new BufferPool(
+            StreamConfiguration.builder()
+                .pipeCapacityInBytes(1024 * 1024)
+                .copyBufferSizeInBytes(64 * 1024)
+                .maxIdlePipeBuffers(16)
+                .maxIdleCopyBuffers(64)
+                .build(),
+            meterRegistry);
+    sequenceValidatorService = new SequenceValidatorService(bufferPool);
+    ioExecutor = createExecutor("benchmark-io-");
+    cpuExecutor = createExecutor("benchmark-cpu-");
+    proxy = new ProxyInputStreamService(ioExecutor, cpuExecutor, meterRegistry, bufferPool);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ioExecutor.shutdown();
+    cpuExecutor.shutdown();
+  }
+
+  private static ThreadPoolTaskExecutor createExecutor(String threadNamePrefix) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(4);
+    executor.setMaxPoolSize(4);
+    executor.setQueueCapacity(16);
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.initialize();
+    return executor;
+  }
+}
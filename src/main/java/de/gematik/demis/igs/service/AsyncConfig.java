@@ -26,28 +26,76 @@ package de.gematik.demis.igs.service;
  * #L%
  */
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+/**
+ * Provides one executor per kind of work. The validation workers block while their stream stages
+ * are running, so the stages must never wait for a thread of the same pool. Rejected tasks fail
+ * instead of running on the caller, which would block the caller on its own pipe.
+ */
 @Configuration
 @RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
 
+  public static final String ORCHESTRATION_EXECUTOR = "orchestrationTaskExecutor";
+  public static final String IO_EXECUTOR = "ioTaskExecutor";
+  public static final String CPU_EXECUTOR = "cpuTaskExecutor";
+  public static final String NOTIFICATION_EXECUTOR = "notificationTaskExecutor";
+  public static final String DOCUMENT_REFERENCE_CHECK_EXECUTOR =
+      "documentReferenceCheckTaskExecutor";
+
   private final ThreadConfig config;
+  private final MeterRegistry meterRegistry;
+
+  @Bean(name = ORCHESTRATION_EXECUTOR)
+  public ThreadPoolTaskExecutor orchestrationTaskExecutor() {
+    return createExecutor("orchestration", config.orchestrationPool());
+  }
+
+  @Bean(name = IO_EXECUTOR)
+  public ThreadPoolTaskExecutor ioTaskExecutor() {
+    return createExecutor("io", config.getIo());
+  }
+
+  @Bean(name = CPU_EXECUTOR)
+  public ThreadPoolTaskExecutor cpuTaskExecutor() {
+    return createExecutor("cpu", config.getCpu());
+  }
+
+  @Bean(name = NOTIFICATION_EXECUTOR)
+  public ThreadPoolTaskExecutor notificationTaskExecutor() {
+    return createExecutor("notification", config.getNotification());
+  }
+
+  @Bean(name = DOCUMENT_REFERENCE_CHECK_EXECUTOR)
+  public ThreadPoolTaskExecutor documentReferenceCheckTaskExecutor() {
+    return createExecutor("document-reference-check", config.getDocumentReferenceCheck());
+  }
 
-  @Bean(name = "defaultTaskExecutor")
-  public ThreadPoolTaskExecutor taskExecutor() {
+  @Override
+  public Executor getAsyncExecutor() {
+    return orchestrationTaskExecutor();
+  }
+
+  private ThreadPoolTaskExecutor createExecutor(String name, ThreadConfig.Pool pool) {
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(config.getCorePoolSize());
-    executor.setMaxPoolSize(config.getMaxPoolSize());
-    executor.setQueueCapacity(config.getQueueCapacity());
-    executor.setThreadNamePrefix(config.getThreadNamePrefix());
+    executor.setCorePoolSize(pool.getCorePoolSize());
+    executor.setMaxPoolSize(pool.getMaxPoolSize());
+    executor.setQueueCapacity(pool.getQueueCapacity());
+    executor.setThreadNamePrefix(pool.getThreadNamePrefix());
+    executor.setRejectedExecutionHandler(countingAbortPolicy(name));
     executor.setTaskDecorator(
         runnable -> {
           Context context = Context.current();
@@ -58,11 +106,16 @@ public class AsyncConfig implements AsyncConfigurer {
           };
         });
     executor.initialize();
+    new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, "igs", Tags.empty())
+        .bindTo(meterRegistry);
     return executor;
   }
 
-  @Override
-  public Executor getAsyncExecutor() {
-    return taskExecutor();
+  private RejectedExecutionHandler countingAbortPolicy(String name) {
+    RejectedExecutionHandler abort = new ThreadPoolExecutor.AbortPolicy();
+    return (runnable, executor) -> {
+      meterRegistry.counter("igs.executor.rejected", "name", name).increment();
+      abort.rejectedExecution(runnable, executor);
+    };
   }
 }
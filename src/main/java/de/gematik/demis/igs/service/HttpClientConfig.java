@@ -0,0 +1,83 @@
+package de.gematik.demis.igs.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing of the connection pools of the Feign clients, keyed by the name of the client. Clients
+ * without an entry get a pool with the defaults below. The connect and read timeouts are set per
+ * client with the properties of Spring Cloud OpenFeign ({@code
+ * spring.cloud.openfeign.client.config.<name>}).
+ */
+@Component
+@ConfigurationProperties(prefix = "igs.http-client")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HttpClientConfig {
+
+  @Builder.Default private Map<String, Pool> clients = new HashMap<>();
+
+  /**
+   * @param clientName the name of the Feign client
+   * @return the pool configured for the client or the default pool
+   */
+  public Pool poolOf(String clientName) {
+    return clients.getOrDefault(clientName, new Pool());
+  }
+
+  @Getter
+  @Setter
+  @Builder
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Pool {
+
+    /** Connections kept open to the service, all clients call a single host. */
+    @Builder.Default private int maxConnections = 20;
+
+    /** How long a call waits for a free connection of the pool before it fails. */
+    @Builder.Default private long connectionRequestTimeoutMillis = 5000;
+
+    /** Connections idle for longer are closed. */
+    @Builder.Default private long idleTimeoutSecs = 60;
+
+    /** Connections are not reused after this time, so scaled services get their share. */
+    @Builder.Default private long timeToLiveSecs = 300;
+  }
+}
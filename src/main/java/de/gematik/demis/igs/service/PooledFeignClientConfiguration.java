@@ -0,0 +1,94 @@
+package de.gematik.demis.igs.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Gives a Feign client its own pool of connections, sized by {@link HttpClientConfig}. Referenced
+ * by the {@code configuration} of each client and therefore not annotated with
+ * {@code @Configuration}: the beans are created in the context of the client, which knows its name.
+ *
+ * <p>The state of the pool is reported as {@code httpcomponents.httpclient.pool.*} tagged with the
+ * name of the client as {@code httpclient}. The latency of the calls is reported by Feign as
+ * {@code http.client.requests} tagged with {@code clientName}.
+ *
+ * <p>The classic Apache client speaks HTTP/1.1 only. The connections are kept alive and reused,
+ * which saves the handshakes HTTP/2 would save; the calls of one notification go to three different
+ * services, so multiplexing would not combine them anyway.
+ */
+public class PooledFeignClientConfiguration {
+
+  @Bean(destroyMethod = "close")
+  CloseableHttpClient pooledHttpClient(
+      @Value("${spring.cloud.openfeign.client.name}") String clientName,
+      HttpClientConfig config,
+      MeterRegistry meterRegistry) {
+    HttpClientConfig.Pool pool = config.poolOf(clientName);
+    PoolingHttpClientConnectionManager connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(pool.getMaxConnections())
+            .setMaxConnPerRoute(pool.getMaxConnections())
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setTimeToLive(TimeValue.ofSeconds(pool.getTimeToLiveSecs()))
+                    .build())
+            .build();
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, clientName)
+        .bindTo(meterRegistry);
+    // Feign sets connect and response timeout per call and keeps the other defaults of the client
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(
+            RequestConfig.custom()
+                .setConnectionRequestTimeout(
+                    Timeout.ofMilliseconds(pool.getConnectionRequestTimeoutMillis()))
+                .build())
+        .evictIdleConnections(TimeValue.ofSeconds(pool.getIdleTimeoutSecs()))
+        .evictExpiredConnections()
+        .build();
+  }
+
+  @Bean
+  Client pooledFeignClient(@Qualifier("pooledHttpClient") CloseableHttpClient pooledHttpClient) {
+    return new ApacheHttp5Client(pooledHttpClient);
+  }
+}
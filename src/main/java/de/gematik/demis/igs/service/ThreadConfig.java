@@ -26,14 +26,22 @@ package de.gematik.demis.igs.service;
  * #L%
  */
 
+import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+/**
+ * Sizing of the thread pools. Validation orchestration, I/O-bound and CPU-bound stream stages and
+ * the downstream calls of notifications run on separate pools, so saturation of one of them can not
+ * block the others.
+ */
+@Slf4j
 @Component
 @ConfigurationProperties(prefix = "igs.thread")
 @Getter
@@ -43,8 +51,84 @@ import org.springframework.stereotype.Component;
 @NoArgsConstructor
 public class ThreadConfig {
 
-  private int corePoolSize;
-  private int maxPoolSize;
-  private int queueCapacity;
-  private String threadNamePrefix;
+  /** Runs {@code @Async} methods. The workers of the validation queue have threads of their own. */
+  @Builder.Default private Pool orchestration = new Pool();
+
+  /** Runs stream stages waiting on the network, e.g. reading and hashing data from the storage. */
+  @Builder.Default private Pool io = new Pool();
+
+  /** Runs stream stages bound by computation, e.g. decompression. */
+  @Builder.Default private Pool cpu = new Pool();
+
+  /**
+   * Runs the calls to other services made while processing a notification, which are independent
+   * of each other.
+   */
+  @Builder.Default private Pool notification = new Pool();
+
+  /**
+   * Runs the lookups of the validation status of DocumentReferences, which must not compete with
+   * the stream stages of validations for threads.
+   */
+  @Builder.Default private Pool documentReferenceCheck = new Pool();
+
+  /**
+   * Keys of the single pool used before the pools were split up. If still configured they are
+   * applied to the orchestration pool, so existing overrides such as {@code
+   * igs.thread.core-pool-size} keep their effect.
+   *
+   * @deprecated use {@code igs.thread.orchestration.*}
+   */
+  @Deprecated private Integer corePoolSize;
+
+  /**
+   * @deprecated use {@code igs.thread.orchestration.max-pool-size}
+   */
+  @Deprecated private Integer maxPoolSize;
+
+  /**
+   * @deprecated use {@code igs.thread.orchestration.queue-capacity}
+   */
+  @Deprecated private Integer queueCapacity;
+
+  /**
+   * @deprecated use {@code igs.thread.orchestration.thread-name-prefix}
+   */
+  @Deprecated private String threadNamePrefix;
+
+  /**
+   * @return the orchestration pool, overridden by the deprecated keys that are still configured
+   */
+  public Pool orchestrationPool() {
+    if (corePoolSize == null
+        && maxPoolSize == null
+        && queueCapacity == null
+        && threadNamePrefix == null) {
+      return orchestration;
+    }
+    log.warn(
+        "igs.thread.core-pool-size, max-pool-size, queue-capacity and thread-name-prefix are"
+            + " deprecated, use igs.thread.orchestration.* instead");
+    return Pool.builder()
+        .corePoolSize(Objects.requireNonNullElse(corePoolSize, orchestration.getCorePoolSize()))
+        .maxPoolSize(Objects.requireNonNullElse(maxPoolSize, orchestration.getMaxPoolSize()))
+        .queueCapacity(
+            Objects.requireNonNullElse(queueCapacity, orchestration.getQueueCapacity()))
+        .threadNamePrefix(
+            Objects.requireNonNullElse(threadNamePrefix, orchestration.getThreadNamePrefix()))
+        .build();
+  }
+
+  @Getter
+  @Setter
+  @Builder
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Pool {
+
+    private int corePoolSize;
+    private int maxPoolSize;
+    private int queueCapacity;
+    private String threadNamePrefix;
+  }
 }
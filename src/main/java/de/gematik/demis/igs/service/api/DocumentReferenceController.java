@@ -32,7 +32,6 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
 
 import de.gematik.demis.igs.service.parser.FhirContentTypeMapper;
-import de.gematik.demis.igs.service.parser.FhirParser;
 import de.gematik.demis.igs.service.service.DocumentReferenceService;
 import java.net.URI;
 import lombok.RequiredArgsConstructor;
@@ -89,7 +88,7 @@ public class DocumentReferenceController {
         "application/json+fhir",
         "application/fhir+json"
       })
-  public ResponseEntity<String> generateDocumentReference(
+  public ResponseEntity<DocumentReference> generateDocumentReference(
       @RequestBody String content, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType mediaType) {
     MediaType fhirMediaType = FhirContentTypeMapper.map(mediaType.toString());
     DocumentReference documentReference =
@@ -99,7 +98,7 @@ public class DocumentReferenceController {
             URI.create(
                 FHIR_PREFIX + FHIR_DOCUMENT_REFERENCE_BASE + "/" + documentReference.getId()))
         .header(CONTENT_TYPE, mediaType.toString())
-        .body(FhirParser.serializeResource(documentReference, fhirMediaType));
+        .body(documentReference);
   }
 
   @GetMapping(
@@ -32,7 +32,6 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
 
 import de.gematik.demis.igs.service.parser.FhirContentTypeMapper;
-import de.gematik.demis.igs.service.parser.FhirParser;
 import de.gematik.demis.igs.service.service.NotificationService;
 import lombok.AllArgsConstructor;
 import org.hl7.fhir.r4.model.Parameters;
@@ -57,7 +56,8 @@ public class NotificationController {
    *
    * @param content serialized notification bundle
    * @param mediaType mimetype of the serialized bundle
-   * @return a ResponseEntity containing the generated notification bundle
+   * @return a ResponseEntity containing the generated notification bundle, serialized directly to
+   *     the response
    */
   @PostMapping(
       path = "${igs.context-path}" + FHIR_BUNDLE_BASE,
@@ -73,8 +73,8 @@ public class NotificationController {
         "application/json+fhir",
         "application/fhir+json"
       })
-  public ResponseEntity<String> saveNotificationBundle(
-      @RequestBody String content,
+  public ResponseEntity<Parameters> saveNotificationBundle(
+      @RequestBody byte[] content,
       @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType mediaType,
       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) MediaType acceptType,
       @RequestHeader(value = AUTHORIZATION, required = false) String authorization) {
@@ -83,8 +83,7 @@ public class NotificationController {
 
     MediaType responseMediaType = isNull(acceptType) ? mediaType : acceptType;
     return ResponseEntity.ok()
-        .body(
-            FhirParser.serializeResource(
-                savedNotification, FhirContentTypeMapper.map(responseMediaType.toString())));
+        .contentType(FhirContentTypeMapper.map(responseMediaType.toString()))
+        .body(savedNotification);
   }
 }
@@ -0,0 +1,57 @@
+package de.gematik.demis.igs.service.api;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Adds the {@code Retry-After} header to the response of a rejected request. The exception is left
+ * unresolved, so its body is rendered by the common error handling like any other {@link
+ * de.gematik.demis.service.base.error.ServiceException}. The header is kept, as only the body of
+ * the response is reset before the exception is handled.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryAfterExceptionResolver implements HandlerExceptionResolver {
+
+  @Override
+  public ModelAndView resolveException(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (ex instanceof IgsAdmissionException admission) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSecs()));
+    }
+    return null;
+  }
+}
@@ -35,6 +35,7 @@ import de.gematik.demis.igs.service.api.model.MultipartUploadComplete;
 import de.gematik.demis.igs.service.api.model.S3Info;
 import de.gematik.demis.igs.service.api.model.ValidationInfo;
 import de.gematik.demis.igs.service.service.DocumentReferenceService;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationJobQueue;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -64,6 +65,7 @@ public class S3Controller {
       S3_CONTROLLER_UPLOAD_BASE + PATH_DOCUMENT_ID + "/$finish-upload";
 
   private final DocumentReferenceService documentReferenceService;
+  private final ValidationJobQueue validationJobQueue;
 
   @GetMapping(path = S3_UPLOAD_INFO)
   public ResponseEntity<S3Info> determineUploadInfo(
@@ -76,8 +78,9 @@ public class S3Controller {
   public ResponseEntity<Void> initiateValidation(
       @PathVariable(name = DOCUMENT_ID_PATH_VARIABLE) String documentId,
       @RequestHeader(value = AUTHORIZATION) String authorization) {
-    documentReferenceService.prepareValidation(documentId);
-    documentReferenceService.validateBinary(documentId, authorization);
+    validationJobQueue.ensureCapacity();
+    validationJobQueue.submit(
+        documentReferenceService.prepareValidation(documentId, authorization));
     return noContent().build();
   }
 
@@ -52,7 +52,9 @@ public enum ErrorCode {
   PROFILE_NOT_SUPPORTED(HttpStatus.UNPROCESSABLE_ENTITY),
   NOTIFICATION_SAVE_EXCEPTION(HttpStatus.INTERNAL_SERVER_ERROR),
   INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
-  MULTIPART_UPLOAD_COMPLETE_ERROR(HttpStatus.BAD_REQUEST);
+  MULTIPART_UPLOAD_COMPLETE_ERROR(HttpStatus.BAD_REQUEST),
+  VALIDATION_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE),
+  TOO_MANY_VALIDATIONS(HttpStatus.TOO_MANY_REQUESTS);
 
   private final HttpStatus httpStatus;
 
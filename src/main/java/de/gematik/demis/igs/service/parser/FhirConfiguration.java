@@ -29,23 +29,75 @@ package de.gematik.demis.igs.service.parser;
 import ca.uhn.fhir.context.FhirContext;
 import de.gematik.demis.fhirparserlibrary.FhirParser;
 import de.gematik.demis.service.base.apidoc.EnableDefaultApiSpecConfig;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.CustomScopeConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.context.support.SimpleThreadScope;
 
 @Configuration
 @Slf4j
 @EnableDefaultApiSpecConfig
 public class FhirConfiguration {
+
+  /** Scope of beans created once per thread and kept for the lifetime of the thread. */
+  public static final String THREAD_SCOPE = "thread";
+
+  /**
+   * The resources of a notification and of the calls made while processing it. HAPI resolves the
+   * definition of a resource type on its first use, which is moved to the startup.
+   */
+  private static final List<String> PRELOADED_RESOURCE_TYPES =
+      List.of(
+          "Bundle",
+          "Composition",
+          "Device",
+          "DiagnosticReport",
+          "DocumentReference",
+          "MolecularSequence",
+          "Observation",
+          "OperationOutcome",
+          "Organization",
+          "Parameters",
+          "Patient",
+          "PractitionerRole",
+          "Provenance",
+          "Specimen",
+          "Substance");
+
+  @Bean
+  public static CustomScopeConfigurer threadScopeConfigurer() {
+    CustomScopeConfigurer configurer = new CustomScopeConfigurer();
+    configurer.addScope(THREAD_SCOPE, new SimpleThreadScope());
+    return configurer;
+  }
+
   @Bean
   public FhirContext fhirContext() {
     log.debug("creating r4 context");
-    return FhirContext.forR4Cached();
+    FhirContext fhirContext = FhirContext.forR4Cached();
+    PRELOADED_RESOURCE_TYPES.forEach(fhirContext::getResourceDefinition);
+    return fhirContext;
+  }
+
+  /**
+   * Picked up by Spring MVC and the Feign clients ahead of the default converters, so resources are
+   * serialized straight into the bodies of responses and requests.
+   */
+  @Bean
+  public FhirResourceHttpMessageConverter fhirResourceHttpMessageConverter() {
+    return new FhirResourceHttpMessageConverter();
   }
 
+  /**
+   * The parser is created once per thread, it is reused by all requests handled on the thread and
+   * may also be used by the threads of the executors.
+   */
   @Bean
-  @RequestScope
+  @Scope(value = THREAD_SCOPE, proxyMode = ScopedProxyMode.TARGET_CLASS)
   public de.gematik.demis.fhirparserlibrary.FhirParser fhirParser(FhirContext fhirContext) {
     return new FhirParser(fhirContext);
   }
@@ -33,15 +33,26 @@ import ca.uhn.fhir.parser.DataFormatException;
 import ca.uhn.fhir.parser.IParser;
 import de.gematik.demis.igs.service.exception.ErrorCode;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import java.io.IOException;
+import java.io.Writer;
 import lombok.NoArgsConstructor;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Resource;
 import org.springframework.http.MediaType;
 
+/**
+ * Serializes and deserializes FHIR resources. Parsers of HAPI are not thread safe but may be reused
+ * by the thread that created them, so each thread keeps one JSON and one XML parser instead of
+ * creating a new one for every call.
+ */
 @NoArgsConstructor(access = PRIVATE)
 public class FhirParser {
 
   private static final FhirContext fhirContext = FhirContext.forR4Cached();
+  private static final ThreadLocal<IParser> jsonParser =
+      ThreadLocal.withInitial(fhirContext::newJsonParser);
+  private static final ThreadLocal<IParser> xmlParser =
+      ThreadLocal.withInitial(fhirContext::newXmlParser);
 
   /**
    * Deserializes a FHIR resource from a string while specify the required type
@@ -94,11 +105,30 @@ public class FhirParser {
     }
   }
 
+  /**
+   * Serializes a FHIR resource directly to a writer, without building the serialized resource as a
+   * string first
+   *
+   * @param resource the resource to serialize
+   * @param mediaType the media type to serialize the resource to
+   * @param writer the writer to serialize the resource to
+   * @throws IOException if writing to the writer fails
+   */
+  public static void serializeResource(IBaseResource resource, MediaType mediaType, Writer writer)
+      throws IOException {
+    try {
+      getParser(mediaType).encodeResourceToWriter(resource, writer);
+    } catch (DataFormatException dataFormatException) {
+      throw new IgsServiceException(
+          ErrorCode.NOTIFICATION_ERROR, "Could not serialize resource", dataFormatException);
+    }
+  }
+
   private static IParser getParser(MediaType mediaType) {
     if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
-      return fhirContext.newJsonParser();
+      return jsonParser.get();
     } else {
-      return fhirContext.newXmlParser();
+      return xmlParser.get();
     }
   }
 }
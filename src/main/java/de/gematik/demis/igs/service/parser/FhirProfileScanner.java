@@ -0,0 +1,225 @@
+package de.gematik.demis.igs.service.parser;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static lombok.AccessLevel.PRIVATE;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Looks for a profile in the {@code meta.profile} of a serialized resource without parsing it into
+ * a model. The profile is searched in the root resource and, if the root resource is a Parameters
+ * resource, in the resources of its parameters. The content is read with a pull parser and only
+ * until the profile has been found, so for a notification the scan usually stops within the first
+ * lines of the document. Like the parsers of HAPI the format is told by the first character of the
+ * content, so the check does not depend on the declared media type.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public class FhirProfileScanner {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+  private static final byte[] UTF_8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+  private static final String META = "meta";
+  private static final String PROFILE = "profile";
+  private static final String PARAMETER = "parameter";
+  private static final String RESOURCE = "resource";
+  private static final String PARAMETERS = "Parameters";
+
+  /**
+   * Checks whether the root resource or a resource of its parameters declares the given profile. A
+   * declared profile matches if it starts with the given one and is not followed by a character of
+   * a longer name or path, e.g. a version like {@code |1.0} is accepted.
+   *
+   * @param content the serialized resource, JSON or XML in an encoding both parsers detect
+   * @param profile the canonical url of the profile
+   * @return true if the profile is declared, false if not or if the content can not be read
+   */
+  public static boolean declaresProfile(byte[] content, String profile) {
+    try {
+      return isXml(content)
+          ? declaresProfileInXml(content, profile)
+          : declaresProfileInJson(content, profile);
+    } catch (IOException | XMLStreamException e) {
+      log.debug("Could not read content while looking for profile", e);
+      return false;
+    }
+  }
+
+  private static boolean declaresProfileInJson(byte[] content, String profile)
+      throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+      return parser.nextToken() == JsonToken.START_OBJECT
+          && declaresProfileInJsonResource(parser, profile, true);
+    }
+  }
+
+  private static boolean declaresProfileInJsonResource(
+      JsonParser parser, String profile, boolean root) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (META.equals(field) && value == JsonToken.START_OBJECT) {
+        if (declaresProfileInJsonMeta(parser, profile)) {
+          return true;
+        }
+      } else if (root && PARAMETER.equals(field) && value == JsonToken.START_ARRAY) {
+        if (declaresProfileInJsonParameters(parser, profile)) {
+          return true;
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return false;
+  }
+
+  private static boolean declaresProfileInJsonMeta(JsonParser parser, String profile)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (PROFILE.equals(field) && value == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+          if (matches(parser.getText(), profile)) {
+            return true;
+          }
+        }
+      }
+      parser.skipChildren();
+    }
+    return false;
+  }
+
+  private static boolean declaresProfileInJsonParameters(JsonParser parser, String profile)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if (RESOURCE.equals(field) && value == JsonToken.START_OBJECT) {
+          if (declaresProfileInJsonResource(parser, profile, false)) {
+            return true;
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tracks the names of the enclosing elements, innermost first, and checks each {@code profile}
+   * element whose ancestors are the meta element of the root or of a parameter resource.
+   */
+  private static boolean declaresProfileInXml(byte[] content, String profile)
+      throws XMLStreamException {
+    XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(new ByteArrayInputStream(content));
+    try {
+      Deque<String> ancestors = new ArrayDeque<>();
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamReader.START_ELEMENT) {
+          String name = reader.getLocalName();
+          if (PROFILE.equals(name)
+              && isProfileOfResource(ancestors)
+              && matches(reader.getAttributeValue(null, "value"), profile)) {
+            return true;
+          }
+          ancestors.push(name);
+        } else if (event == XMLStreamReader.END_ELEMENT) {
+          ancestors.pop();
+        }
+      }
+      return false;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static boolean isProfileOfResource(Deque<String> ancestors) {
+    if (ancestors.size() != 2 && ancestors.size() != 5) {
+      return false;
+    }
+    Iterator<String> names = ancestors.iterator();
+    if (!META.equals(names.next())) {
+      return false;
+    }
+    names.next();
+    return ancestors.size() == 2
+        || (RESOURCE.equals(names.next())
+            && PARAMETER.equals(names.next())
+            && PARAMETERS.equals(names.next()));
+  }
+
+  /** Skips a UTF-8 byte order mark and leading whitespace. */
+  private static boolean isXml(byte[] content) {
+    int i = startsWith(content, UTF_8_BOM) ? UTF_8_BOM.length : 0;
+    while (i < content.length && Character.isWhitespace(content[i])) {
+      i++;
+    }
+    return i < content.length && content[i] == '<';
+  }
+
+  private static boolean startsWith(byte[] content, byte[] prefix) {
+    return content.length >= prefix.length
+        && Arrays.equals(content, 0, prefix.length, prefix, 0, prefix.length);
+  }
+
+  private static boolean matches(String declared, String profile) {
+    if (declared == null || !declared.startsWith(profile)) {
+      return false;
+    }
+    if (declared.length() == profile.length()) {
+      return true;
+    }
+    char next = declared.charAt(profile.length());
+    return next != '/' && next != '_' && !Character.isLetterOrDigit(next);
+  }
+
+  private static XMLInputFactory createXmlFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
@@ -0,0 +1,91 @@
+package de.gematik.demis.igs.service.parser;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes FHIR resources directly to the body of a HTTP message, so a response or a request sent by
+ * a Feign client does not need the serialized resource as a string first. The length of the body
+ * is not known in advance, responses are therefore sent with chunked transfer encoding. Resources
+ * are only written, incoming resources are still read by the services themselves.
+ */
+public class FhirResourceHttpMessageConverter extends AbstractHttpMessageConverter<IBaseResource> {
+
+  public FhirResourceHttpMessageConverter() {
+    super(
+        UTF_8,
+        MediaType.APPLICATION_JSON,
+        MediaType.APPLICATION_XML,
+        MediaType.valueOf("application/fhir+json"),
+        MediaType.valueOf("application/json+fhir"),
+        MediaType.valueOf("application/fhir+xml"));
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return IBaseResource.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected IBaseResource readInternal(
+      Class<? extends IBaseResource> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "Reading FHIR resources is not supported", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(IBaseResource resource, HttpOutputMessage outputMessage)
+      throws IOException {
+    MediaType contentType = outputMessage.getHeaders().getContentType();
+    Writer writer = new OutputStreamWriter(outputMessage.getBody(), UTF_8);
+    FhirParser.serializeResource(resource, fhirMediaTypeOf(contentType), writer);
+    writer.flush();
+  }
+
+  private static MediaType fhirMediaTypeOf(MediaType contentType) {
+    if (contentType != null && contentType.getSubtype().contains("json")) {
+      return MediaType.APPLICATION_JSON;
+    }
+    return MediaType.APPLICATION_XML;
+  }
+}
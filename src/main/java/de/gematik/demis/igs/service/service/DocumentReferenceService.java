@@ -32,6 +32,7 @@ import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_DOCUMENT_
 import static de.gematik.demis.igs.service.exception.ErrorCode.MULTIPART_UPLOAD_COMPLETE_ERROR;
 import static de.gematik.demis.igs.service.exception.ErrorCode.UPLOAD_DOCUMENT_ONGOING;
 import static de.gematik.demis.igs.service.parser.FhirParser.deserializeResource;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.FINALIZE;
 import static de.gematik.demis.igs.service.utils.Constants.HASH_METADATA_NAME;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS_DONE;
@@ -40,7 +41,6 @@ import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALI
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_NOT_INITIATED;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_ERROR_MESSAGE;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INVALID_COMPRESSED_FILE_ERROR_MSG;
-import static de.gematik.demis.igs.service.utils.JwtUtils.hasRole;
 import static java.io.InputStream.nullInputStream;
 import static java.lang.String.format;
 import static java.time.Duration.ofSeconds;
@@ -51,16 +51,23 @@ import de.gematik.demis.igs.service.api.model.MultipartUploadComplete;
 import de.gematik.demis.igs.service.api.model.S3Info;
 import de.gematik.demis.igs.service.api.model.ValidationInfo;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
 import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
 import de.gematik.demis.igs.service.service.validation.HashValidatorFunction;
 import de.gematik.demis.igs.service.service.validation.SequenceValidatorService;
+import de.gematik.demis.igs.service.service.validation.ValidationContext;
+import de.gematik.demis.igs.service.service.validation.ValidationMetrics;
 import de.gematik.demis.igs.service.service.validation.ValidationTracker;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationAdmission;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationJob;
+import de.gematik.demis.igs.service.utils.JwtClaims;
 import de.gematik.demis.igs.service.utils.Pair;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipException;
 import lombok.RequiredArgsConstructor;
@@ -71,7 +78,6 @@ import org.hl7.fhir.r4.model.DocumentReference;
 import org.hl7.fhir.r4.model.DocumentReference.DocumentReferenceContentComponent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /** Service class for handling DocumentReference operations */
@@ -85,6 +91,12 @@ public class DocumentReferenceService {
   private final SequenceValidatorService sequenceValidatorService;
   private final ProxyInputStreamService proxy;
   private final ValidationTracker validationTracker;
+  private final ValidationAdmission validationAdmission;
+  private final BufferPool bufferPool;
+  private final ValidationMetrics validationMetrics;
+  private final IdGenerator idGenerator;
+  private final JwtClaimsCache jwtClaimsCache;
+  private final AtomicInteger longPollWaiters = new AtomicInteger();
 
   @Setter
   @Value("${igs.long-polling-timeout-secs}")
@@ -107,7 +119,7 @@ public class DocumentReferenceService {
         deserializeResource(content, mediaType, DocumentReference.class);
     HashMap<String, String> metadata = getAttachmentMetadata(documentReference);
     metadata.put(VALIDATION_STATUS, VALIDATION_NOT_INITIATED.name());
-    String documentReferenceId = UUID.randomUUID().toString();
+    String documentReferenceId = idGenerator.nextId();
     documentReference.setId(documentReferenceId);
 
     storageService.putBlob(documentReferenceId, metadata, nullInputStream());
@@ -118,10 +130,14 @@ public class DocumentReferenceService {
   /**
    * Checks if the validation status in metadata is set or set to VALIDATION_NOT_INITIATED. If the
    * key is present and have another status than VALIDATION_NOT_INITIATED, an exception is thrown.
+   * Afterwards the job has to pass the admission, which rejects it if too many validations are in
+   * flight.
    *
    * @param documentId the id of the document to validate
+   * @param authorization the token of the sender
+   * @return the job to queue for the validation
    */
-  public void prepareValidation(String documentId) {
+  public ValidationJob prepareValidation(String documentId, String authorization) {
     Map<String, String> metaData = new HashMap<>(storageService.getMetadata(documentId));
     String uploadStatus = metaData.get(UPLOAD_STATUS);
     if (uploadStatus == null || !uploadStatus.equals(UPLOAD_STATUS_DONE)) {
@@ -135,7 +151,23 @@ public class DocumentReferenceService {
           INVALID_DOCUMENT_VALIDATION,
           format("Document with id %s is already validating", documentId));
     }
-    storageService.setValidatingStatusToPending(documentId);
+    JwtClaims claims = jwtClaimsCache.get(authorization);
+    boolean fastaOnly = claims.hasRole(FASTA_ONLY_ROLE);
+    ValidationJob job =
+        new ValidationJob(
+            documentId,
+            claims.requireSender(),
+            fastaOnly,
+            System.currentTimeMillis(),
+            storageService.getContentLength(documentId));
+    validationAdmission.admit(job);
+    try {
+      storageService.setValidatingStatusToPending(documentId, fastaOnly);
+    } catch (RuntimeException ex) {
+      validationAdmission.cancel(documentId);
+      throw ex;
+    }
+    return job;
   }
 
   /**
@@ -161,37 +193,48 @@ public class DocumentReferenceService {
   }
 
   /**
-   * Loads the binary data from the storage and validates it. Is async so the client has to poll for
-   * the result.
+   * Loads the binary data from the storage and validates it. Called by the workers of the
+   * validation queue, so the client has to poll for the result. The measurements of the stages
+   * are published by the {@link ValidationMetrics} once the validation is finalized.
    *
    * @param documentId the id of the existing document
+   * @param fastaOnly whether the sender is restricted to FASTA files
    */
-  @Async
-  public void validateBinary(String documentId, String authorization) {
-    validationTracker.init(documentId);
-    InputStream stream = storageService.getBlob(documentId);
-    Map<String, String> metaData = storageService.getMetadata(documentId);
-    Pair pair = storageService.getFirstBytesOf(documentId);
-    InputStream hashValidated =
-        proxy.run(
-            stream,
-            new HashValidatorFunction(
-                metaData.get(HASH_METADATA_NAME), documentId, validationTracker));
-    InputStream decompressed =
-        proxy.run(
-            hashValidated,
-            new GzipDecompressionFunction(
-                Integer.parseInt(pair.first()),
-                Integer.parseInt(pair.second()),
-                documentId,
-                validationTracker));
-    try (decompressed) {
-      sequenceValidatorService.validateSequence(
-          decompressed, documentId, validationTracker, hasRole(authorization, FASTA_ONLY_ROLE));
+  public void validateBinary(String documentId, boolean fastaOnly) {
+    ValidationContext context = new ValidationContext(documentId);
+    validationTracker.init(documentId, context);
+    try {
+      InputStream stream = storageService.getBlob(documentId);
+      context.abortOnCancel(stream);
+      Map<String, String> metaData = storageService.getMetadata(documentId);
+      Pair pair = storageService.getFirstBytesOf(documentId);
+      InputStream hashValidated =
+          proxy.runIoBound(
+              stream,
+              new HashValidatorFunction(
+                  metaData.get(HASH_METADATA_NAME), documentId, validationTracker, bufferPool),
+              context);
+      InputStream decompressed =
+          proxy.runCpuBound(
+              hashValidated,
+              new GzipDecompressionFunction(
+                  Integer.parseInt(pair.first()),
+                  Integer.parseInt(pair.second()),
+                  documentId,
+                  validationTracker,
+                  bufferPool),
+              context);
+      try (decompressed) {
+        sequenceValidatorService.validateSequence(
+            decompressed, documentId, validationTracker, fastaOnly);
+      }
     } catch (Exception ex) {
-      handleException(documentId, ex);
+      handleException(context, ex);
     } finally {
+      long finalizationStart = System.nanoTime();
       storageService.finalizeValidation(documentId);
+      validationTracker.recordStage(documentId, FINALIZE, System.nanoTime() - finalizationStart, 0);
+      validationMetrics.publish(documentId);
       validationTracker.drop(documentId);
     }
   }
@@ -205,6 +248,7 @@ public class DocumentReferenceService {
   public ValidationInfo getValidationStatus(String documentId) {
     AtomicReference<ValidationInfo> result =
         new AtomicReference<>(ValidationInfo.builder().documentId(documentId).build());
+    longPollWaiters.incrementAndGet();
     try {
       await()
           .atMost(ofSeconds(longPollingTimeoutSecs))
@@ -219,10 +263,19 @@ public class DocumentReferenceService {
               });
     } catch (ConditionTimeoutException ex) {
       log.debug("Document is not validated yet {}", result.get());
+    } finally {
+      longPollWaiters.decrementAndGet();
     }
     return result.get();
   }
 
+  /**
+   * @return the number of requests currently waiting in {@link #getValidationStatus(String)}
+   */
+  public int getLongPollWaiters() {
+    return longPollWaiters.get();
+  }
+
   /** Informs the S3 that a multipart upload has been completed. */
   public void finishUpload(String documentId, MultipartUploadComplete multipartUploadComplete) {
     storageService.checkIfDocumentExists(documentId);
@@ -255,8 +308,14 @@ public class DocumentReferenceService {
     return metadata;
   }
 
-  private void handleException(String documentId, Exception ex) {
-    log.error("Error while validating document", ex);
+  private void handleException(ValidationContext context, Exception ex) {
+    String documentId = context.getDocumentId();
+    if (context.isCancelled()) {
+      // the failure of another step has already been recorded and closed the streams
+      log.debug("Validation of document {} was cancelled", documentId, ex);
+    } else {
+      log.error("Error while validating document", ex);
+    }
     if (ex instanceof ZipException) {
       validationTracker.updateGzipStatus(
           documentId, VALIDATION_FAILED, INVALID_COMPRESSED_FILE_ERROR_MSG);
@@ -26,6 +26,9 @@ package de.gematik.demis.igs.service.service;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_GZIP;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_NONE;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.DECOMPRESS;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
@@ -33,6 +36,8 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_E
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INVALID_COMPRESSED_FILE_ERROR_MSG;
 import static de.gematik.demis.igs.service.utils.StreamUtils.writeInputToOutput;
 
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.stream.StageMeter;
 import de.gematik.demis.igs.service.service.validation.ValidationTracker;
 import java.io.IOException;
 import java.io.InputStream;
@@ -51,6 +56,7 @@ public class GzipDecompressionFunction implements BiFunction<InputStream, Output
   private final int secondByte;
   private final String documentId;
   private final ValidationTracker validationTracker;
+  private final BufferPool bufferPool;
 
   /**
    * Handles the decompression of the provided InputStream if it is compressed in GZIP format.
@@ -67,13 +73,21 @@ public class GzipDecompressionFunction implements BiFunction<InputStream, Output
   @Override
   public Void apply(InputStream in, OutputStream out) {
     validationTracker.updateGzipStatus(documentId, VALIDATING);
-    try {
+    validationTracker.recordCompression(
+        documentId, isDataCompressed() ? COMPRESSION_GZIP : COMPRESSION_NONE);
+    StageMeter meter = new StageMeter();
+    try (BufferPool.Lease<byte[]> buffer = bufferPool.copyBuffer()) {
+      InputStream source = meter.meter(in);
       if (isDataCompressed()) {
-        in = decompress(in);
+        source = decompress(source);
       }
-      writeInputToOutput(in, out);
+      OutputStream sink =
+          meter.meter(out, bytes -> validationTracker.recordBytesDecompressed(documentId, bytes));
+      writeInputToOutput(source, sink, buffer.get());
+      record(meter);
       validationTracker.updateGzipStatus(documentId, VALID);
     } catch (IOException e) {
+      record(meter);
       if (e.getMessage()
           .contentEquals("Gzip-compressed data is corrupt (uncompressed size mismatch).")) {
         log.info("Received invalid compressed file for documentId: {}", documentId);
@@ -87,12 +101,16 @@ public class GzipDecompressionFunction implements BiFunction<InputStream, Output
     return null;
   }
 
+  private void record(StageMeter meter) {
+    validationTracker.recordStage(documentId, DECOMPRESS, meter.busyNanos(), meter.bytesWritten());
+  }
+
   /**
    * Checks if the provided InputStream contains compressed data in GZIP format.
    *
    * <p>This method determines if the data is compressed by checking the first two bytes of the
    * stream against the GZIP magic number. The bytes are not supposed to come from the inputStream
-   * it self due its condition of a PipedInputStream
+   * it self due its condition of a pipe
    *
    * @return true if the InputStream is compressed in GZIP format, false otherwise
    */
@@ -0,0 +1,178 @@
+package de.gematik.demis.igs.service.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import de.gematik.demis.igs.service.utils.JwtClaims;
+import de.gematik.demis.igs.service.utils.JwtUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the claims of the tokens recently seen, so a lab using the same token for many uploads has
+ * its token decoded only once. The cache is keyed by the SHA-256 hash of the token, the tokens
+ * themselves are not kept. An entry expires with the exp claim of its token, tokens without one
+ * are not cached. The signature is not verified here, as before.
+ *
+ * <p>The cache holds at most {@code igs.jwt-claims-cache.max-entries} tokens. The entries are
+ * additionally ordered by expiry: if the cache is full, the entry expiring first, which is an
+ * expired one if there is any, is evicted for each new token. Each eviction takes a bounded number
+ * of steps instead of a scan over all entries. Lookups
+ * are reported as {@code igs.jwt.claims.cache.gets} tagged with the result and the share of hits
+ * as {@code igs.jwt.claims.cache.hit.ratio}.
+ */
+@Component
+public class JwtClaimsCache implements MeterBinder {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+  private static final ThreadLocal<MessageDigest> SHA_256 =
+      ThreadLocal.withInitial(JwtClaimsCache::newSha256);
+
+  private final Map<String, JwtClaims> claimsByTokenHash = new ConcurrentHashMap<>();
+  private final NavigableSet<Expiry> expiries = new ConcurrentSkipListSet<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  @Setter
+  @Value("${igs.jwt-claims-cache.max-entries}")
+  private int maxEntries;
+
+  @Setter(AccessLevel.PACKAGE)
+  private Clock clock = Clock.systemUTC();
+
+  /**
+   * Returns the claims of a token, decoding it only if it has not been seen before or its entry
+   * has expired
+   *
+   * @param token the token, optionally prefixed with "Bearer "
+   * @return the claims of the token
+   */
+  public JwtClaims get(String token) {
+    if (token.startsWith(BEARER_PREFIX)) {
+      token = token.substring(BEARER_PREFIX.length());
+    }
+    String key = hash(token);
+    long now = clock.millis();
+    JwtClaims claims = claimsByTokenHash.get(key);
+    if (claims != null) {
+      if (isValid(claims, now)) {
+        hits.increment();
+        return claims;
+      }
+      if (claimsByTokenHash.remove(key, claims)) {
+        expiries.remove(new Expiry(claims.expiresAt(), key));
+      }
+    }
+    misses.increment();
+    claims = JwtUtils.readClaims(token);
+    if (isValid(claims, now) && claimsByTokenHash.putIfAbsent(key, claims) == null) {
+      expiries.add(new Expiry(claims.expiresAt(), key));
+      evictOverflow();
+    }
+    return claims;
+  }
+
+  /**
+   * @return the number of tokens cached
+   */
+  public int size() {
+    return claimsByTokenHash.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("igs.jwt.claims.cache.gets", hits, LongAdder::sum)
+        .description("Lookups of token claims")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("igs.jwt.claims.cache.gets", misses, LongAdder::sum)
+        .description("Lookups of token claims")
+        .tag("result", "miss")
+        .register(registry);
+    Gauge.builder("igs.jwt.claims.cache.hit.ratio", this, JwtClaimsCache::hitRatio)
+        .description("Share of the lookups of token claims answered from the cache")
+        .register(registry);
+    Gauge.builder("igs.jwt.claims.cache.size", this, JwtClaimsCache::size)
+        .description("Tokens whose claims are cached")
+        .register(registry);
+  }
+
+  private double hitRatio() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  private static boolean isValid(JwtClaims claims, long now) {
+    return claims.expiresAt() * 1000L > now;
+  }
+
+  private void evictOverflow() {
+    Expiry first;
+    while (claimsByTokenHash.size() > maxEntries && (first = expiries.pollFirst()) != null) {
+      claimsByTokenHash.remove(first.tokenHash());
+    }
+  }
+
+  private static String hash(String token) {
+    return HexFormat.of().formatHex(SHA_256.get().digest(token.getBytes(UTF_8)));
+  }
+
+  /** Orders the cached tokens by their exp claim, ties are broken by the hash. */
+  private record Expiry(long expiresAt, String tokenHash) implements Comparable<Expiry> {
+
+    @Override
+    public int compareTo(Expiry other) {
+      int result = Long.compare(expiresAt, other.expiresAt);
+      return result != 0 ? result : tokenHash.compareTo(other.tokenHash);
+    }
+  }
+
+  private static MessageDigest newSha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
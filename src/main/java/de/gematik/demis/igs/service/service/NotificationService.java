@@ -26,8 +26,10 @@ package de.gematik.demis.igs.service.service;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.AsyncConfig.NOTIFICATION_EXECUTOR;
 import static de.gematik.demis.igs.service.exception.ErrorCode.MISSING_RESOURCE;
 import static de.gematik.demis.igs.service.exception.ErrorCode.PROFILE_NOT_SUPPORTED;
+import static de.gematik.demis.igs.service.parser.FhirProfileScanner.declaresProfile;
 import static java.lang.String.format;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
@@ -36,20 +38,30 @@ import de.gematik.demis.igs.service.service.fhir.FhirBundleOperationService;
 import de.gematik.demis.igs.service.service.fhirstorage.FhirStorageService;
 import de.gematik.demis.igs.service.service.igs.IgsTransactionIdGeneratorService;
 import de.gematik.demis.igs.service.service.validation.NotificationValidatorService;
-import jakarta.annotation.PostConstruct;
+import de.gematik.demis.igs.service.service.validation.NotificationValidatorService.RequestHeaders;
 import jakarta.validation.constraints.NotNull;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
 import org.hl7.fhir.r4.model.Composition.CompositionRelatesToComponent;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.MolecularSequence;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Parameters.ParametersParameterComponent;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 /** Handles IGS Notification operations, i.e. Sequence ID generation, communication with FSW */
@@ -66,43 +78,153 @@ public class NotificationService {
   private final IgsTransactionIdGeneratorService igsTransactionIdGeneratorService;
   private final FhirStorageService fhirStorageService;
   private final ContextEnrichmentService contextEnrichmentService;
-  private Pattern pattern;
-
-  @PostConstruct
-  void init() {
-    pattern =
-        Pattern.compile(
-            "(?s)meta.*profile.*"
-                + Pattern.quote(
-                    HTTPS_DEMIS_RKI_DE_FHIR_STRUCTURE_DEFINITION_NOTIFICATION_SEQUENCE_REQUEST)
-                + "(?!\\w|/)");
-  }
+
+  @Qualifier(NOTIFICATION_EXECUTOR)
+  private final ThreadPoolTaskExecutor notificationExecutor;
 
   /**
    * Enriches incoming notification bundle with DEMIS Sequence ID and passes it down to FSW for
    * further operations
    *
-   * @param content serialized notification bundle
+   * <p>The bundle is validated by the validation service while it is parsed, its document
+   * references are checked and its context information is fetched, so the notification takes about
+   * as long as the slowest of these calls. Failures are reported in the order the steps would run
+   * one after the other, and the remaining steps are cancelled: a step still queued does not start,
+   * a running step is interrupted. A blocking socket read is not interruptible and only ends with
+   * the read timeout of its client.
+   *
+   * <p>The content is passed on as received: the profile is looked up in it and it is forwarded to
+   * the validation service without being decoded.
+   *
+   * @param content serialized notification bundle, encoded in UTF-8
    * @param mediaType mime type used for the deserialization
    * @return notification bundle representation with a generated DEMIS Sequence ID
    */
-  public Parameters process(String content, MediaType mediaType, String token) {
+  public Parameters process(byte[] content, MediaType mediaType, String token) {
     preCheckProfile(content);
-    OperationOutcome validationOutcome =
-        notificationValidatorService.validateFhir(content, mediaType);
-    Bundle bundle = fhirBundleOperationService.parseBundleFromNotification(content, mediaType);
-    notificationValidatorService.validateDocumentReferences(bundle);
-    fhirBundleOperationService.enrichNotification(bundle);
-    final String transactionId = igsTransactionIdGeneratorService.generateTransactionId(bundle);
-    contextEnrichmentService.enrichBundleWithContextInformation(bundle, token);
-    fhirBundleOperationService.enrichBundleWithTransactionId(bundle, transactionId);
-    fhirStorageService.sendNotificationToFhirStorage(bundle);
-    return buildResponse(transactionId, bundle, validationOutcome);
+    RequestHeaders requestHeaders = notificationValidatorService.currentRequestHeaders();
+    CompletableFuture<OperationOutcome> validation =
+        submit(() -> notificationValidatorService.validateFhir(content, mediaType, requestHeaders));
+    CompletableFuture<Void> documentReferences = null;
+    CompletableFuture<Optional<BundleEntryComponent>> contextInformation = null;
+    try {
+      Bundle bundle = parseBundle(content, mediaType, validation);
+      documentReferences =
+          submit(
+              () -> {
+                notificationValidatorService.validateDocumentReferences(bundle, requestHeaders);
+                return null;
+              });
+      contextInformation =
+          submit(() -> contextEnrichmentService.fetchContextInformation(bundle, token));
+      cancelOnFailure(documentReferences, contextInformation);
+      // a failed validation takes precedence, as it would have been reported first if the steps
+      // were run one after the other
+      OperationOutcome validationOutcome = join(validation);
+      join(documentReferences, contextInformation);
+      Optional<BundleEntryComponent> contextEntry = join(contextInformation, documentReferences);
+      fhirBundleOperationService.enrichNotification(bundle);
+      final String transactionId = igsTransactionIdGeneratorService.generateTransactionId(bundle);
+      contextEntry.ifPresent(entry -> fhirBundleOperationService.addEntry(bundle, entry));
+      fhirBundleOperationService.enrichBundleWithTransactionId(bundle, transactionId);
+      fhirStorageService.sendNotificationToFhirStorage(bundle);
+      return buildResponse(transactionId, bundle, validationOutcome);
+    } finally {
+      Stream.of(validation, documentReferences, contextInformation)
+          .filter(Objects::nonNull)
+          .forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Parses the bundle on the calling thread while it is validated. If parsing fails, the result of
+   * the validation is awaited first, as its failure takes precedence.
+   */
+  private Bundle parseBundle(
+      byte[] content, MediaType mediaType, CompletableFuture<OperationOutcome> validation) {
+    try {
+      return fhirBundleOperationService.parseBundleFromNotification(content, mediaType);
+    } catch (RuntimeException e) {
+      join(validation);
+      throw e;
+    }
+  }
+
+  /** Cancels the other step once one of them fails, its result would not be used anyway. */
+  private static void cancelOnFailure(CompletableFuture<?> first, CompletableFuture<?> second) {
+    first.whenComplete((result, error) -> cancelIf(error, second));
+    second.whenComplete((result, error) -> cancelIf(error, first));
+  }
+
+  private static void cancelIf(Throwable error, CompletableFuture<?> future) {
+    if (error != null) {
+      future.cancel(true);
+    }
+  }
+
+  /**
+   * Runs the given step on the notification executor. If the executor is exhausted, the step is run
+   * on the calling thread instead, which only loses the concurrency. Cancelling the returned future
+   * cancels the task as well, which {@link CompletableFuture#cancel} alone would not do.
+   */
+  private <T> CompletableFuture<T> submit(Supplier<T> step) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    try {
+      Future<?> task =
+          notificationExecutor.submit(
+              () -> {
+                try {
+                  result.complete(step.get());
+                } catch (Throwable stepError) {
+                  result.completeExceptionally(stepError);
+                }
+              });
+      result.whenComplete(
+          (value, error) -> {
+            if (result.isCancelled()) {
+              task.cancel(true);
+            }
+          });
+      return result;
+    } catch (RejectedExecutionException e) {
+      log.warn("No thread available for a notification step, running it on the request thread");
+      try {
+        return CompletableFuture.completedFuture(step.get());
+      } catch (RuntimeException stepError) {
+        return CompletableFuture.failedFuture(stepError);
+      }
+    }
+  }
+
+  /**
+   * Waits for a step like {@link #join(CompletableFuture)}. If the step has been cancelled because
+   * the other one failed, the failure of the other step is thrown instead.
+   */
+  private static <T> T join(CompletableFuture<T> future, CompletableFuture<?> other) {
+    try {
+      return join(future);
+    } catch (CancellationException e) {
+      join(other);
+      throw e;
+    }
+  }
+
+  /** Waits for a step and rethrows its failure as it would have been thrown by the step itself. */
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
   }
 
-  private void preCheckProfile(final String fhirNotification) {
-    Matcher matcher = pattern.matcher(fhirNotification);
-    if (!matcher.find()) {
+  private void preCheckProfile(final byte[] fhirNotification) {
+    if (!declaresProfile(
+        fhirNotification,
+        HTTPS_DEMIS_RKI_DE_FHIR_STRUCTURE_DEFINITION_NOTIFICATION_SEQUENCE_REQUEST)) {
       throw new IgsServiceException(
           PROFILE_NOT_SUPPORTED, "bundle profile not supported or missing(pre-check).");
     }
@@ -26,43 +26,71 @@ package de.gematik.demis.igs.service.service;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.AsyncConfig.CPU_EXECUTOR;
+import static de.gematik.demis.igs.service.AsyncConfig.IO_EXECUTOR;
+
 import de.gematik.demis.igs.service.exception.ErrorCode;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
-import java.io.IOException;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.validation.ValidationContext;
+import de.gematik.demis.igs.service.utils.RingBufferPipe;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.function.BiFunction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for running tasks that process InputStreams and OutputStreams using a thread pool
- * executor.
+ * executor. Tasks waiting on the network and tasks bound by computation run on separate pools. The
+ * output of a task is handed to its reader through a {@link RingBufferPipe}; per task the time its
+ * producer and consumer waited on the pipe and the mean fill level of the pipe are recorded as
+ * {@code igs.pipe.wait} and {@code igs.pipe.fill.ratio}. The pipes are kept until both of their
+ * ends are closed, so the bytes in flight between the stages can be reported.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProxyInputStreamService {
 
-  @Qualifier("defautlTaskExecutor")
-  private final ThreadPoolTaskExecutor executor;
+  @Qualifier(IO_EXECUTOR)
+  private final ThreadPoolTaskExecutor ioExecutor;
+
+  @Qualifier(CPU_EXECUTOR)
+  private final ThreadPoolTaskExecutor cpuExecutor;
+
+  private final MeterRegistry meterRegistry;
+  private final BufferPool bufferPool;
+  private final Map<BufferPool.Lease<ByteBuffer>, RingBufferPipe> openPipes =
+      new ConcurrentHashMap<>();
 
   /**
    * Runs the provided task asynchronously by submitting it to the executor. The task processes the
    * provided InputStream and OutputStream.
    *
+   * @param executor the executor to run the task on
    * @param in the InputStream to be processed
    * @param pos the OutputStream to be written to
    * @param task the task that processes the InputStream and OutputStream
+   * @return the future of the task
    */
-  private void executeInSeperateThread(
-      InputStream in, OutputStream pos, BiFunction<InputStream, OutputStream, Void> task) {
-    executor.submit(
+  private Future<?> executeInSeperateThread(
+      ThreadPoolTaskExecutor executor,
+      InputStream in,
+      OutputStream pos,
+      BiFunction<InputStream, OutputStream, Void> task) {
+    return executor.submit(
         () -> {
           try (in;
               pos) {
@@ -74,21 +102,110 @@ public class ProxyInputStreamService {
   }
 
   /**
-   * Runs the provided task asynchronously using the provided InputStream. Returns an InputStream
-   * that represents the result of the task.
+   * Runs the provided task on the I/O executor. Use for tasks mostly waiting on their input, e.g.
+   * reading from the storage.
+   *
+   * @param in the InputStream to be processed
+   * @param task the task that processes the InputStream and OutputStream
+   * @param context the context cancelling the task
+   * @return the InputStream that represents the result of the task
+   */
+  public InputStream runIoBound(
+      InputStream in,
+      BiFunction<InputStream, OutputStream, Void> task,
+      ValidationContext context) {
+    return run(ioExecutor, in, task, context);
+  }
+
+  /**
+   * Runs the provided task on the CPU executor. Use for tasks bound by computation, e.g.
+   * decompression.
    *
    * @param in the InputStream to be processed
    * @param task the task that processes the InputStream and OutputStream
+   * @param context the context cancelling the task
    * @return the InputStream that represents the result of the task
    */
-  public InputStream run(InputStream in, BiFunction<InputStream, OutputStream, Void> task) {
+  public InputStream runCpuBound(
+      InputStream in,
+      BiFunction<InputStream, OutputStream, Void> task,
+      ValidationContext context) {
+    return run(cpuExecutor, in, task, context);
+  }
+
+  /**
+   * Runs the provided task asynchronously using the provided InputStream. Returns an InputStream
+   * that represents the result of the task. If the executor rejects the task, the given stream is
+   * closed, so that a preceding stage writing to it does not block forever.
+   *
+   * <p>On cancellation of the context the task is interrupted and both of its streams are closed:
+   * the preceding stage fails on its next write and the reader of the result sees its end, even if
+   * the task has never been started.
+   */
+  private InputStream run(
+      ThreadPoolTaskExecutor executor,
+      InputStream in,
+      BiFunction<InputStream, OutputStream, Void> task,
+      ValidationContext context) {
+    String stage = task.getClass().getSimpleName();
+    BufferPool.Lease<ByteBuffer> lease = bufferPool.pipeBuffer();
+    RingBufferPipe pipe =
+        new RingBufferPipe(
+            lease.get(),
+            statistics -> {
+              openPipes.remove(lease);
+              lease.close();
+              record(stage, statistics);
+            });
+    openPipes.put(lease, pipe);
+    OutputStream pos = pipe.sink();
+    try {
+      Future<?> future = executeInSeperateThread(executor, in, pos, task);
+      context.cancelOnCancel(future);
+      context.closeOnCancel(pos);
+      context.closeOnCancel(in);
+      return pipe.source();
+    } catch (TaskRejectedException e) {
+      closeQuietly(in);
+      closeQuietly(pos);
+      closeQuietly(pipe.source());
+      throw new IgsServiceException(
+          ErrorCode.INTERNAL_SERVER_ERROR, "No thread available to process the document", e);
+    }
+  }
+
+  /**
+   * @return the number of pipes between stages that have not been closed on both ends
+   */
+  public int getOpenPipes() {
+    return openPipes.size();
+  }
+
+  /**
+   * @return the bytes written to the open pipes and not yet read by the following stage
+   */
+  public long getBufferedBytes() {
+    return openPipes.values().stream().mapToLong(RingBufferPipe::size).sum();
+  }
+
+  private void record(String stage, RingBufferPipe.Statistics statistics) {
+    meterRegistry
+        .timer("igs.pipe.wait", "stage", stage, "side", "producer")
+        .record(Duration.ofNanos(statistics.producerWaitNanos()));
+    meterRegistry
+        .timer("igs.pipe.wait", "stage", stage, "side", "consumer")
+        .record(Duration.ofNanos(statistics.consumerWaitNanos()));
+    DistributionSummary.builder("igs.pipe.fill.ratio")
+        .tag("stage", stage)
+        .register(meterRegistry)
+        .record(statistics.meanFillRatio());
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
     try {
-      PipedOutputStream pos = new PipedOutputStream();
-      PipedInputStream pis = new PipedInputStream(pos);
-      executeInSeperateThread(in, pos, task);
-      return pis;
-    } catch (IOException e) {
-      throw new IgsServiceException(ErrorCode.INVALID_DOCUMENT, e.getMessage(), e);
+      closeable.close();
+    } catch (Exception e) {
+      log.debug("Error closing stream", e);
     }
   }
 }
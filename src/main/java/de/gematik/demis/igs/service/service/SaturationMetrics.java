@@ -0,0 +1,102 @@
+package de.gematik.demis.igs.service.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
+
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import de.gematik.demis.igs.service.service.validation.ValidationTracker;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationAdmission;
+import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports how busy the instance is, so that it can be scaled on its validation backlog instead of
+ * its CPU. The thread pools are reported by {@link de.gematik.demis.igs.service.AsyncConfig} as
+ * {@code igs.executor.*}, the queue of the validation workers per sender as {@code
+ * igs.validation.queue.depth}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SaturationMetrics implements MeterBinder {
+
+  public static final String VALIDATIONS_TRACKED = "igs.validation.tracked";
+  public static final String VALIDATIONS_IN_FLIGHT = "igs.validation.in.flight";
+  public static final String BYTES_IN_FLIGHT = "igs.validation.in.flight.bytes";
+  public static final String PIPES_OPEN = "igs.pipe.open";
+  public static final String PIPES_BUFFERED = "igs.pipe.buffered";
+  public static final String STORAGE_STREAMS_OPEN = "igs.storage.streams.open";
+  public static final String STATUS_WAITERS = "igs.validation.status.waiters";
+
+  private static final List<ValidationStatus> TRACKED_STATES =
+      List.of(VALIDATING, VALID, VALIDATION_FAILED);
+
+  private final ValidationTracker validationTracker;
+  private final ValidationAdmission validationAdmission;
+  private final ProxyInputStreamService proxyInputStreamService;
+  private final SimpleStorageService storageService;
+  private final DocumentReferenceService documentReferenceService;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    TRACKED_STATES.forEach(
+        state ->
+            Gauge.builder(VALIDATIONS_TRACKED, () -> validationTracker.count(state))
+                .description("Validations of this instance that have not been finalized yet")
+                .tag("state", state.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+    Gauge.builder(VALIDATIONS_IN_FLIGHT, validationAdmission::getJobsInFlight)
+        .description("Validations admitted and not finished yet, queued or running")
+        .register(registry);
+    Gauge.builder(BYTES_IN_FLIGHT, validationAdmission::getBytesInFlight)
+        .description("Declared size of the validations admitted and not finished yet")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+    Gauge.builder(PIPES_OPEN, proxyInputStreamService::getOpenPipes)
+        .description("Pipes between validation stages")
+        .register(registry);
+    Gauge.builder(PIPES_BUFFERED, proxyInputStreamService::getBufferedBytes)
+        .description("Bytes written to the pipes between validation stages and not read yet")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+    Gauge.builder(STORAGE_STREAMS_OPEN, storageService::getOpenStreams)
+        .description("Response streams of the storage that have not been closed yet")
+        .register(registry);
+    Gauge.builder(STATUS_WAITERS, documentReferenceService::getLongPollWaiters)
+        .description("Requests waiting for the result of a validation")
+        .register(registry);
+  }
+}
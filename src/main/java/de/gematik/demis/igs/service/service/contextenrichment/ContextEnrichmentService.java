@@ -30,6 +30,7 @@ import static de.gematik.demis.igs.service.parser.FhirParser.deserializeResource
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import de.gematik.demis.igs.service.service.fhir.FhirBundleOperationService;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.r4.model.Bundle;
@@ -59,9 +60,23 @@ public class ContextEnrichmentService {
    * @param authorization the authorization header
    */
   public void enrichBundleWithContextInformation(final Bundle bundle, final String authorization) {
+    fetchContextInformation(bundle, authorization)
+        .ifPresent(entry -> fhirBundleOperationService.addEntry(bundle, entry));
+  }
+
+  /**
+   * Fetches the context information for a bundle without modifying the bundle, so the call can run
+   * while the bundle is read elsewhere. Errors are logged and result in no context information.
+   *
+   * @param bundle <Bundle> to fetch the context information for
+   * @param authorization the authorization header
+   * @return the entry to add to the bundle, empty if there is none
+   */
+  public Optional<BundleEntryComponent> fetchContextInformation(
+      final Bundle bundle, final String authorization) {
     if (isBlank(authorization)) {
       log.warn("Authorization is null but required by CES. No enrichment with CES!");
-      return;
+      return Optional.empty();
     }
     try {
       final String resp =
@@ -69,13 +84,13 @@ public class ContextEnrichmentService {
               authorization, fhirBundleOperationService.getCompositionId(bundle));
       final Provenance provenance =
           deserializeResource(resp, MediaType.APPLICATION_JSON, Provenance.class);
-      final BundleEntryComponent entry =
+      return Optional.of(
           new BundleEntryComponent()
               .setResource(provenance)
-              .setFullUrl(PROFILE_BASE_URL + provenance.getId());
-      fhirBundleOperationService.addEntry(bundle, entry);
+              .setFullUrl(PROFILE_BASE_URL + provenance.getId()));
     } catch (Exception e) {
       log.error("Error while enrich bundle: ", e);
+      return Optional.empty();
     }
   }
 }
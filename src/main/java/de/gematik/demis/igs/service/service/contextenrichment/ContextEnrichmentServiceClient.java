@@ -29,6 +29,7 @@ package de.gematik.demis.igs.service.service.contextenrichment;
 import static de.gematik.demis.igs.service.exception.ServiceCallErrorCode.CES;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
+import de.gematik.demis.igs.service.PooledFeignClientConfiguration;
 import de.gematik.demis.service.base.feign.annotations.ErrorCode;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.MediaType;
@@ -36,7 +37,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 
 /** Client interface to create client for Context Enrichment Service */
-@FeignClient(name = "context-enrichment-service", url = "${igs.ces.url}")
+@FeignClient(
+    name = "context-enrichment-service",
+    url = "${igs.ces.url}",
+    configuration = PooledFeignClientConfiguration.class)
 interface ContextEnrichmentServiceClient {
 
   @PostMapping(
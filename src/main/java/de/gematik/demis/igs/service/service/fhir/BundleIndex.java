@@ -0,0 +1,133 @@
+package de.gematik.demis.igs.service.service.fhir;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hl7.fhir.r4.model.Base;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r4.model.Identifier;
+import org.hl7.fhir.r4.model.Property;
+import org.hl7.fhir.r4.model.Resource;
+
+/**
+ * Index of the resources in the entries of a <Bundle> by their type and by the systems of their
+ * identifiers. It is built once per bundle and kept in the user data of the bundle, so repeated
+ * lookups of the same notification do not scan the entries again.
+ *
+ * <p>Entries added through {@link FhirBundleOperationService#addEntry} are indexed as they are
+ * added. If the entries have been changed otherwise the number of entries no longer matches and
+ * the index is built again. Identifiers changed after a resource has been indexed are not seen.
+ *
+ * <p>Creating the index is synchronized on the bundle, lookups are not: the bundle must not be
+ * changed while other threads look up its resources.
+ */
+final class BundleIndex {
+
+  private static final String USER_DATA_KEY = BundleIndex.class.getName();
+
+  private final Map<Class<?>, List<Resource>> byType = new HashMap<>();
+  private final Map<String, List<Resource>> bySystem = new HashMap<>();
+  private int indexedEntries;
+
+  private BundleIndex(Bundle bundle) {
+    bundle.getEntry().forEach(this::add);
+  }
+
+  /**
+   * Returns the index of the bundle, building it if the bundle has not been indexed yet or its
+   * entries have been changed without the index.
+   *
+   * @param bundle the <Bundle> to index
+   * @return the index of the bundle
+   */
+  static BundleIndex of(Bundle bundle) {
+    synchronized (bundle) {
+      if (bundle.getUserData(USER_DATA_KEY) instanceof BundleIndex index
+          && index.indexedEntries == bundle.getEntry().size()) {
+        return index;
+      }
+      BundleIndex index = new BundleIndex(bundle);
+      bundle.setUserData(USER_DATA_KEY, index);
+      return index;
+    }
+  }
+
+  /**
+   * Adds an entry which has just been added to the bundle
+   *
+   * @param entry the added entry
+   */
+  void add(BundleEntryComponent entry) {
+    indexedEntries++;
+    Resource resource = entry.getResource();
+    if (resource == null) {
+      return;
+    }
+    byType.computeIfAbsent(resource.getClass(), type -> new ArrayList<>()).add(resource);
+    Property identifiers = resource.getChildByName("identifier");
+    if (identifiers == null) {
+      return;
+    }
+    for (Base value : identifiers.getValues()) {
+      if (value instanceof Identifier identifier && identifier.hasSystem()) {
+        List<Resource> resources =
+            bySystem.computeIfAbsent(identifier.getSystem(), system -> new ArrayList<>());
+        // a resource may have several identifiers of the same system
+        if (resources.isEmpty() || resources.getLast() != resource) {
+          resources.add(resource);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param type the type of the resource
+   * @return the first resource of the type in the order of the entries
+   * @param <T> the type of the resource
+   */
+  <T extends Resource> Optional<T> first(Class<T> type) {
+    return byType.getOrDefault(type, List.of()).stream().map(type::cast).findFirst();
+  }
+
+  /**
+   * @param type the type of the resource
+   * @param system the system of one of the identifiers of the resource
+   * @return the first resource of the type with an identifier of the system
+   * @param <T> the type of the resource
+   */
+  <T extends Resource> Optional<T> first(Class<T> type, String system) {
+    return bySystem.getOrDefault(system, List.of()).stream()
+        .filter(type::isInstance)
+        .map(type::cast)
+        .findFirst();
+  }
+}
@@ -35,11 +35,11 @@ import static java.lang.String.format;
 
 import de.gematik.demis.fhirparserlibrary.FhirParser;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Bundle;
@@ -71,17 +71,34 @@ public class FhirBundleOperationService {
       "https://demis.rki.de/fhir/igs/StructureDefinition/SequenceDocumentReference";
 
   private final FhirParser fhirParser;
+  private final IdGenerator idGenerator;
 
   /**
    * Takes a Fhir parameters resource as string, parse it and returns the contained <Bundle>. It`s
-   * expecting that there is only one <Bundle> in <Parameters>, else <IgsRequestException> is thrown
+   * expecting that there is only one <Bundle> in <Parameters>, else <IgsRequestException> is
+   * thrown. The resources of the bundle are indexed right away, before the bundle is shared with
+   * other threads.
    *
    * @param content string representation of the Fhir parameters
    * @param mediaType the type of the content
    * @return <Bundle> resource
    */
   public Bundle parseBundleFromNotification(String content, MediaType mediaType) {
-    return fhirParser.parseBundleOrParameter(content, mediaType.toString());
+    Bundle bundle = fhirParser.parseBundleOrParameter(content, mediaType.toString());
+    BundleIndex.of(bundle);
+    return bundle;
+  }
+
+  /**
+   * Takes a Fhir parameters resource encoded in UTF-8, parse it and returns the contained <Bundle>.
+   * The parser reads Strings only, the decoded content is dropped once the bundle has been parsed.
+   *
+   * @param content UTF-8 encoded representation of the Fhir parameters
+   * @param mediaType the type of the content
+   * @return <Bundle> resource
+   */
+  public Bundle parseBundleFromNotification(byte[] content, MediaType mediaType) {
+    return parseBundleFromNotification(new String(content, StandardCharsets.UTF_8), mediaType);
   }
 
   /**
@@ -133,12 +150,7 @@ public class FhirBundleOperationService {
    * @return an optional of the requested resource
    */
   public Optional<Organization> getLaboratoryOrganization(Bundle bundle) {
-    return getEntryOfType(
-        bundle,
-        Organization.class,
-        org ->
-            org.getIdentifier().stream()
-                .anyMatch(identifier -> identifier.getSystem().equals(LABORATORY_ID_URL)));
+    return BundleIndex.of(bundle).first(Organization.class, LABORATORY_ID_URL);
   }
 
   /**
@@ -162,36 +174,16 @@ public class FhirBundleOperationService {
   }
 
   /**
-   * Extracts the first resource of a specific type from a <Bundle> out of its entries. Optional a
-   * filter can be given. If filter is null the filter doesn't have any effect. This is needed if
-   * the resource could appear multiple times in the <Bundle> and the correct one needs to be
-   * selected.
+   * Extracts the first resource of a specific type from a <Bundle> out of its entries, using the
+   * index of the bundle.
    *
    * @param bundle <Bundle> to extract the resource from
    * @param resource Type of the resource to extract
-   * @param filter Filter to apply to the resource. If null than it have no effect
-   * @return The first resource of the specified type that matches the filter and given type
+   * @return The first resource of the specified type
    * @param <T> Type of the resource to extract
    */
-  @SuppressWarnings("unchecked")
-  private <T extends Resource> Optional<T> getEntryOfType(
-      Bundle bundle, Class<T> resource, Predicate<T> filter) {
-
-    if (filter == null) {
-      filter = res -> true;
-    }
-    List<Bundle.BundleEntryComponent> entryList = bundle.getEntry();
-
-    return entryList.stream()
-        .map(BundleEntryComponent::getResource)
-        .filter(resource::isInstance)
-        .map(e -> (T) e)
-        .filter(filter)
-        .findFirst();
-  }
-
   private <T extends Resource> Optional<T> getEntryOfType(Bundle bundle, Class<T> resource) {
-    return getEntryOfType(bundle, resource, null);
+    return BundleIndex.of(bundle).first(resource);
   }
 
   /**
@@ -222,7 +214,9 @@ public class FhirBundleOperationService {
    * @param entry the <BundleEntryComponent> to add
    */
   public void addEntry(Bundle bundle, BundleEntryComponent entry) {
+    BundleIndex index = BundleIndex.of(bundle);
     bundle.addEntry(entry);
+    index.add(entry);
     updated(bundle);
   }
 
@@ -267,7 +261,7 @@ public class FhirBundleOperationService {
     bundle.setIdentifier(
         new Identifier()
             .setSystem(NOTIFICATION_BUNDLE_IDENTIFIER_SYSTEM)
-            .setValue(UUID.randomUUID().toString()));
+            .setValue(idGenerator.nextOrderedId()));
   }
 
   /**
@@ -278,11 +272,7 @@ public class FhirBundleOperationService {
    */
   public List<String> determineDocumentReferenceUrls(final Bundle bundle) {
     List<String> documentReferenceUrls = null;
-    Optional<MolecularSequence> molecularSequenceEntry =
-        bundle.getEntry().stream()
-            .filter(entry -> entry.getResource() instanceof MolecularSequence)
-            .map(entry -> (MolecularSequence) entry.getResource())
-            .findFirst();
+    Optional<MolecularSequence> molecularSequenceEntry = getMolecularSequence(bundle);
     if (molecularSequenceEntry.isPresent()) {
       documentReferenceUrls =
           molecularSequenceEntry.get().getExtensionsByUrl(URL_SEQUENCE_DOCUMENT_REFERENCE).stream()
@@ -30,8 +30,9 @@ import static de.gematik.demis.igs.service.utils.Constants.PROCESS_NOTIFICATION_
 import static java.util.Objects.requireNonNullElseGet;
 
 import de.gematik.demis.igs.service.exception.ErrorCode;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
 import java.util.Comparator;
-import java.util.UUID;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.Coding;
@@ -48,9 +49,11 @@ import org.springframework.stereotype.Service;
 
 /** Service class for edit and processing FHIR OperationOutcome resources */
 @Service
+@RequiredArgsConstructor
 public class FhirOperationOutcomeOperationService {
 
   private final SeverityComparator severityComparator = new SeverityComparator();
+  private final IdGenerator idGenerator;
 
   @Setter
   @Value("${igs.outcome-issue-threshold}")
@@ -90,7 +93,7 @@ public class FhirOperationOutcomeOperationService {
         .setCode(status.value() >= 500 ? IssueType.EXCEPTION : IssueType.PROCESSING)
         .setDiagnostics(message)
         .setDetails(new CodeableConcept().addCoding(new Coding().setCode(errorCode.getCode())))
-        .setId(UUID.randomUUID().toString());
+        .setId(idGenerator.nextId());
 
     processOutcome(result);
     return result;
@@ -26,18 +26,16 @@ package de.gematik.demis.igs.service.service.fhirstorage;
  * #L%
  */
 
-import static de.gematik.demis.igs.service.parser.FhirParser.serializeResource;
 import static de.gematik.demis.igs.service.utils.Constants.RESPONSIBLE_HEALTH_DEPARTMENT_CODING_SYSTEM;
 import static de.gematik.demis.igs.service.utils.Constants.RKI_DEPARTMENT_IDENTIFIER;
 
 import de.gematik.demis.igs.service.exception.ErrorCode;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.r4.model.Bundle;
-import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Resource;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 /** Service to send bundle to <FSW> */
@@ -46,7 +44,10 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class FhirStorageService {
 
+  private static final String URN_UUID_PREFIX = "urn:uuid:";
+
   private final FhirStorageWriterClient fhirStorageWriterClient;
+  private final IdGenerator idGenerator;
 
   /**
    * Takes the <Bundle> and wrap it into a transactionBundle. Therefor encryption for RIK will be
@@ -57,9 +58,8 @@ public class FhirStorageService {
   public void sendNotificationToFhirStorage(Bundle bundle) {
     setRkiDepartmentIdentifierTag(bundle);
     Bundle transactionBundle = createTransactionBundle(bundle);
-    String jsonBundle = serializeResource(transactionBundle, MediaType.APPLICATION_JSON);
     try {
-      fhirStorageWriterClient.sendNotification(jsonBundle);
+      fhirStorageWriterClient.sendNotification(transactionBundle);
     } catch (Exception ex) {
       throw new IgsServiceException(
           ErrorCode.INTERNAL_SERVER_ERROR, "Save notification failed", ex);
@@ -77,7 +77,7 @@ public class FhirStorageService {
     if (resource != null) {
       transactionBundle
           .addEntry()
-          .setFullUrl(IdType.newRandomUuid().getValue())
+          .setFullUrl(URN_UUID_PREFIX + idGenerator.nextOrderedId())
           .setResource(resource)
           .getRequest()
           .setUrl(url)
@@ -28,12 +28,22 @@ package de.gematik.demis.igs.service.service.fhirstorage;
 
 import static de.gematik.demis.igs.service.exception.ServiceCallErrorCode.FSW;
 
+import de.gematik.demis.igs.service.PooledFeignClientConfiguration;
 import de.gematik.demis.service.base.feign.annotations.ErrorCode;
+import org.hl7.fhir.r4.model.Bundle;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 
-@FeignClient(name = "fhir-storage-writer", url = "${igs.fhir-storage-writer.url}")
+/**
+ * Client of the FHIR storage writer. The bundle is serialized by the {@link
+ * de.gematik.demis.igs.service.parser.FhirResourceHttpMessageConverter} into the request body;
+ * Feign buffers the body before sending it, but no intermediate string is built.
+ */
+@FeignClient(
+    name = "fhir-storage-writer",
+    url = "${igs.fhir-storage-writer.url}",
+    configuration = PooledFeignClientConfiguration.class)
 public interface FhirStorageWriterClient {
 
   @PostMapping(
@@ -41,5 +51,5 @@ public interface FhirStorageWriterClient {
       consumes = "application/fhir+json",
       produces = "application/fhir+json")
   @ErrorCode(FSW)
-  ResponseEntity<String> sendNotification(String bundleAsJson);
+  ResponseEntity<String> sendNotification(Bundle transactionBundle);
 }
@@ -0,0 +1,172 @@
+package de.gematik.demis.igs.service.service.igs;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration.Entropy;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration.Version;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates the ids of transactions, bundles, documents and issues. {@link UUID#randomUUID()}
+ * draws from one generator shared by all threads; here each thread draws from its own, so
+ * concurrent requests do not wait for each other.
+ *
+ * <p>Ids of documents and issues are always of version 4. Ordered ids of bundles and transactions
+ * are of the configured version; time ordered ids follow version 7 of RFC 9562: the first 48 bits
+ * are the current time in milliseconds, ids of the same millisecond are ordered randomly.
+ */
+@Service
+public class IdGenerator {
+
+  private static final char[] LOWER_CASE_DIGITS = "0123456789abcdef".toCharArray();
+  private static final char[] UPPER_CASE_DIGITS = "0123456789ABCDEF".toCharArray();
+  private static final ThreadLocal<SecureRandom> SECURE_RANDOM =
+      ThreadLocal.withInitial(IdGenerator::newSecureRandom);
+  private static final ThreadLocal<byte[]> RANDOM_BYTES =
+      ThreadLocal.withInitial(() -> new byte[16]);
+
+  private final IdGeneratorConfiguration configuration;
+
+  @Setter(AccessLevel.PACKAGE)
+  private Clock clock = Clock.systemUTC();
+
+  @Setter(AccessLevel.PACKAGE)
+  private Supplier<Random> fastRandom = ThreadLocalRandom::current;
+
+  public IdGenerator(IdGeneratorConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * @return a new UUID of version 4, always drawn from the secure generator as it may grant access
+   *     to a document
+   */
+  public UUID nextUuid() {
+    return nextUuid(Version.RANDOM, Entropy.SECURE);
+  }
+
+  /**
+   * @return a new UUID of the configured version and entropy
+   */
+  public UUID nextOrderedUuid() {
+    return nextUuid(configuration.getVersion(), configuration.getEntropy());
+  }
+
+  private UUID nextUuid(Version version, Entropy entropy) {
+    long msb;
+    long lsb;
+    if (entropy == Entropy.FAST) {
+      Random random = fastRandom.get();
+      msb = random.nextLong();
+      lsb = random.nextLong();
+    } else {
+      byte[] bytes = RANDOM_BYTES.get();
+      SECURE_RANDOM.get().nextBytes(bytes);
+      msb = toLong(bytes, 0);
+      lsb = toLong(bytes, 8);
+    }
+    if (version == Version.TIME_ORDERED) {
+      msb = (clock.millis() << 16) | (msb & 0x0fffL) | 0x7000L;
+    } else {
+      msb = (msb & ~0xf000L) | 0x4000L;
+    }
+    lsb = (lsb & 0x3fffffffffffffffL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  /**
+   * @return a new UUID of version 4 in its canonical lower case form
+   */
+  public String nextId() {
+    return format(nextUuid(), LOWER_CASE_DIGITS);
+  }
+
+  /**
+   * @return a new UUID of the configured version in its canonical lower case form
+   */
+  public String nextOrderedId() {
+    return format(nextOrderedUuid(), LOWER_CASE_DIGITS);
+  }
+
+  /**
+   * @return a new UUID of the configured version in its canonical form, but with upper case letters
+   */
+  public String nextOrderedUpperCaseId() {
+    return format(nextOrderedUuid(), UPPER_CASE_DIGITS);
+  }
+
+  private static String format(UUID uuid, char[] digits) {
+    char[] chars = new char[36];
+    int position = appendHex(chars, 0, uuid.getMostSignificantBits() >>> 32, 8, digits);
+    chars[position++] = '-';
+    position = appendHex(chars, position, uuid.getMostSignificantBits() >>> 16, 4, digits);
+    chars[position++] = '-';
+    position = appendHex(chars, position, uuid.getMostSignificantBits(), 4, digits);
+    chars[position++] = '-';
+    position = appendHex(chars, position, uuid.getLeastSignificantBits() >>> 48, 4, digits);
+    chars[position++] = '-';
+    appendHex(chars, position, uuid.getLeastSignificantBits(), 12, digits);
+    return new String(chars);
+  }
+
+  private static int appendHex(char[] chars, int position, long value, int length, char[] digits) {
+    for (int i = length - 1; i >= 0; i--) {
+      chars[position + i] = digits[(int) (value & 0xf)];
+      value >>>= 4;
+    }
+    return position + length;
+  }
+
+  private static long toLong(byte[] bytes, int offset) {
+    long value = 0;
+    for (int i = offset; i < offset + 8; i++) {
+      value = (value << 8) | (bytes[i] & 0xff);
+    }
+    return value;
+  }
+
+  /**
+   * Instances of the platform default may share their state and a lock between all instances,
+   * which DRBG instances do not.
+   */
+  private static SecureRandom newSecureRandom() {
+    try {
+      return SecureRandom.getInstance("DRBG");
+    } catch (NoSuchAlgorithmException e) {
+      return new SecureRandom();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package de.gematik.demis.igs.service.service.igs;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** All configuration properties for generating the ids of transactions, bundles and documents */
+@Component
+@ConfigurationProperties(prefix = "igs.id-generator")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdGeneratorConfiguration {
+
+  /**
+   * Layout of the ids of bundles and transactions. Document ids are always of version 4, so they do
+   * not reveal when their document has been created.
+   */
+  @Builder.Default private Version version = Version.TIME_ORDERED;
+
+  /**
+   * Source of the random bits of the ids of bundles and transactions. Document ids are always drawn
+   * from the secure generator.
+   */
+  @Builder.Default private Entropy entropy = Entropy.SECURE;
+
+  public enum Version {
+    /** Version 4, all bits but version and variant are random. */
+    RANDOM,
+    /** Version 7, starts with the current time in milliseconds, the remaining bits are random. */
+    TIME_ORDERED
+  }
+
+  public enum Entropy {
+    /** A cryptographically strong generator per thread, seeded once by the system. */
+    SECURE,
+    /** The {@link java.util.concurrent.ThreadLocalRandom}. Fast, but the ids can be predicted. */
+    FAST
+  }
+}
@@ -28,12 +28,12 @@ package de.gematik.demis.igs.service.service.igs;
 
 import static de.gematik.demis.igs.service.utils.Constants.LABORATORY_ID_URL;
 import static java.lang.String.format;
+import static java.util.Locale.ROOT;
 
 import de.gematik.demis.igs.service.exception.ErrorCode;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.service.fhir.FhirBundleOperationService;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -53,6 +53,7 @@ public class IgsTransactionIdGeneratorService {
   private static final String CODE_URL =
       "https://demis.rki.de/fhir/CodeSystem/notificationCategory";
   private final FhirBundleOperationService fhirBundleOperationService;
+  private final IdGenerator idGenerator;
   private Pattern sequencingLabIdPattern = Pattern.compile("\\d{5}");
 
   /**
@@ -67,8 +68,13 @@ public class IgsTransactionIdGeneratorService {
     final String demisUsername = getLaboratoryId(bundle);
     final String pathogenCode = getPathogenCode(bundle);
 
-    return format("%s-%s-%s-%s", ID_PREFIX, demisUsername, pathogenCode, UUID.randomUUID())
-        .toUpperCase();
+    return ID_PREFIX
+        + "-"
+        + demisUsername
+        + "-"
+        + pathogenCode.toUpperCase(ROOT)
+        + "-"
+        + idGenerator.nextOrderedUpperCaseId();
   }
 
   private String getLaboratoryId(Bundle bundle) {
@@ -30,13 +30,17 @@ import static de.gematik.demis.igs.service.exception.ErrorCode.FILE_NOT_FOUND;
 import static de.gematik.demis.igs.service.exception.ErrorCode.INTERNAL_SERVER_ERROR;
 import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_FILE_SIZE;
 import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_UPLOAD;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.PROMOTION;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS_DONE;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_DESCRIPTION;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_FASTA_ONLY;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_OWNER;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_NOT_INITIATED;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.FILE_SIZE_TO_LARGE_ERROR_MSG;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_ERROR_MESSAGE;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.RESOURCE_NOT_FOUND_ERROR_MSG;
@@ -51,27 +55,35 @@ import de.gematik.demis.igs.service.api.model.CompletedChunk;
 import de.gematik.demis.igs.service.api.model.S3Info;
 import de.gematik.demis.igs.service.api.model.ValidationInfo;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
 import de.gematik.demis.igs.service.service.validation.ValidationTracker;
 import de.gematik.demis.igs.service.utils.Pair;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.input.TeeInputStream;
 import org.awaitility.core.ConditionTimeoutException;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.Abortable;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
@@ -80,6 +92,7 @@ import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.ExpirationStatus;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -87,10 +100,13 @@ import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.LifecycleRule;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
 import software.amazon.awssdk.services.s3.model.PutBucketLifecycleConfigurationRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedUploadPartRequest;
@@ -103,10 +119,13 @@ public class S3StorageService implements SimpleStorageService {
 
   public static final String LIFECYCLE_RULE_ID_TO_VALIDATE = "Delete not validated documents after";
   public static final String LIFECYCLE_RULE_ID_VALID = "Delete validated documents after";
+  static final String LEASE_PREFIX = "leases/";
   private final SimpleStorageServiceConfiguration s3configuration;
   private final ValidationTracker validationTracker;
   private final S3Client s3;
   private final S3Presigner presigner;
+  private final BufferPool bufferPool;
+  private final AtomicInteger openStreams = new AtomicInteger();
 
   @EventListener
   public void handleApplicationReady(ApplicationReadyEvent event) {
@@ -153,6 +172,15 @@ public class S3StorageService implements SimpleStorageService {
     return Map.of();
   }
 
+  @Override
+  public long getContentLength(String documentId) {
+    HeadObjectResponse response = getHeadObjectResponse(documentId);
+    if (response != null && response.contentLength() != null) {
+      return response.contentLength();
+    }
+    return 0;
+  }
+
   @Override
   public InputStream getBlob(String documentId) {
     try {
@@ -162,7 +190,7 @@ public class S3StorageService implements SimpleStorageService {
               .bucket(s3configuration.getUploadBucket().getName())
               .key(documentId)
               .build();
-      return s3.getObject(getObjectRequest);
+      return new TrackedInputStream(s3.getObject(getObjectRequest));
     } catch (Exception ex) {
       handleBucketError(ex);
     }
@@ -228,8 +256,112 @@ public class S3StorageService implements SimpleStorageService {
   }
 
   @Override
-  public void setValidatingStatusToPending(String documentId) {
-    updateMetaData(documentId, List.of(pair(VALIDATION_STATUS, VALIDATING.name())));
+  public void setValidatingStatusToPending(String documentId, boolean fastaOnly) {
+    updateMetaData(
+        documentId,
+        List.of(
+            pair(VALIDATION_STATUS, VALIDATING.name()),
+            pair(VALIDATION_FASTA_ONLY, String.valueOf(fastaOnly))));
+  }
+
+  @Override
+  public void resetValidationStatus(String documentId) {
+    updateMetaData(documentId, List.of(pair(VALIDATION_STATUS, VALIDATION_NOT_INITIATED.name())));
+  }
+
+  @Override
+  public void renewLease(String documentId, String owner) {
+    PutObjectRequest putRequest =
+        PutObjectRequest.builder()
+            .bucket(s3configuration.getUploadBucket().getName())
+            .key(LEASE_PREFIX + documentId)
+            .metadata(Map.of(VALIDATION_OWNER, owner))
+            .build();
+    s3.putObject(putRequest, RequestBody.empty());
+  }
+
+  @Override
+  public void releaseLease(String documentId) {
+    s3.deleteObject(
+        DeleteObjectRequest.builder()
+            .bucket(s3configuration.getUploadBucket().getName())
+            .key(LEASE_PREFIX + documentId)
+            .build());
+  }
+
+  @Override
+  public void claimStaleValidations(
+      Duration leaseTimeout, int pageSize, Consumer<String> onClaimed) {
+    Instant threshold = Instant.now().minus(leaseTimeout);
+    ListObjectsV2Request listRequest =
+        ListObjectsV2Request.builder()
+            .bucket(s3configuration.getUploadBucket().getName())
+            .maxKeys(pageSize)
+            .build();
+    for (ListObjectsV2Response page : s3.listObjectsV2Paginator(listRequest)) {
+      for (S3Object object : page.contents()) {
+        // recently modified documents may still be waiting for the lease of their owner
+        if (object.size() == 0
+            || object.key().startsWith(LEASE_PREFIX)
+            || object.lastModified().isAfter(threshold)) {
+          continue;
+        }
+        Map<String, String> metaData = getMetadata(object.key());
+        if (VALIDATING.name().equals(metaData.get(VALIDATION_STATUS))
+            && !hasLiveLease(object.key(), threshold)
+            && claim(object, metaData)) {
+          onClaimed.accept(object.key());
+        }
+      }
+    }
+  }
+
+  private boolean hasLiveLease(String documentId, Instant threshold) {
+    HeadObjectRequest headRequest =
+        HeadObjectRequest.builder()
+            .bucket(s3configuration.getUploadBucket().getName())
+            .key(LEASE_PREFIX + documentId)
+            .build();
+    try {
+      HeadObjectResponse lease = s3.headObject(headRequest);
+      if (lease.lastModified().isAfter(threshold)) {
+        log.debug(
+            "Validation of document {} is owned by {}",
+            documentId,
+            lease.metadata().get(VALIDATION_OWNER));
+        return true;
+      }
+      return false;
+    } catch (S3Exception ex) {
+      if (ex.statusCode() == HttpStatus.NOT_FOUND.value()) {
+        return false;
+      }
+      throw ex;
+    }
+  }
+
+  // Rewrites the object onto itself only if nobody else did so since it was listed. The copy bumps
+  // the last modified date, so concurrent claims of other instances fail with 412.
+  private boolean claim(S3Object object, Map<String, String> metaData) {
+    CopyObjectRequest copyRequest =
+        CopyObjectRequest.builder()
+            .sourceBucket(s3configuration.getUploadBucket().getName())
+            .sourceKey(object.key())
+            .destinationBucket(s3configuration.getUploadBucket().getName())
+            .destinationKey(object.key())
+            .metadata(metaData)
+            .metadataDirective(REPLACE)
+            .copySourceIfUnmodifiedSince(object.lastModified())
+            .build();
+    try {
+      s3.copyObject(copyRequest);
+      return true;
+    } catch (S3Exception ex) {
+      if (ex.statusCode() == HttpStatus.PRECONDITION_FAILED.value()) {
+        return false;
+      }
+      throw ex;
+    }
   }
 
   // This Function got called after validation. Only waits for the other threads. 10 seconds should
@@ -355,13 +487,18 @@ public class S3StorageService implements SimpleStorageService {
               .bucket(s3configuration.getValidatedBucket().getName())
               .key(documentId)
               .build();
-      return s3.getObject(getObjectRequest);
+      return new TrackedInputStream(s3.getObject(getObjectRequest));
     } catch (Exception ex) {
       handleBucketError(ex);
     }
     return null;
   }
 
+  @Override
+  public int getOpenStreams() {
+    return openStreams.get();
+  }
+
   private void createLifeCycleRule(String id, Integer days, String bucketName) {
     LifecycleRule expirationRule =
         LifecycleRule.builder()
@@ -397,6 +534,7 @@ public class S3StorageService implements SimpleStorageService {
         log.error("Document {} is not valid, skipping transfer", documentId);
         return;
       }
+      long promotionStart = System.nanoTime();
       ensureBucket(s3configuration.getValidatedBucket().getName());
       CopyObjectRequest copyRequest =
           CopyObjectRequest.builder()
@@ -409,6 +547,7 @@ public class S3StorageService implements SimpleStorageService {
               .build();
       s3.copyObject(copyRequest);
       emptyFile(documentId);
+      validationTracker.recordStage(documentId, PROMOTION, System.nanoTime() - promotionStart, 0);
       log.debug("Document {} successfully transferred to valid bucket", documentId);
     } catch (Exception ex) {
       handleBucketError(ex);
@@ -476,15 +615,16 @@ public class S3StorageService implements SimpleStorageService {
   }
 
   private int getInputStreamLength(InputStream inputStream) throws IOException {
-    byte[] buffer = new byte[4096];
-    int bytesRead;
-    int totalBytes = 0;
+    try (BufferPool.Lease<byte[]> buffer = bufferPool.copyBuffer()) {
+      int bytesRead;
+      int totalBytes = 0;
 
-    while ((bytesRead = inputStream.read(buffer)) != -1) {
-      totalBytes += bytesRead;
-    }
+      while ((bytesRead = inputStream.read(buffer.get())) != -1) {
+        totalBytes += bytesRead;
+      }
 
-    return totalBytes;
+      return totalBytes;
+    }
   }
 
   private List<CompletedPart> buildCompetedParts(List<CompletedChunk> completedChunks) {
@@ -494,4 +634,44 @@ public class S3StorageService implements SimpleStorageService {
                 CompletedPart.builder().partNumber(chunk.partNumber()).eTag(chunk.eTag()).build())
         .toList();
   }
+
+  /**
+   * Counts a response stream as open until it is closed or aborted. Aborting is passed on to the
+   * response, so a cancelled validation drops the connection instead of draining the object.
+   */
+  private class TrackedInputStream extends FilterInputStream implements Abortable {
+
+    private final ResponseInputStream<GetObjectResponse> response;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private TrackedInputStream(ResponseInputStream<GetObjectResponse> response) {
+      super(response);
+      this.response = response;
+      openStreams.incrementAndGet();
+    }
+
+    @Override
+    public void abort() {
+      try {
+        response.abort();
+      } finally {
+        release();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        release();
+      }
+    }
+
+    private void release() {
+      if (closed.compareAndSet(false, true)) {
+        openStreams.decrementAndGet();
+      }
+    }
+  }
 }
@@ -32,8 +32,10 @@ import de.gematik.demis.igs.service.api.model.ValidationInfo;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.utils.Pair;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface SimpleStorageService {
 
@@ -58,6 +60,14 @@ public interface SimpleStorageService {
    */
   Map<String, String> getMetadata(String documentId) throws IgsServiceException;
 
+  /**
+   * Returns the size of the uploaded sequence data of a given DocumentReference
+   *
+   * @param documentId the id of the existing document
+   * @return size in bytes
+   */
+  long getContentLength(String documentId);
+
   /**
    * Returns the binary data of the attachment for a given DocumentReference
    *
@@ -93,8 +103,43 @@ public interface SimpleStorageService {
    * Sets the validating status of a documentReference to pending
    *
    * @param documentId
+   * @param fastaOnly whether the sender is restricted to FASTA files, kept for recovery
+   */
+  void setValidatingStatusToPending(String documentId, boolean fastaOnly);
+
+  /**
+   * Resets the validation status of a documentReference to not initiated, so that its validation
+   * can be requested again
+   *
+   * @param documentId
+   */
+  void resetValidationStatus(String documentId);
+
+  /**
+   * Records that the given owner is still validating the document. The lease expires unless it is
+   * renewed regularly, which allows other instances to take over the validation.
+   *
+   * @param documentId
+   * @param owner the instance validating the document
+   */
+  void renewLease(String documentId, String owner);
+
+  /**
+   * Removes the lease of a document once its validation is done.
+   *
+   * @param documentId
+   */
+  void releaseLease(String documentId);
+
+  /**
+   * Searches the upload bucket page by page for documents that are still validating but whose
+   * lease has expired, and claims them so that no other instance picks them up as well.
+   *
+   * @param leaseTimeout duration without renewal after which a lease has expired
+   * @param pageSize number of objects listed per request
+   * @param onClaimed called for every claimed document while the search goes on
    */
-  void setValidatingStatusToPending(String documentId);
+  void claimStaleValidations(Duration leaseTimeout, int pageSize, Consumer<String> onClaimed);
 
   /**
    * Checks if each validation have been completed and sets the validation status of a
@@ -146,4 +191,12 @@ public interface SimpleStorageService {
    * @return InputStreamResource of the attachment
    */
   InputStream getBlobFromValidBucket(String documentId);
+
+  /**
+   * Returns the number of streams handed out by {@link #getBlob(String)} and {@link
+   * #getBlobFromValidBucket(String)} that have not been closed yet
+   *
+   * @return number of open streams
+   */
+  int getOpenStreams();
 }
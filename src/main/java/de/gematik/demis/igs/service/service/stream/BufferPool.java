@@ -0,0 +1,208 @@
+package de.gematik.demis.igs.service.service.stream;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool of reusable buffers for the streams of a validation: direct buffers backing the
+ * pipes between the stages and heap buffers for copying between streams. Every validation of a
+ * large file used to allocate these anew, which under many concurrent validations only churns the
+ * young generation.
+ *
+ * <p>Buffers are handed out as {@link Lease}s, which have to be closed exactly once after use. If
+ * no idle buffer is available a new one is allocated, and returned buffers beyond the configured
+ * number of idle buffers are left to the garbage collector, so the pool never blocks. Hits, misses
+ * and the bytes currently leased are reported as {@code igs.buffer.pool.*} tagged with the type of
+ * buffer. With {@code trackBufferLeaks} enabled, the allocation site of every open lease is kept,
+ * so tests can check that all leases have been closed.
+ */
+@Component
+public class BufferPool {
+
+  private final Arena<ByteBuffer> pipeBuffers;
+  private final Arena<byte[]> copyBuffers;
+
+  public BufferPool(StreamConfiguration configuration, MeterRegistry meterRegistry) {
+    int pipeCapacity = configuration.getPipeCapacityInBytes();
+    int copyBufferSize = configuration.getCopyBufferSizeInBytes();
+    this.pipeBuffers =
+        new Arena<>(
+            "pipe",
+            pipeCapacity,
+            configuration.getMaxIdlePipeBuffers(),
+            () -> ByteBuffer.allocateDirect(pipeCapacity),
+            ByteBuffer::clear,
+            configuration.isTrackBufferLeaks(),
+            meterRegistry);
+    this.copyBuffers =
+        new Arena<>(
+            "copy",
+            copyBufferSize,
+            configuration.getMaxIdleCopyBuffers(),
+            () -> new byte[copyBufferSize],
+            buffer -> {},
+            configuration.isTrackBufferLeaks(),
+            meterRegistry);
+  }
+
+  /**
+   * @return a lease of a direct buffer with the configured pipe capacity, cleared
+   */
+  public Lease<ByteBuffer> pipeBuffer() {
+    return pipeBuffers.acquire();
+  }
+
+  /**
+   * @return a lease of a heap buffer with the configured copy buffer size, with arbitrary content
+   */
+  public Lease<byte[]> copyBuffer() {
+    return copyBuffers.acquire();
+  }
+
+  /**
+   * @return the number of bytes of all buffers currently leased
+   */
+  public long getOutstandingBytes() {
+    return pipeBuffers.outstandingBytes.get() + copyBuffers.outstandingBytes.get();
+  }
+
+  /**
+   * @return the allocation sites of all open leases, empty unless leak tracking is enabled
+   */
+  public List<Throwable> getLeaks() {
+    return Stream.concat(pipeBuffers.openLeases.stream(), copyBuffers.openLeases.stream())
+        .map(lease -> lease.allocatedAt)
+        .toList();
+  }
+
+  /**
+   * A buffer handed out by the pool. Closing the lease returns the buffer, which must not be used
+   * afterwards. Closing it again has no effect.
+   *
+   * @param <T> the type of buffer
+   */
+  public static final class Lease<T> implements AutoCloseable {
+
+    private final T buffer;
+    private final Arena<T> arena;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Throwable allocatedAt;
+
+    private Lease(T buffer, Arena<T> arena, Throwable allocatedAt) {
+      this.buffer = buffer;
+      this.arena = arena;
+      this.allocatedAt = allocatedAt;
+    }
+
+    public T get() {
+      return buffer;
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        arena.release(this);
+      }
+    }
+  }
+
+  private static final class Arena<T> {
+
+    private final int bufferSize;
+    private final Queue<T> idle;
+    private final Supplier<T> allocator;
+    private final Consumer<T> reset;
+    private final boolean trackLeaks;
+    private final Set<Lease<T>> openLeases = ConcurrentHashMap.newKeySet();
+    private final AtomicLong outstandingBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    private Arena(
+        String type,
+        int bufferSize,
+        int maxIdle,
+        Supplier<T> allocator,
+        Consumer<T> reset,
+        boolean trackLeaks,
+        MeterRegistry meterRegistry) {
+      this.bufferSize = bufferSize;
+      this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+      this.allocator = allocator;
+      this.reset = reset;
+      this.trackLeaks = trackLeaks;
+      this.hits = meterRegistry.counter("igs.buffer.pool.hits", "type", type);
+      this.misses = meterRegistry.counter("igs.buffer.pool.misses", "type", type);
+      Gauge.builder("igs.buffer.pool.outstanding.bytes", outstandingBytes, AtomicLong::get)
+          .tag("type", type)
+          .register(meterRegistry);
+      Gauge.builder("igs.buffer.pool.idle", idle, Queue::size)
+          .tag("type", type)
+          .register(meterRegistry);
+    }
+
+    private Lease<T> acquire() {
+      T buffer = idle.poll();
+      if (buffer == null) {
+        misses.increment();
+        buffer = allocator.get();
+      } else {
+        hits.increment();
+      }
+      reset.accept(buffer);
+      outstandingBytes.addAndGet(bufferSize);
+      Lease<T> lease =
+          new Lease<>(buffer, this, trackLeaks ? new Throwable("Buffer leased here") : null);
+      if (trackLeaks) {
+        openLeases.add(lease);
+      }
+      return lease;
+    }
+
+    private void release(Lease<T> lease) {
+      openLeases.remove(lease);
+      outstandingBytes.addAndGet(-bufferSize);
+      // a full pool drops the buffer
+      idle.offer(lease.buffer);
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package de.gematik.demis.igs.service.service.stream;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Measures the time a stage of a validation is busy. The stage reads and writes through the
+ * streams returned by {@link #meter(InputStream)} and {@link #meter(OutputStream)}; the time spent
+ * in their reads and writes is spent waiting for the storage or the neighbouring stages and is not
+ * counted as busy. Not thread safe, a meter belongs to the thread running the stage.
+ */
+public class StageMeter {
+
+  private final long startedAt = System.nanoTime();
+  private long readNanos;
+  private long writeNanos;
+  private long bytesRead;
+  private long bytesWritten;
+
+  /**
+   * @param in the input of the stage
+   * @return the input, counting the time of its reads and the bytes read
+   */
+  public InputStream meter(InputStream in) {
+    return meter(in, bytes -> {});
+  }
+
+  /**
+   * @param in the input of the stage
+   * @param progress called after each read into an array with the bytes read so far, e.g. to report
+   *     the progress of the stage while it is running
+   * @return the input, counting the time of its reads and the bytes read
+   */
+  public InputStream meter(InputStream in, LongConsumer progress) {
+    return new MeteredInputStream(in, progress);
+  }
+
+  /**
+   * @param out the output of the stage
+   * @return the output, counting the time of its writes and the bytes written
+   */
+  public OutputStream meter(OutputStream out) {
+    return meter(out, bytes -> {});
+  }
+
+  /**
+   * @param out the output of the stage
+   * @param progress called after each write of an array with the bytes written so far
+   * @return the output, counting the time of its writes and the bytes written
+   */
+  public OutputStream meter(OutputStream out, LongConsumer progress) {
+    return new MeteredOutputStream(out, progress);
+  }
+
+  /**
+   * @return the time since the creation of the meter, without the time spent in reads and writes
+   */
+  public long busyNanos() {
+    return Math.max(0, System.nanoTime() - startedAt - readNanos - writeNanos);
+  }
+
+  public long readNanos() {
+    return readNanos;
+  }
+
+  public long bytesRead() {
+    return bytesRead;
+  }
+
+  public long bytesWritten() {
+    return bytesWritten;
+  }
+
+  private class MeteredInputStream extends FilterInputStream {
+
+    private final LongConsumer progress;
+
+    private MeteredInputStream(InputStream in, LongConsumer progress) {
+      super(in);
+      this.progress = progress;
+    }
+
+    @Override
+    public int read() throws IOException {
+      long start = System.nanoTime();
+      try {
+        int read = super.read();
+        if (read >= 0) {
+          bytesRead++;
+        }
+        return read;
+      } finally {
+        readNanos += System.nanoTime() - start;
+      }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      long start = System.nanoTime();
+      try {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+          bytesRead += read;
+          progress.accept(bytesRead);
+        }
+        return read;
+      } finally {
+        readNanos += System.nanoTime() - start;
+      }
+    }
+  }
+
+  private class MeteredOutputStream extends FilterOutputStream {
+
+    private final LongConsumer progress;
+
+    private MeteredOutputStream(OutputStream out, LongConsumer progress) {
+      super(out);
+      this.progress = progress;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      long start = System.nanoTime();
+      try {
+        out.write(b);
+        bytesWritten++;
+      } finally {
+        writeNanos += System.nanoTime() - start;
+      }
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+      long start = System.nanoTime();
+      try {
+        out.write(buffer, offset, length);
+        bytesWritten += length;
+        progress.accept(bytesWritten);
+      } finally {
+        writeNanos += System.nanoTime() - start;
+      }
+    }
+  }
+}
@@ -28,12 +28,15 @@ package de.gematik.demis.igs.service.service.validation;
 
 import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_DOCUMENT;
 import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.asciiPattern;
+import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.validChars;
 import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.validCharsPattern;
 import static java.lang.String.format;
 import static java.math.BigInteger.ZERO;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.service.validation.FastAValidationSpecifications.FastAConfig;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.math.BigInteger;
@@ -75,12 +78,42 @@ public class FastAValidator implements SequenceValidator {
       validateFastA(line);
       line = bufferedReader.readLine();
     }
+    validateEndOfDocument();
+  }
+
+  @Override
+  public void validate(AsciiLine firstLine, AsciiLineReader lineReader) throws IOException {
+    AsciiLine line = firstLine;
+    do {
+      validateFastA(line);
+    } while (lineReader.readLine(line));
+    validateEndOfDocument();
+  }
+
+  private void validateEndOfDocument() {
     executeExtendedValidation();
     if (disallowHeaderLine) {
       throw new IgsServiceException(INVALID_DOCUMENT, LAST_LINE_HEADER_ERROR_MSG);
     }
   }
 
+  /** Header lines are rare and short, so they are checked as String. */
+  private void validateFastA(AsciiLine line) {
+    if (line.startsWith('>')) {
+      validateFastA(line.toString());
+      return;
+    }
+    lineNumber++;
+    if (!line.consistsOf(validChars)) {
+      throw new IgsServiceException(
+          INVALID_DOCUMENT, format(INVALID_CHAR_ERROR_MSG, "sequence", lineNumber));
+    }
+    if (currentFastAConfig != null) {
+      collectStatisticsForExtendedValidation(line.length(), line.count('N'));
+    }
+    disallowHeaderLine = false;
+  }
+
   private void validateFastA(String line) {
     lineNumber++;
     if (line.startsWith(">")) {
@@ -181,8 +214,12 @@ public class FastAValidator implements SequenceValidator {
     if (currentFastAConfig == null) {
       return;
     }
-    amountOfCharsInBlock = amountOfCharsInBlock.add(BigInteger.valueOf(line.length()));
-    amountNInBlock =
-        amountNInBlock.add(BigInteger.valueOf(line.chars().filter(c -> c == 'N').count()));
+    collectStatisticsForExtendedValidation(
+        line.length(), line.chars().filter(c -> c == 'N').count());
+  }
+
+  private void collectStatisticsForExtendedValidation(long amountOfChars, long amountN) {
+    amountOfCharsInBlock = amountOfCharsInBlock.add(BigInteger.valueOf(amountOfChars));
+    amountNInBlock = amountNInBlock.add(BigInteger.valueOf(amountN));
   }
 }
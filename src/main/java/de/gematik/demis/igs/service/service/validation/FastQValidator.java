@@ -27,11 +27,15 @@ package de.gematik.demis.igs.service.service.validation;
  */
 
 import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_DOCUMENT;
+import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.asciiChars;
 import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.asciiPattern;
+import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.validChars;
 import static de.gematik.demis.igs.service.service.validation.SequenceValidatorService.validCharsPattern;
 import static java.lang.String.format;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.List;
@@ -71,6 +75,49 @@ public class FastQValidator implements SequenceValidator {
     } while (nextLines != null);
   }
 
+  /**
+   * Reads all four lines of a record before checking them, so that a broken record is reported
+   * with the same message as by {@link #validate(String, BufferedReader)}.
+   */
+  @Override
+  public void validate(AsciiLine firstLine, AsciiLineReader lineReader) throws IOException {
+    AsciiLine[] lines = {firstLine, new AsciiLine(), new AsciiLine(), new AsciiLine()};
+    do {
+      for (int i = 1; i < lines.length; i++) {
+        if (!lineReader.readLine(lines[i])) {
+          throw new IgsServiceException(INVALID_DOCUMENT, NO_MULTIPLE_OF_4_MSG);
+        }
+      }
+      linenumber += 4;
+      validateFastQ(lines);
+    } while (lineReader.readLine(lines[0]));
+  }
+
+  private void validateFastQ(AsciiLine[] lines) {
+    if (!lines[0].startsWith('@')) {
+      throw new IgsServiceException(
+          INVALID_DOCUMENT, format(FIRST_LINE_WRONG_START_MSG, linenumber - 3));
+    }
+    if (!lines[2].startsWith('+')) {
+      throw new IgsServiceException(
+          INVALID_DOCUMENT, format(THIRD_LINE_WRONG_START_MSG, linenumber - 1));
+    }
+    for (AsciiLine line : lines) {
+      if (!line.consistsOf(asciiChars)) {
+        throw new IgsServiceException(
+            INVALID_DOCUMENT, format(NO_ASCII_CHAR_FOUND_MSG, (linenumber - 3), linenumber));
+      }
+    }
+    if (!lines[1].consistsOf(validChars)) {
+      throw new IgsServiceException(
+          INVALID_DOCUMENT, format(INVALID_CHAR_FOUND_MSG, linenumber - 2));
+    }
+    if (lines[1].length() != lines[3].length()) {
+      throw new IgsServiceException(
+          INVALID_DOCUMENT, format(LINE_LENGTH_DIFFER_ERROR_MESSAGE, linenumber - 2, linenumber));
+    }
+  }
+
   private void validateFastQ(FourLines lines) {
     if (!lines.line1.startsWith("@")) {
       throw new IgsServiceException(
@@ -26,6 +26,8 @@ package de.gematik.demis.igs.service.service.validation;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.HASH;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.S3_READ;
 import static de.gematik.demis.igs.service.utils.Constants.HASH_ALGORITHM;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
@@ -34,6 +36,8 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.HASH_ERROR_MSG;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_ERROR_MESSAGE;
 import static de.gematik.demis.igs.service.utils.StreamUtils.writeInputToOutput;
 
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.stream.StageMeter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -51,13 +55,15 @@ public class HashValidatorFunction implements BiFunction<InputStream, OutputStre
   private String hash;
   private String documentId;
   private final ValidationTracker validationTracker;
+  private final BufferPool bufferPool;
 
   /**
    * Applies a hash-based validation mechanism to the contents of the provided InputStream.
    *
    * <p>It reads from the InputStream, processes the data to compute its hash, writes the processed
    * data to the OutputStream, and then compares the computed hash with an expected hash value. If
-   * an error occurs during processing, the metadata got updated accordingly.
+   * an error occurs during processing, the metadata got updated accordingly. The input is the
+   * stored document, so the time waiting for it is recorded as {@link ValidationStage#S3_READ}.
    *
    * @param in the InputStream to be read and processed.
    * @param out the OutputStream where the processed data should be written.
@@ -66,11 +72,15 @@ public class HashValidatorFunction implements BiFunction<InputStream, OutputStre
   @Override
   public Void apply(InputStream in, OutputStream out) {
     validationTracker.updateHashStatus(documentId, VALIDATING);
-    try {
+    StageMeter meter = new StageMeter();
+    try (BufferPool.Lease<byte[]> buffer = bufferPool.copyBuffer()) {
       MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-      DigestInputStream dis = new DigestInputStream(in, digest);
-      writeInputToOutput(dis, out);
+      InputStream source =
+          meter.meter(in, bytes -> validationTracker.recordBytesRead(documentId, bytes));
+      DigestInputStream dis = new DigestInputStream(source, digest);
+      writeInputToOutput(dis, meter.meter(out), buffer.get());
       String calculatedHash = getHashFromDigest(digest);
+      record(meter);
       if (hash.equals(calculatedHash)) {
         validationTracker.updateHashStatus(documentId, VALID);
       } else {
@@ -79,9 +89,10 @@ public class HashValidatorFunction implements BiFunction<InputStream, OutputStre
       }
       dis.close();
     } catch (Exception ex) {
+      record(meter);
       validationTracker.updateHashStatus(
           documentId, VALIDATION_FAILED, INTERNAL_SERVER_ERROR_MESSAGE);
-      // IOException is a common case because of PipedInputStream, so we do not log it as an error
+      // IOException is a common case because of closed pipes, so we do not log it as an error
       if (!(ex instanceof IOException)) {
         log.error("Error while validating hash", ex);
       }
@@ -89,6 +100,11 @@ public class HashValidatorFunction implements BiFunction<InputStream, OutputStre
     return null;
   }
 
+  private void record(StageMeter meter) {
+    validationTracker.recordStage(documentId, S3_READ, meter.readNanos(), meter.bytesRead());
+    validationTracker.recordStage(documentId, HASH, meter.busyNanos(), meter.bytesRead());
+  }
+
   private String getHashFromDigest(MessageDigest digest) {
     byte[] hashBytes = digest.digest();
     StringBuilder hexString = new StringBuilder();
@@ -36,7 +36,6 @@ import static de.gematik.demis.igs.service.parser.FhirParser.deserializeResource
 import static de.gematik.demis.igs.service.service.validation.ValidationServiceClient.HEADER_FHIR_API_VERSION;
 import static de.gematik.demis.igs.service.service.validation.ValidationServiceClient.HEADER_FHIR_PROFILE;
 import static de.gematik.demis.igs.service.service.validation.ValidationServiceClient.HEADER_FHIR_PROFILE_OLD;
-import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
 import static java.util.Optional.ofNullable;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
@@ -45,8 +44,6 @@ import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.exception.IgsValidationException;
 import de.gematik.demis.igs.service.service.fhir.FhirBundleOperationService;
 import de.gematik.demis.igs.service.service.fhir.FhirOperationOutcomeOperationService;
-import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
-import de.gematik.demis.igs.service.utils.Constants;
 import de.gematik.demis.service.base.error.ServiceCallException;
 import feign.Response;
 import feign.codec.Decoder;
@@ -55,7 +52,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -84,7 +80,7 @@ public class NotificationValidatorService {
   private final Decoder decoder = new StringDecoder();
   private final FhirOperationOutcomeOperationService outcomeService;
   private final FhirBundleOperationService fhirBundleOperationService;
-  private final SimpleStorageService storageService;
+  private final SequenceDataStatusService sequenceDataStatusService;
   private final HttpServletRequest httpServletRequest;
 
   @Value("${igs.demis.external-url}")
@@ -95,13 +91,26 @@ public class NotificationValidatorService {
   @Value("${feature.flag.new_api_endpoints}")
   private boolean isVersionHeaderForwardEnabled;
 
-  private List<String> getDownloadEndpoints() {
+  /**
+   * Reads the headers of the current request the validation depends on. The request is bound to
+   * the thread handling it, so they have to be read before the validation is handed to another
+   * thread.
+   *
+   * @return the headers of the current request
+   */
+  public RequestHeaders currentRequestHeaders() {
+    return new RequestHeaders(
+        httpServletRequest.getHeader(HEADER_FHIR_API_VERSION),
+        httpServletRequest.getHeader(HEADER_FHIR_PROFILE));
+  }
+
+  private List<String> getDownloadEndpoints(RequestHeaders requestHeaders) {
     ArrayList<String> validEndpoints = new ArrayList<>();
     validEndpoints.add(
         demisExternalUrl
             + CLUSTER_INTERNAL_IGS_URI_PREFIX.replace("%s", "")
             + FHIR_DOCUMENT_REFERENCE_BASE);
-    List<String> versions = headersFromRequestByName(HEADER_FHIR_API_VERSION);
+    List<String> versions = requestHeaders.byName(HEADER_FHIR_API_VERSION);
     if (Objects.nonNull(versions)) {
       versions.stream()
           .map(
@@ -121,10 +130,23 @@ public class NotificationValidatorService {
    * @param mediaType the media type of the content
    * @return the validation result
    */
-  public OperationOutcome validateFhir(String content, MediaType mediaType) {
+  public OperationOutcome validateFhir(byte[] content, MediaType mediaType) {
+    return validateFhir(content, mediaType, currentRequestHeaders());
+  }
+
+  /**
+   * Validates a FHIR bundle if feature flag is enabled
+   *
+   * @param content the content to validate, sent to the validation service as it is
+   * @param mediaType the media type of the content
+   * @param requestHeaders the headers of the request, see {@link #currentRequestHeaders()}
+   * @return the validation result
+   */
+  public OperationOutcome validateFhir(
+      byte[] content, MediaType mediaType, RequestHeaders requestHeaders) {
     HttpStatusCode status;
     String body;
-    try (Response response = getValidationResponse(content, mediaType)) {
+    try (Response response = getValidationResponse(content, mediaType, requestHeaders)) {
       status = HttpStatus.valueOf(response.status());
       body = readResponse(response);
     }
@@ -148,16 +170,13 @@ public class NotificationValidatorService {
     throw new IgsValidationException(errorCode, operationOutcome);
   }
 
-  private @Nullable List<String> headersFromRequestByName(@Nonnull String headerName) {
-    return ofNullable(httpServletRequest.getHeader(headerName)).map(List::of).orElse(null);
-  }
-
-  private Response getValidationResponse(String content, MediaType mediaType) {
+  private Response getValidationResponse(
+      byte[] content, MediaType mediaType, RequestHeaders requestHeaders) {
     final HttpHeaders headers = new HttpHeaders();
 
     if (isVersionHeaderForwardEnabled) {
-      headers.computeIfAbsent(HEADER_FHIR_API_VERSION, this::headersFromRequestByName);
-      headers.computeIfAbsent(HEADER_FHIR_PROFILE, this::headersFromRequestByName);
+      headers.computeIfAbsent(HEADER_FHIR_API_VERSION, requestHeaders::byName);
+      headers.computeIfAbsent(HEADER_FHIR_PROFILE, requestHeaders::byName);
     }
     headers.computeIfAbsent(HEADER_FHIR_PROFILE_OLD, ignored -> List.of("igs-profile-snapshots"));
 
@@ -181,13 +200,24 @@ public class NotificationValidatorService {
    * @param bundle The bundle that has to be checked.
    */
   public void validateDocumentReferences(Bundle bundle) {
+    validateDocumentReferences(bundle, currentRequestHeaders());
+  }
+
+  /**
+   * Checks whether the DocumentRefereces in a bundle have been validated successfully as sequence
+   * data.
+   *
+   * @param bundle The bundle that has to be checked.
+   * @param requestHeaders the headers of the request, see {@link #currentRequestHeaders()}
+   */
+  public void validateDocumentReferences(Bundle bundle, RequestHeaders requestHeaders) {
     List<String> documentReferenceUrls =
         fhirBundleOperationService.determineDocumentReferenceUrls(bundle);
     if (documentReferenceUrls == null || documentReferenceUrls.isEmpty()) {
       throw new IgsServiceException(
           SEQUENCE_DATA_NOT_VALID, "No DocumentReferences found in bundle.");
     }
-    List<String> validEndpoints = getDownloadEndpoints();
+    List<String> validEndpoints = getDownloadEndpoints(requestHeaders);
     List<String> invlidDocumentReferences =
         documentReferenceUrls.stream()
             .filter(v -> validEndpoints.stream().noneMatch(v::startsWith))
@@ -199,32 +229,30 @@ public class NotificationValidatorService {
               "The document reference url %s does not point to Demis-Storage.",
               String.join(" and ", invlidDocumentReferences)));
     }
-    documentReferenceUrls.stream()
-        .map(this::extractDocumentReferenceId)
-        .forEach(this::ensureSequenceDataHasBeenValidated);
+    sequenceDataStatusService.ensureSequenceDataHasBeenValidated(
+        documentReferenceUrls.stream().map(this::extractDocumentReferenceId).toList());
   }
 
   private String extractDocumentReferenceId(String documentReferenceUrl) {
     return documentReferenceUrl.substring(documentReferenceUrl.lastIndexOf("/") + 1);
   }
 
-  private void ensureSequenceDataHasBeenValidated(String documentId) {
-    Map<String, String> metadata;
-    try {
-      metadata = storageService.getMetadata(documentId);
-    } catch (IgsServiceException e) {
-      throw new IgsServiceException(
-          SEQUENCE_DATA_NOT_VALID,
-          String.format("DocumentReference with ID %s has not been found", documentId));
-    }
-    String validationStatus = metadata.get(VALIDATION_STATUS);
-    if (validationStatus == null
-        || validationStatus.isEmpty()
-        || !validationStatus.equalsIgnoreCase(Constants.ValidationStatus.VALID.name())) {
-      throw new IgsServiceException(
-          SEQUENCE_DATA_NOT_VALID,
-          String.format(
-              "Sequence data with document ID %s has not been validated successfully", documentId));
+  /**
+   * The headers of a request the validation depends on
+   *
+   * @param fhirApiVersion the requested version of the FHIR API, if any
+   * @param fhirProfile the requested FHIR profile, if any
+   */
+  public record RequestHeaders(@Nullable String fhirApiVersion, @Nullable String fhirProfile) {
+
+    private @Nullable List<String> byName(@Nonnull String headerName) {
+      String value =
+          switch (headerName) {
+            case HEADER_FHIR_API_VERSION -> fhirApiVersion;
+            case HEADER_FHIR_PROFILE -> fhirProfile;
+            default -> null;
+          };
+      return ofNullable(value).map(List::of).orElse(null);
     }
   }
 }
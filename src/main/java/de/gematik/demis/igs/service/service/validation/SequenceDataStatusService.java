@@ -0,0 +1,188 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.AsyncConfig.DOCUMENT_REFERENCE_CHECK_EXECUTOR;
+import static de.gematik.demis.igs.service.exception.ErrorCode.SEQUENCE_DATA_NOT_VALID;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Checks whether sequence data has been validated successfully, based on the metadata of the
+ * documents in the storage.
+ *
+ * <p>The documents of a notification are looked up concurrently: the calling thread and up to
+ * {@code maxConcurrentChecks - 1} tasks on a dedicated executor take the documents from a shared
+ * queue. The executor is separate from the I/O executor, whose bounded queue belongs to the stages
+ * of running validations. As the caller works on the queue itself, the check completes even if no
+ * thread of the executor is available. The validation status of a document never changes once it
+ * is VALID, so documents found VALID are remembered for a short time and not looked up again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SequenceDataStatusService {
+
+  private final SimpleStorageService storageService;
+
+  @Qualifier(DOCUMENT_REFERENCE_CHECK_EXECUTOR)
+  private final ThreadPoolTaskExecutor checkExecutor;
+
+  private final DocumentReferenceCheckConfiguration configuration;
+  private final Map<String, Long> validUntil = new ConcurrentHashMap<>();
+
+  @Setter(AccessLevel.PACKAGE)
+  private Clock clock = Clock.systemUTC();
+
+  /**
+   * Ensures that the sequence data of all given documents has been validated successfully. If more
+   * than one document fails the check, the error of the first one in the given order is reported.
+   *
+   * @param documentIds the ids of the documents to check
+   * @throws IgsServiceException with {@code SEQUENCE_DATA_NOT_VALID} if a document does not exist
+   *     or has not been validated successfully
+   */
+  public void ensureSequenceDataHasBeenValidated(List<String> documentIds) {
+    Queue<Check> pending = new ConcurrentLinkedQueue<>();
+    List<Check> checks = new ArrayList<>();
+    for (String documentId : documentIds) {
+      if (!isKnownValid(documentId)) {
+        Check check = new Check(documentId, new CompletableFuture<>());
+        pending.add(check);
+        checks.add(check);
+      }
+    }
+    int helpers = Math.min(checks.size(), configuration.getMaxConcurrentChecks()) - 1;
+    for (int i = 0; i < helpers; i++) {
+      if (!startHelper(pending)) {
+        break;
+      }
+    }
+    work(pending);
+    for (Check check : checks) {
+      try {
+        check.result().join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+  }
+
+  private boolean startHelper(Queue<Check> pending) {
+    try {
+      checkExecutor.execute(() -> work(pending));
+      return true;
+    } catch (RejectedExecutionException e) {
+      log.debug("No thread available to check DocumentReferences, checking on caller", e);
+      return false;
+    }
+  }
+
+  private void work(Queue<Check> pending) {
+    Check check;
+    while ((check = pending.poll()) != null) {
+      try {
+        ensureSequenceDataHasBeenValidated(check.documentId());
+        check.result().complete(null);
+      } catch (RuntimeException e) {
+        check.result().completeExceptionally(e);
+      }
+    }
+  }
+
+  private void ensureSequenceDataHasBeenValidated(String documentId) {
+    Map<String, String> metadata;
+    try {
+      metadata = storageService.getMetadata(documentId);
+    } catch (IgsServiceException e) {
+      throw new IgsServiceException(
+          SEQUENCE_DATA_NOT_VALID,
+          String.format("DocumentReference with ID %s has not been found", documentId));
+    }
+    String validationStatus = metadata.get(VALIDATION_STATUS);
+    if (validationStatus == null
+        || validationStatus.isEmpty()
+        || !validationStatus.equalsIgnoreCase(ValidationStatus.VALID.name())) {
+      throw new IgsServiceException(
+          SEQUENCE_DATA_NOT_VALID,
+          String.format(
+              "Sequence data with document ID %s has not been validated successfully", documentId));
+    }
+    rememberValid(documentId);
+  }
+
+  private boolean isKnownValid(String documentId) {
+    Long until = validUntil.get(documentId);
+    if (until == null) {
+      return false;
+    }
+    if (until > clock.millis()) {
+      return true;
+    }
+    validUntil.remove(documentId, until);
+    return false;
+  }
+
+  private void rememberValid(String documentId) {
+    if (configuration.getValidCacheTtlSecs() <= 0) {
+      return;
+    }
+    long now = clock.millis();
+    if (validUntil.size() >= configuration.getValidCacheMaxEntries()) {
+      validUntil.values().removeIf(until -> until <= now);
+      if (validUntil.size() >= configuration.getValidCacheMaxEntries()) {
+        return;
+      }
+    }
+    validUntil.put(documentId, now + configuration.getValidCacheTtlSecs() * 1000L);
+  }
+
+  private record Check(String documentId, CompletableFuture<Void> result) {}
+}
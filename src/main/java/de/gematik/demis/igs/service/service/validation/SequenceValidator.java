@@ -26,6 +26,8 @@ package de.gematik.demis.igs.service.service.validation;
  * #L%
  */
 
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
 import java.io.BufferedReader;
 import java.io.IOException;
 
@@ -40,4 +42,15 @@ public interface SequenceValidator {
    * @throws IOException if an error occurs while reading the document
    */
   void validate(String firstLine, BufferedReader bufferedReader) throws IOException;
+
+  /**
+   * Takes the first line and the rest of a document as raw bytes and validates the document
+   * without decoding it to chars. The lines are validated with the same rules and messages as
+   * {@link #validate(String, BufferedReader)}.
+   *
+   * @param firstLine the first line of the document, may be reused for reading further lines
+   * @param lineReader the rest of the document
+   * @throws IOException if an error occurs while reading the document
+   */
+  void validate(AsciiLine firstLine, AsciiLineReader lineReader) throws IOException;
 }
@@ -26,6 +26,8 @@ package de.gematik.demis.igs.service.service.validation;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.fileTypeOf;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.SEQUENCE_VALIDATION;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
@@ -33,32 +35,56 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.EMPTY_DOCUMENT_ER
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INVALID_DOCUMENT_TYPE_ERROR_MSG;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.stream.StageMeter;
+import de.gematik.demis.igs.service.utils.AsciiCharSet;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-/** Service for validating sequences */
+/**
+ * Service for validating sequences. Documents are read as raw bytes by default: the validators
+ * only accept ASCII, so decoding every byte to a char before matching it is not needed.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class SequenceValidatorService {
 
   public static final String ERROR_MESSAGE_FASTQ_SEND_BY_FASTA_USER =
       "Fehlende Berechtigung zum Senden von FASTQ-Dateien";
   private static final String ASCII_PATTERN = "[\\u0021-\\u007E\\s]+";
   public static final Pattern asciiPattern = Pattern.compile(ASCII_PATTERN);
-  private static final String VALID_SEQUENCE_CHARS_PATTERN = "[ACGTNUKSYMWRBDHV-]+";
+  private static final String VALID_SEQUENCE_CHARS = "ACGTNUKSYMWRBDHV-";
+  private static final String VALID_SEQUENCE_CHARS_PATTERN = "[" + VALID_SEQUENCE_CHARS + "]+";
   public static final Pattern validCharsPattern = Pattern.compile(VALID_SEQUENCE_CHARS_PATTERN);
+
+  /**
+   * The characters of {@link #asciiPattern}. Without further flags {@code \s} stands for {@code [
+   * \t\n\x0B\f\r]} only.
+   */
+  public static final AsciiCharSet asciiChars =
+      AsciiCharSet.range('\u0021', '\u007E').union(" \t\n\u000B\f\r");
+
+  /** The characters of {@link #validCharsPattern}. */
+  public static final AsciiCharSet validChars = AsciiCharSet.of(VALID_SEQUENCE_CHARS);
+
+  private final BufferPool bufferPool;
   @Autowired private FastAValidationSpecifications fastAValidationSpecifications;
 
   /**
    * Finds the correct validator for the given InputStream and hands it over to the validator to
-   * validate the InputStream. For evaluating which validator to use, the first line of the
-   * InputStream is read.
+   * validate the InputStream. The type of the document is determined by its first byte, the
+   * document is never decoded to chars. The type, the time spent validating and the number of lines
+   * read so far are recorded at the tracker.
    *
    * @param input InputStream to validate
    */
@@ -68,38 +94,107 @@ public class SequenceValidatorService {
       ValidationTracker validationTracker,
       boolean isFastaSender)
       throws IOException {
+    StageMeter meter = new StageMeter();
     try (input;
-        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(input)); ) {
+        AsciiLineReader lineReader =
+            new AsciiLineReader(
+                meter.meter(input),
+                bufferPool.copyBuffer(),
+                lines -> validationTracker.recordLines(documentId, lines))) {
       validationTracker.updateValidationStatus(documentId, VALIDATING);
 
-      SequenceValidator validator;
-      String firstLine = bufferedReader.readLine();
-      if (firstLine == null) {
+      AsciiLine firstLine = new AsciiLine();
+      if (!lineReader.readLine(firstLine)) {
         validationTracker.updateValidationStatus(
             documentId, VALIDATION_FAILED, EMPTY_DOCUMENT_ERROR_MSG);
         return;
       }
-      if (firstLine.startsWith("@")) {
-        if (isFastaSender) {
-          validationTracker.updateValidationStatus(
-              documentId, VALIDATION_FAILED, ERROR_MESSAGE_FASTQ_SEND_BY_FASTA_USER);
-          return;
-        }
-        validator = new FastQValidator();
-      } else if (firstLine.startsWith(">")) {
-        validator = new FastAValidator(fastAValidationSpecifications, isFastaSender);
-      } else {
+      validationTracker.recordFileType(documentId, fileTypeOf(firstLine.firstByte()));
+      SequenceValidator validator =
+          findValidator(firstLine.firstByte(), documentId, validationTracker, isFastaSender);
+      if (validator != null) {
+        validate(() -> validator.validate(firstLine, lineReader), documentId, validationTracker);
+      }
+    } finally {
+      validationTracker.recordStage(
+          documentId, SEQUENCE_VALIDATION, meter.busyNanos(), meter.bytesRead());
+    }
+  }
+
+  /**
+   * Finds the correct validator for the given Reader and hands it over to the validator to validate
+   * the document line by line as Strings. Prefer {@link #validateSequence(InputStream, String,
+   * ValidationTracker, boolean)}, which skips decoding the document.
+   *
+   * @param reader Reader to validate
+   */
+  public void validateSequence(
+      Reader reader, String documentId, ValidationTracker validationTracker, boolean isFastaSender)
+      throws IOException {
+    try (BufferedReader bufferedReader = new BufferedReader(reader)) {
+      validationTracker.updateValidationStatus(documentId, VALIDATING);
+
+      String firstLine = bufferedReader.readLine();
+      if (firstLine == null) {
         validationTracker.updateValidationStatus(
-            documentId, VALIDATION_FAILED, INVALID_DOCUMENT_TYPE_ERROR_MSG);
+            documentId, VALIDATION_FAILED, EMPTY_DOCUMENT_ERROR_MSG);
         return;
       }
-      try {
-        validator.validate(firstLine, bufferedReader);
-      } catch (IgsServiceException ex) {
-        validationTracker.updateValidationStatus(documentId, VALIDATION_FAILED, ex.getMessage());
-        return;
+      SequenceValidator validator =
+          findValidator(
+              firstLine.isEmpty() ? -1 : firstLine.charAt(0),
+              documentId,
+              validationTracker,
+              isFastaSender);
+      if (validator != null) {
+        validate(
+            () -> validator.validate(firstLine, bufferedReader), documentId, validationTracker);
+      }
+    }
+  }
+
+  /**
+   * Selects the validator by the first character of a document. If there is none, the validation
+   * is marked as failed.
+   *
+   * @return the validator or null if the document must not be validated
+   */
+  private SequenceValidator findValidator(
+      int firstChar,
+      String documentId,
+      ValidationTracker validationTracker,
+      boolean isFastaSender) {
+    if (firstChar == '@') {
+      if (isFastaSender) {
+        validationTracker.updateValidationStatus(
+            documentId, VALIDATION_FAILED, ERROR_MESSAGE_FASTQ_SEND_BY_FASTA_USER);
+        return null;
       }
-      validationTracker.updateValidationStatus(documentId, VALID);
+      return new FastQValidator();
+    }
+    if (firstChar == '>') {
+      return new FastAValidator(fastAValidationSpecifications, isFastaSender);
+    }
+    validationTracker.updateValidationStatus(
+        documentId, VALIDATION_FAILED, INVALID_DOCUMENT_TYPE_ERROR_MSG);
+    return null;
+  }
+
+  private void validate(
+      Validation validation, String documentId, ValidationTracker validationTracker)
+      throws IOException {
+    try {
+      validation.run();
+    } catch (IgsServiceException ex) {
+      validationTracker.updateValidationStatus(documentId, VALIDATION_FAILED, ex.getMessage());
+      return;
     }
+    validationTracker.updateValidationStatus(documentId, VALID);
+  }
+
+  @FunctionalInterface
+  private interface Validation {
+
+    void run() throws IOException;
   }
 }
@@ -0,0 +1,137 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.http.Abortable;
+
+/**
+ * Cancellation scope of a single validation. The parts of a validation register what has to be
+ * released once it is cancelled: the response stream of the storage, the pipes between the stages
+ * and the tasks running the stages. The first terminal failure cancels the validation, so an
+ * invalid upload does not keep downloading and processing the rest of the file.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ValidationContext {
+
+  @Getter private final String documentId;
+  private final AtomicBoolean cancelled = new AtomicBoolean();
+  private final Queue<Runnable> cancelActions = new ConcurrentLinkedQueue<>();
+
+  /**
+   * @return true if the validation has been cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled.get();
+  }
+
+  /**
+   * Cancels the validation and runs all registered actions in the order of their registration.
+   * Further calls have no effect.
+   */
+  public void cancel() {
+    if (cancelled.compareAndSet(false, true)) {
+      log.debug("Cancelling validation of document {}", documentId);
+      runCancelActions();
+    }
+  }
+
+  /**
+   * Registers an action to run on cancellation. Runs the action immediately if the validation has
+   * already been cancelled.
+   *
+   * @param action the action to run
+   */
+  public void onCancel(Runnable action) {
+    cancelActions.add(action);
+    if (cancelled.get()) {
+      runCancelActions();
+    }
+  }
+
+  /**
+   * Aborts the given source stream on cancellation. Closing a response stream of the storage would
+   * read it to its end in order to reuse the connection, aborting drops the connection instead.
+   *
+   * @param source the stream to abort
+   */
+  public void abortOnCancel(InputStream source) {
+    onCancel(
+        () -> {
+          if (source instanceof Abortable abortable) {
+            abortable.abort();
+          }
+          closeQuietly(source);
+        });
+  }
+
+  /**
+   * Interrupts the given task on cancellation, or prevents it from starting if it is still queued.
+   *
+   * @param future the future of the task
+   */
+  public void cancelOnCancel(Future<?> future) {
+    onCancel(() -> future.cancel(true));
+  }
+
+  /**
+   * Closes the given stream on cancellation.
+   *
+   * @param closeable the stream to close
+   */
+  public void closeOnCancel(AutoCloseable closeable) {
+    onCancel(() -> closeQuietly(closeable));
+  }
+
+  private void runCancelActions() {
+    Runnable action;
+    // poll hands out every action only once, even if cancel and onCancel race
+    while ((action = cancelActions.poll()) != null) {
+      try {
+        action.run();
+      } catch (RuntimeException ex) {
+        log.debug("Error while cancelling validation of document {}", documentId, ex);
+      }
+    }
+  }
+
+  private void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (Exception ex) {
+      log.debug("Error closing stream of document {}", documentId, ex);
+    }
+  }
+}
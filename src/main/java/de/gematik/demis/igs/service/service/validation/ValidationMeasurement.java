@@ -0,0 +1,48 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.Map;
+
+/**
+ * The measurements of a validation, collected by the {@link ValidationTracker} and published by
+ * the {@link ValidationMetrics}.
+ *
+ * @param stages the time and processed bytes per stage that has been recorded
+ * @param fileType the type of the document, see {@link ValidationMetrics#FILE_TYPE_FASTA}
+ * @param compression the compression of the stored document, see {@link
+ *     ValidationMetrics#COMPRESSION_GZIP}
+ */
+public record ValidationMeasurement(
+    Map<ValidationStage, Stage> stages, String fileType, String compression) {
+
+  /**
+   * @param nanos the time the stage was busy
+   * @param bytes the bytes the stage has processed, 0 for stages not streaming the document
+   */
+  public record Stage(long nanos, long bytes) {}
+}
@@ -0,0 +1,170 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.DECOMPRESS;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.FINALIZE;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.HASH;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.PROMOTION;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_DESCRIPTION;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
+import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_ERROR_MESSAGE;
+
+import de.gematik.demis.igs.service.utils.Pair;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the measurements of a finished validation, see {@link ValidationStage}. Per stage the
+ * busy time is recorded as {@code igs.validation.stage.duration}, and for the stages streaming the
+ * document the processed bytes as {@code igs.validation.stage.bytes} and the bytes per second of
+ * busy time as {@code igs.validation.stage.throughput}. The meters are tagged by {@code stage},
+ * {@code file_type}, {@code compression} and {@code outcome} of the validation. For compressed
+ * documents the ratio of decompressed to stored bytes is recorded as {@code
+ * igs.validation.compression.ratio}.
+ *
+ * <p>The stages run concurrently, so their times add up to more than the duration of the
+ * validation. The time a stage waited for its input or output is not counted, it shows up as the
+ * {@code igs.pipe.wait} of the pipes between the stages.
+ */
+@Component
+@RequiredArgsConstructor
+public class ValidationMetrics {
+
+  public static final String STAGE_DURATION = "igs.validation.stage.duration";
+  public static final String STAGE_BYTES = "igs.validation.stage.bytes";
+  public static final String STAGE_THROUGHPUT = "igs.validation.stage.throughput";
+  public static final String COMPRESSION_RATIO = "igs.validation.compression.ratio";
+
+  public static final String FILE_TYPE_FASTA = "fasta";
+  public static final String FILE_TYPE_FASTQ = "fastq";
+  public static final String COMPRESSION_GZIP = "gzip";
+  public static final String COMPRESSION_NONE = "none";
+  public static final String OUTCOME_VALID = "valid";
+  public static final String OUTCOME_INVALID = "invalid";
+  public static final String OUTCOME_ERROR = "error";
+  public static final String UNKNOWN = "unknown";
+
+  private static final ValidationMeasurement.Stage NOT_RECORDED =
+      new ValidationMeasurement.Stage(0, 0);
+
+  private final MeterRegistry meterRegistry;
+  private final ValidationTracker validationTracker;
+
+  /**
+   * Publishes the measurements of a document. Has to be called after the validation has been
+   * finalized and before the document is dropped from the {@link ValidationTracker}.
+   *
+   * @param documentId the id of the validated document
+   */
+  public void publish(String documentId) {
+    validationTracker
+        .getMeasurement(documentId)
+        .ifPresent(
+            measurement ->
+                publish(measurement, outcomeOf(validationTracker.calculateMetaData(documentId))));
+  }
+
+  void publish(ValidationMeasurement measurement, String outcome) {
+    Tags tags =
+        Tags.of(
+            "file_type", measurement.fileType(),
+            "compression", measurement.compression(),
+            "outcome", outcome);
+    long promotionNanos = measurement.stages().getOrDefault(PROMOTION, NOT_RECORDED).nanos();
+    measurement
+        .stages()
+        .forEach(
+            (stage, value) -> {
+              // the promotion is part of the finalization, but reported on its own
+              long nanos = stage == FINALIZE ? value.nanos() - promotionNanos : value.nanos();
+              record(tags.and("stage", stage.tag()), Math.max(0, nanos), value.bytes());
+            });
+    long stored = measurement.stages().getOrDefault(HASH, NOT_RECORDED).bytes();
+    long decompressed = measurement.stages().getOrDefault(DECOMPRESS, NOT_RECORDED).bytes();
+    if (COMPRESSION_GZIP.equals(measurement.compression()) && stored > 0 && decompressed > 0) {
+      DistributionSummary.builder(COMPRESSION_RATIO)
+          .tags("file_type", measurement.fileType(), "outcome", outcome)
+          .register(meterRegistry)
+          .record((double) decompressed / stored);
+    }
+  }
+
+  private void record(Tags tags, long nanos, long bytes) {
+    meterRegistry.timer(STAGE_DURATION, tags).record(nanos, TimeUnit.NANOSECONDS);
+    if (bytes <= 0) {
+      return;
+    }
+    DistributionSummary.builder(STAGE_BYTES)
+        .baseUnit(BaseUnits.BYTES)
+        .tags(tags)
+        .register(meterRegistry)
+        .record(bytes);
+    if (nanos > 0) {
+      DistributionSummary.builder(STAGE_THROUGHPUT)
+          .baseUnit("bytes.per.second")
+          .tags(tags)
+          .register(meterRegistry)
+          .record(bytes * 1e9 / nanos);
+    }
+  }
+
+  /**
+   * @param metaData the result of the validation, see {@link
+   *     ValidationTracker#calculateMetaData(String)}
+   * @return {@link #OUTCOME_VALID}, {@link #OUTCOME_ERROR} if the validation failed for an
+   *     internal error or {@link #OUTCOME_INVALID} if the document was rejected
+   */
+  static String outcomeOf(List<Pair> metaData) {
+    if (metaData.contains(new Pair(VALIDATION_STATUS, VALID.name()))) {
+      return OUTCOME_VALID;
+    }
+    if (metaData.contains(new Pair(VALIDATION_DESCRIPTION, INTERNAL_SERVER_ERROR_MESSAGE))) {
+      return OUTCOME_ERROR;
+    }
+    return OUTCOME_INVALID;
+  }
+
+  /**
+   * @param firstByte the first byte of a decompressed document
+   * @return the type of the document as recorded in the tag {@code file_type}
+   */
+  public static String fileTypeOf(int firstByte) {
+    return switch (firstByte) {
+      case '>' -> FILE_TYPE_FASTA;
+      case '@' -> FILE_TYPE_FASTQ;
+      default -> UNKNOWN;
+    };
+  }
+}
@@ -0,0 +1,54 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of a validation in progress, as listed by the {@link ValidationsEndpoint}.
+ *
+ * @param documentId the id of the validated document
+ * @param startedAt the time the validation has been started
+ * @param elapsedMillis the time since the start
+ * @param state the state of the validation, see {@link ValidationTracker#count}
+ * @param stages the stages currently running, or {@code finalize} once all of them are done
+ * @param bytesRead the bytes read from the storage so far
+ * @param bytesDecompressed the bytes handed to the sequence validation so far
+ * @param lines the lines validated so far
+ * @param bytesPerSecond the bytes read from the storage per second since the start
+ */
+public record ValidationProgress(
+    String documentId,
+    Instant startedAt,
+    long elapsedMillis,
+    String state,
+    List<String> stages,
+    long bytesRead,
+    long bytesDecompressed,
+    long lines,
+    long bytesPerSecond) {}
@@ -28,6 +28,7 @@ package de.gematik.demis.igs.service.service.validation;
 
 import static de.gematik.demis.igs.service.exception.ServiceCallErrorCode.VS;
 
+import de.gematik.demis.igs.service.PooledFeignClientConfiguration;
 import de.gematik.demis.service.base.feign.annotations.ErrorCode;
 import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -36,7 +37,17 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "validation-service", url = "${igs.validation.url}")
+/**
+ * Client of the validation service. The bundles are sent as the bytes received from the submitter,
+ * see {@link ValidationServiceClientConfiguration}.
+ */
+@FeignClient(
+    name = "validation-service",
+    url = "${igs.validation.url}",
+    configuration = {
+      PooledFeignClientConfiguration.class,
+      ValidationServiceClientConfiguration.class
+    })
 public interface ValidationServiceClient {
   String HEADER_FHIR_API_VERSION = "x-fhir-api-version";
   // Can be removed with FEATURE_FLAG_NEW_API_ENDPOINTS
@@ -48,12 +59,12 @@ public interface ValidationServiceClient {
       consumes = MediaType.APPLICATION_JSON_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE)
   @ErrorCode(VS)
-  Response validateJsonBundle(@RequestHeader HttpHeaders headers, String bundleAsJson);
+  Response validateJsonBundle(@RequestHeader HttpHeaders headers, byte[] bundleAsJson);
 
   @PostMapping(
       value = "/$validate",
       consumes = MediaType.APPLICATION_XML_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE)
   @ErrorCode(VS)
-  Response validateXmlBundle(@RequestHeader HttpHeaders headers, String bundleAsXml);
+  Response validateXmlBundle(@RequestHeader HttpHeaders headers, byte[] bundleAsXml);
 }
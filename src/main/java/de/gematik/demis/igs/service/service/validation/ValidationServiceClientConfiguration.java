@@ -0,0 +1,44 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import feign.codec.Encoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuration of the {@link ValidationServiceClient} only, therefore not annotated with
+ * {@code @Configuration}. The default encoder of Spring converts the body with a message converter
+ * into a new buffer. The encoder of Feign passes a {@code byte[]} to the request as it is, so a
+ * notification is not copied once more per call.
+ */
+class ValidationServiceClientConfiguration {
+
+  @Bean
+  Encoder validationServiceEncoder() {
+    return new Encoder.Default();
+  }
+}
@@ -0,0 +1,49 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.Locale;
+
+/** The stages of the validation of a document, reported as tag {@code stage} of the metrics. */
+public enum ValidationStage {
+  /** Waiting for the document to be read from the storage */
+  S3_READ,
+  /** Calculating the hash of the stored document */
+  HASH,
+  /** Decompressing the stored document, or copying it if it is not compressed */
+  DECOMPRESS,
+  /** Validating the sequences of the decompressed document */
+  SEQUENCE_VALIDATION,
+  /** Waiting for all stages and writing the result to the metadata of the document */
+  FINALIZE,
+  /** Moving a valid document to the bucket of validated documents */
+  PROMOTION;
+
+  public String tag() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -26,17 +26,24 @@ package de.gematik.demis.igs.service.service.validation;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.UNKNOWN;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_DESCRIPTION;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_NOT_INITIATED;
 
 import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
 import de.gematik.demis.igs.service.utils.Pair;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
@@ -46,7 +53,10 @@ import org.springframework.stereotype.Component;
 /**
  * This class is used to track the validation status of a document. Each validation step is tracked
  * separately and to set the validation status each step has to be finished. The error message is
- * stored only once and is not overwritten. The class have to be thread safe.
+ * stored only once and is not overwritten. The first failed step cancels the {@link
+ * ValidationContext} of the document, which stops the other steps. Alongside, the time and bytes
+ * of each step are collected for the {@link ValidationMetrics}, and the progress of the running
+ * steps for the {@link ValidationsEndpoint}. The class have to be thread safe.
  */
 @Component
 @Slf4j
@@ -60,12 +70,23 @@ public class ValidationTracker {
    * @param documentId the id of the document to keep track of
    */
   public void init(String documentId) {
+    init(documentId, new ValidationContext(documentId));
+  }
+
+  /**
+   * Initialize the validation status for a documentId
+   *
+   * @param documentId the id of the document to keep track of
+   * @param context the context to cancel once a validation step fails
+   */
+  public void init(String documentId, ValidationContext context) {
     statusMap.put(
         documentId,
         new StatusObject()
             .setValidationStatus(VALIDATION_NOT_INITIATED)
             .setGzipStatus(VALIDATION_NOT_INITIATED)
-            .setHashStatus(VALIDATION_NOT_INITIATED));
+            .setHashStatus(VALIDATION_NOT_INITIATED)
+            .setContext(context));
   }
 
   /**
@@ -90,6 +111,7 @@ public class ValidationTracker {
     statusMap.computeIfPresent(
         documentId,
         (k, v) -> v.setValidationStatus(validationStatus).setErrorMessage(errorMessage));
+    cancelOnFailure(documentId, validationStatus);
   }
 
   /**
@@ -113,6 +135,7 @@ public class ValidationTracker {
       String documentId, ValidationStatus hashStatus, String errorMessage) {
     statusMap.computeIfPresent(
         documentId, (k, v) -> v.setHashStatus(hashStatus).setErrorMessage(errorMessage));
+    cancelOnFailure(documentId, hashStatus);
   }
 
   /**
@@ -136,6 +159,113 @@ public class ValidationTracker {
       String documentId, ValidationStatus gzipStatus, String errorMessage) {
     statusMap.computeIfPresent(
         documentId, (k, v) -> v.setGzipStatus(gzipStatus).setErrorMessage(errorMessage));
+    cancelOnFailure(documentId, gzipStatus);
+  }
+
+  /**
+   * Record the time a validation stage of a document was busy and the bytes it has processed.
+   * Stages running on their own thread record before reporting their final status, so the
+   * measurement is complete once the validation is finished.
+   *
+   * @param documentId the id of the document to keep track of
+   * @param stage the stage
+   * @param nanos the time the stage was busy
+   * @param bytes the bytes processed by the stage
+   */
+  public void recordStage(String documentId, ValidationStage stage, long nanos, long bytes) {
+    StatusObject statusObject = statusMap.get(documentId);
+    if (statusObject != null) {
+      statusObject.stages.put(stage, new ValidationMeasurement.Stage(nanos, bytes));
+    }
+  }
+
+  /**
+   * Record the type of a document, e.g. {@link ValidationMetrics#FILE_TYPE_FASTA}
+   *
+   * @param documentId the id of the document to keep track of
+   * @param fileType the type of the document
+   */
+  public void recordFileType(String documentId, String fileType) {
+    statusMap.computeIfPresent(documentId, (k, v) -> v.setFileType(fileType));
+  }
+
+  /**
+   * Record the compression of a document, e.g. {@link ValidationMetrics#COMPRESSION_GZIP}
+   *
+   * @param documentId the id of the document to keep track of
+   * @param compression the compression of the document
+   */
+  public void recordCompression(String documentId, String compression) {
+    statusMap.computeIfPresent(documentId, (k, v) -> v.setCompression(compression));
+  }
+
+  /**
+   * Record the bytes of a document read from the storage so far. Called while the document is
+   * read, so the progress of running validations can be listed.
+   *
+   * @param documentId the id of the document to keep track of
+   * @param bytes the bytes read so far
+   */
+  public void recordBytesRead(String documentId, long bytes) {
+    StatusObject statusObject = statusMap.get(documentId);
+    if (statusObject != null) {
+      statusObject.bytesRead = bytes;
+    }
+  }
+
+  /**
+   * Record the bytes of a document decompressed so far
+   *
+   * @param documentId the id of the document to keep track of
+   * @param bytes the bytes handed to the sequence validation so far
+   */
+  public void recordBytesDecompressed(String documentId, long bytes) {
+    StatusObject statusObject = statusMap.get(documentId);
+    if (statusObject != null) {
+      statusObject.bytesDecompressed = bytes;
+    }
+  }
+
+  /**
+   * Record the lines of a document validated so far
+   *
+   * @param documentId the id of the document to keep track of
+   * @param lines the lines validated so far
+   */
+  public void recordLines(String documentId, long lines) {
+    StatusObject statusObject = statusMap.get(documentId);
+    if (statusObject != null) {
+      statusObject.lines = lines;
+    }
+  }
+
+  /**
+   * List the progress of all tracked documents, longest running first
+   *
+   * @return a snapshot of the progress of each tracked document
+   */
+  public List<ValidationProgress> getProgress() {
+    long now = System.nanoTime();
+    return statusMap.entrySet().stream()
+        .map(entry -> entry.getValue().progress(entry.getKey(), now))
+        .sorted(Comparator.comparingLong(ValidationProgress::elapsedMillis).reversed())
+        .toList();
+  }
+
+  /**
+   * Get the measurements recorded for a document so far
+   *
+   * @param documentId the id of the document
+   * @return the measurements or empty if the document is not tracked
+   */
+  public Optional<ValidationMeasurement> getMeasurement(String documentId) {
+    return Optional.ofNullable(statusMap.get(documentId))
+        .map(
+            statusObject ->
+                new ValidationMeasurement(
+                    Map.copyOf(statusObject.stages),
+                    statusObject.getFileType(),
+                    statusObject.getCompression()));
   }
 
   /**
@@ -148,19 +278,27 @@ public class ValidationTracker {
   }
 
   /**
-   * Check if all validation steps are finished
+   * Check if all validation steps are finished. A cancelled validation is finished, as its
+   * remaining steps may never report a status.
    *
    * @param documentId the id of the document to check
    * @return true if all validation steps are finished
    */
   public Boolean isFinished(String documentId) {
-    if (!statusMap.containsKey(documentId)) {
-      return false;
-    }
     StatusObject statusObject = statusMap.get(documentId);
-    return statusObject.validationStatus.isProcceeded()
-        && statusObject.hashStatus.isProcceeded()
-        && statusObject.gzipStatus.isProcceeded();
+    return statusObject != null && statusObject.isFinished();
+  }
+
+  /**
+   * Count the tracked documents in a state. A document is {@code VALIDATING} until all validation
+   * steps are finished and {@code VALID} or {@code VALIDATION_FAILED} afterwards, until it is
+   * dropped.
+   *
+   * @param status the state to count the documents of
+   * @return the number of tracked documents in this state
+   */
+  public int count(ValidationStatus status) {
+    return (int) statusMap.values().stream().filter(object -> object.state() == status).count();
   }
 
   /**
@@ -183,6 +321,13 @@ public class ValidationTracker {
         new Pair(VALIDATION_DESCRIPTION, statusObject.getErrorMessage()));
   }
 
+  private void cancelOnFailure(String documentId, ValidationStatus status) {
+    StatusObject statusObject = statusMap.get(documentId);
+    if (status == VALIDATION_FAILED && statusObject != null) {
+      statusObject.context.cancel();
+    }
+  }
+
   @Data
   @Accessors(chain = true)
   private class StatusObject {
@@ -191,6 +336,17 @@ public class ValidationTracker {
     private ValidationStatus hashStatus;
     private ValidationStatus gzipStatus;
     private String errorMessage;
+    private ValidationContext context;
+    private String fileType = UNKNOWN;
+    private String compression = UNKNOWN;
+    private final Map<ValidationStage, ValidationMeasurement.Stage> stages =
+        new ConcurrentHashMap<>();
+    private final Instant startedAt = Instant.now();
+    private final long startedAtNanos = System.nanoTime();
+    // each written by a single stage, read by the listing of the progress
+    private volatile long bytesRead;
+    private volatile long bytesDecompressed;
+    private volatile long lines;
 
     public synchronized StatusObject setErrorMessage(String errorMessage) {
       if (StringUtils.isBlank(this.errorMessage)) {
@@ -204,5 +360,53 @@ public class ValidationTracker {
           && hashStatus == ValidationStatus.VALID
           && gzipStatus == ValidationStatus.VALID;
     }
+
+    boolean isFinished() {
+      if (context.isCancelled()) {
+        return true;
+      }
+      return validationStatus.isProcceeded()
+          && hashStatus.isProcceeded()
+          && gzipStatus.isProcceeded();
+    }
+
+    ValidationStatus state() {
+      if (!isFinished()) {
+        return VALIDATING;
+      }
+      return isSuccess() ? VALID : VALIDATION_FAILED;
+    }
+
+    ValidationProgress progress(String documentId, long now) {
+      long elapsedNanos = Math.max(0, now - startedAtNanos);
+      long read = bytesRead;
+      return new ValidationProgress(
+          documentId,
+          startedAt,
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+          state().name(),
+          runningStages(),
+          read,
+          bytesDecompressed,
+          lines,
+          elapsedNanos == 0 ? 0 : (long) (read * 1e9 / elapsedNanos));
+    }
+
+    private List<String> runningStages() {
+      if (isFinished()) {
+        return List.of(ValidationStage.FINALIZE.tag());
+      }
+      List<String> running = new ArrayList<>();
+      if (hashStatus == VALIDATING) {
+        running.add(ValidationStage.HASH.tag());
+      }
+      if (gzipStatus == VALIDATING) {
+        running.add(ValidationStage.DECOMPRESS.tag());
+      }
+      if (validationStatus == VALIDATING) {
+        running.add(ValidationStage.SEQUENCE_VALIDATION.tag());
+      }
+      return running;
+    }
   }
 }
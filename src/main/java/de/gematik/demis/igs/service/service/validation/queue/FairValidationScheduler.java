@@ -0,0 +1,162 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out validation jobs to the workers. The order is decided by the {@link
+ * ValidationSchedulingPolicy}: deficit round robin between the sending labs, so a lab submitting
+ * many large files can not starve labs with small files, and a fast lane for small files with
+ * aging for large ones within each lab.
+ *
+ * <p>The queue depth and the running validations are reported per lab while the lab has jobs
+ * queued or running. The gauges of a lab are removed once it is idle, so the number of time series
+ * is bounded by the labs currently using the service rather than by all labs ever seen.
+ */
+@Component
+public class FairValidationScheduler {
+
+  // upper bound for a worker to notice that a waiting bulk job has aged
+  private static final long AGING_CHECK_INTERVAL_MILLIS = 1000;
+
+  private final MeterRegistry meterRegistry;
+  private final ValidationSchedulingPolicy policy;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private final Map<String, List<Meter>> labGauges = new HashMap<>();
+
+  @Setter(AccessLevel.PACKAGE)
+  private Clock clock = Clock.systemUTC();
+
+  public FairValidationScheduler(
+      ValidationQueueConfiguration configuration, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.policy = new ValidationSchedulingPolicy(configuration);
+  }
+
+  /**
+   * Queues the given job.
+   *
+   * @param job the job to queue
+   */
+  public void add(ValidationJob job) {
+    lock.lock();
+    try {
+      labGauges.computeIfAbsent(job.sender(), this::registerGauges);
+      policy.add(job);
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits for the next job that may be processed.
+   *
+   * @return the job, which has to be handed back with {@link #complete(ValidationJob)}
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public ValidationJob take() throws InterruptedException {
+    lock.lock();
+    try {
+      ValidationJob job;
+      while ((job = policy.poll(clock.millis())) == null) {
+        changed.await(AGING_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      return job;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Frees the slots taken by the given job.
+   *
+   * @param job a job previously returned by {@link #take()}
+   */
+  public void complete(ValidationJob job) {
+    lock.lock();
+    try {
+      policy.complete(job);
+      if (policy.queued(job.sender()) == 0 && policy.running(job.sender()) == 0) {
+        removeGauges(job.sender());
+      }
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of jobs waiting for a worker
+   */
+  public int size() {
+    return locked(policy::size);
+  }
+
+  private List<Meter> registerGauges(String sender) {
+    return List.of(
+        Gauge.builder("igs.validation.queue.depth", () -> locked(() -> policy.queued(sender)))
+            .description("Validations waiting for a worker")
+            .tag("lab", sender)
+            .register(meterRegistry),
+        Gauge.builder("igs.validation.running", () -> locked(() -> policy.running(sender)))
+            .description("Validations currently processed")
+            .tag("lab", sender)
+            .register(meterRegistry));
+  }
+
+  private void removeGauges(String sender) {
+    List<Meter> gauges = labGauges.remove(sender);
+    if (gauges != null) {
+      gauges.forEach(meterRegistry::remove);
+    }
+  }
+
+  private int locked(IntSupplier supplier) {
+    lock.lock();
+    try {
+      return supplier.getAsInt();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
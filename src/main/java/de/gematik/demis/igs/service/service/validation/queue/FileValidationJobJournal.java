@@ -0,0 +1,163 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.INTERNAL_SERVER_ERROR;
+import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_DOCUMENT_ID;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Journal keeping one small JSON file per job in a local directory. Files are written to a
+ * temporary name, synced and atomically renamed, so a crash never leaves a half written entry
+ * behind. The journal is bounded by the bytes it occupies on disk rather than by the number of
+ * entries held on the heap.
+ */
+@Slf4j
+@Component
+public class FileValidationJobJournal implements ValidationJobJournal {
+
+  static final String JOB_FILE_SUFFIX = ".job";
+  private static final String TMP_FILE_SUFFIX = ".tmp";
+  private static final Pattern DOCUMENT_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,128}");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Path directory;
+  private final long maxSizeInBytes;
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  public FileValidationJobJournal(ValidationQueueConfiguration configuration) {
+    this.directory = Path.of(configuration.getJournalDirectory());
+    this.maxSizeInBytes = configuration.getMaxJournalSizeInBytes();
+    try {
+      Files.createDirectories(directory);
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+        for (Path file : files) {
+          if (file.toString().endsWith(TMP_FILE_SUFFIX)) {
+            Files.deleteIfExists(file);
+          } else {
+            usedBytes.addAndGet(Files.size(file));
+          }
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not open validation journal at " + directory, ex);
+    }
+  }
+
+  @Override
+  public synchronized void append(ValidationJob job) {
+    Path target = fileOf(job.documentId());
+    Path tmp = target.resolveSibling(target.getFileName() + TMP_FILE_SUFFIX);
+    try {
+      byte[] content = objectMapper.writeValueAsBytes(job);
+      try (FileChannel channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+        channel.write(ByteBuffer.wrap(content));
+        channel.force(true);
+      }
+      long previousSize = Files.exists(target) ? Files.size(target) : 0;
+      Files.move(tmp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+      usedBytes.addAndGet(content.length - previousSize);
+    } catch (IOException ex) {
+      throw new IgsServiceException(
+          INTERNAL_SERVER_ERROR, "Could not journal validation of " + job.documentId(), ex);
+    }
+  }
+
+  @Override
+  public synchronized void remove(String documentId) {
+    Path target = fileOf(documentId);
+    try {
+      if (Files.exists(target)) {
+        long size = Files.size(target);
+        Files.delete(target);
+        usedBytes.addAndGet(-size);
+      }
+    } catch (IOException ex) {
+      log.warn("Could not remove journal entry for document {}", documentId, ex);
+    }
+  }
+
+  @Override
+  public synchronized List<ValidationJob> readAll() {
+    List<ValidationJob> jobs = new ArrayList<>();
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, "*" + JOB_FILE_SUFFIX)) {
+      for (Path file : files) {
+        try {
+          jobs.add(objectMapper.readValue(file.toFile(), ValidationJob.class));
+        } catch (IOException ex) {
+          log.warn("Discarding unreadable journal entry {}", file.getFileName(), ex);
+          long size = Files.size(file);
+          Files.deleteIfExists(file);
+          usedBytes.addAndGet(-size);
+        }
+      }
+    } catch (IOException ex) {
+      log.error("Could not read validation journal at {}", directory, ex);
+    }
+    jobs.sort(Comparator.comparingLong(ValidationJob::submittedAt));
+    return jobs;
+  }
+
+  @Override
+  public boolean hasCapacity() {
+    return usedBytes.get() < maxSizeInBytes;
+  }
+
+  @Override
+  public long sizeInBytes() {
+    return usedBytes.get();
+  }
+
+  private Path fileOf(String documentId) {
+    if (documentId == null || !DOCUMENT_ID_PATTERN.matcher(documentId).matches()) {
+      throw new IgsServiceException(INVALID_DOCUMENT_ID, "Invalid document id");
+    }
+    return directory.resolve(documentId + JOB_FILE_SUFFIX);
+  }
+}
@@ -0,0 +1,172 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.TOO_MANY_VALIDATIONS;
+
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Budgets the validations which are queued or running by their number and by the declared size of
+ * the uploaded sequence data. A job that does not fit is rejected with a Retry-After estimated from
+ * the throughput of the recently finished validations. A single job larger than the byte budget is
+ * admitted as long as nothing else is in flight, otherwise it could never be validated.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ValidationAdmission {
+
+  private static final double SMOOTHING_FACTOR = 0.2;
+
+  private final ValidationQueueConfiguration configuration;
+  private final Map<String, Long> admitted = new HashMap<>();
+  private long bytesInFlight;
+  private double bytesPerSecond;
+  private double secondsPerJob;
+
+  /**
+   * Admits the given job or throws if the budget is exhausted.
+   *
+   * @param job the job to admit
+   * @throws IgsAdmissionException if the job does not fit into the budget
+   */
+  public synchronized void admit(ValidationJob job) {
+    boolean tooManyJobs = admitted.size() >= configuration.getMaxJobsInFlight();
+    boolean tooManyBytes =
+        !admitted.isEmpty()
+            && bytesInFlight + job.sizeInBytes() > configuration.getMaxBytesInFlight();
+    if (tooManyJobs || tooManyBytes) {
+      long retryAfterSecs = estimateRetryAfterSecs(job.sizeInBytes());
+      log.info(
+          "Rejecting validation of {}: {} jobs with {} bytes in flight, retry after {}s",
+          job.documentId(),
+          admitted.size(),
+          bytesInFlight,
+          retryAfterSecs);
+      throw new IgsAdmissionException(
+          TOO_MANY_VALIDATIONS,
+          "Too many validations in progress, please try again later",
+          retryAfterSecs);
+    }
+    register(job);
+  }
+
+  /**
+   * Admits the given job regardless of the budget. Used for jobs that are recovered on startup and
+   * have been accepted before.
+   *
+   * @param job the job to admit
+   */
+  public synchronized void forceAdmit(ValidationJob job) {
+    register(job);
+  }
+
+  /**
+   * Releases the budget of a finished job and records its throughput.
+   *
+   * @param documentId the id of the validated document
+   * @param processingTime the time the validation took
+   */
+  public synchronized void release(String documentId, Duration processingTime) {
+    Long bytes = admitted.remove(documentId);
+    if (bytes == null) {
+      return;
+    }
+    bytesInFlight -= bytes;
+    double seconds = Math.max(processingTime.toNanos() / 1e9, 0.001);
+    secondsPerJob = smooth(secondsPerJob, seconds);
+    if (bytes > 0) {
+      bytesPerSecond = smooth(bytesPerSecond, bytes / seconds);
+    }
+  }
+
+  /**
+   * Releases the budget of a job that has not been queued, without recording any throughput.
+   *
+   * @param documentId the id of the document
+   */
+  public synchronized void cancel(String documentId) {
+    Long bytes = admitted.remove(documentId);
+    if (bytes != null) {
+      bytesInFlight -= bytes;
+    }
+  }
+
+  public synchronized int getJobsInFlight() {
+    return admitted.size();
+  }
+
+  public synchronized long getBytesInFlight() {
+    return bytesInFlight;
+  }
+
+  /**
+   * Estimates how long it takes until one of the jobs in flight has finished, e.g. to tell a client
+   * when the queue has room again.
+   *
+   * @return the seconds to wait, clamped to the configured bounds
+   */
+  public synchronized long estimateRetryAfterSecs() {
+    int workers = Math.max(1, configuration.getMaxConcurrentValidations());
+    long estimate = (long) Math.ceil(secondsPerJob / workers);
+    return Math.clamp(
+        estimate, configuration.getMinRetryAfterSecs(), configuration.getMaxRetryAfterSecs());
+  }
+
+  long estimateRetryAfterSecs(long bytes) {
+    int workers = Math.max(1, configuration.getMaxConcurrentValidations());
+    double jobWait = 0;
+    if (secondsPerJob > 0) {
+      int excessJobs = admitted.size() - configuration.getMaxJobsInFlight() + 1;
+      jobWait = Math.max(0, excessJobs) * secondsPerJob / workers;
+    }
+    double byteWait = 0;
+    if (bytesPerSecond > 0) {
+      long excessBytes = bytesInFlight + bytes - configuration.getMaxBytesInFlight();
+      byteWait = Math.max(0, excessBytes) / (bytesPerSecond * workers);
+    }
+    long estimate = (long) Math.ceil(Math.max(jobWait, byteWait));
+    return Math.clamp(
+        estimate, configuration.getMinRetryAfterSecs(), configuration.getMaxRetryAfterSecs());
+  }
+
+  private void register(ValidationJob job) {
+    Long previous = admitted.put(job.documentId(), job.sizeInBytes());
+    bytesInFlight += job.sizeInBytes() - (previous == null ? 0 : previous);
+  }
+
+  private static double smooth(double average, double sample) {
+    return average == 0 ? sample : average + SMOOTHING_FACTOR * (sample - average);
+  }
+}
@@ -0,0 +1,43 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+/**
+ * A sequence validation that has been accepted by {@code $validate} and waits to be processed.
+ *
+ * @param documentId the id of the document to validate
+ * @param sender the identity of the sending lab, used for fair scheduling
+ * @param fastaOnly whether the sender is restricted to FASTA files
+ * @param submittedAt epoch millis at which the job was accepted
+ * @param sizeInBytes declared size of the uploaded sequence data
+ */
+public record ValidationJob(
+    String documentId, String sender, boolean fastaOnly, long submittedAt, long sizeInBytes) {
+
+  /** Sender of jobs recovered from the storage, for which the token is no longer known */
+  public static final String UNKNOWN_SENDER = "unknown";
+}
@@ -0,0 +1,70 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.List;
+
+/**
+ * Persistent record of accepted validation jobs. Entries are written before a job is queued and
+ * removed once it has been processed, so that jobs can be replayed after a restart.
+ */
+public interface ValidationJobJournal {
+
+  /**
+   * Persists the given job. Appending a job for a document that is already journaled replaces the
+   * existing entry.
+   *
+   * @param job the job to persist
+   */
+  void append(ValidationJob job);
+
+  /**
+   * Removes the entry for the given document. Does nothing if no entry exists.
+   *
+   * @param documentId the id of the document
+   */
+  void remove(String documentId);
+
+  /**
+   * Reads all journaled jobs ordered by submission time. Unreadable entries are discarded.
+   *
+   * @return the journaled jobs
+   */
+  List<ValidationJob> readAll();
+
+  /**
+   * Checks if the journal has room for further entries.
+   *
+   * @return true if another job can be accepted
+   */
+  boolean hasCapacity();
+
+  /**
+   * @return the number of bytes currently occupied by the journal
+   */
+  long sizeInBytes();
+}
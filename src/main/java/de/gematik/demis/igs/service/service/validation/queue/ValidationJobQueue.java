@@ -0,0 +1,300 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.VALIDATION_QUEUE_FULL;
+import static de.gematik.demis.igs.service.service.validation.queue.ValidationJob.UNKNOWN_SENDER;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_FASTA_ONLY;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
+import static java.time.Duration.ofMinutes;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
+import de.gematik.demis.igs.service.service.DocumentReferenceService;
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Queue for sequence validations. Every accepted job is written to the {@link
+ * ValidationJobJournal} before it is handed to the {@link FairValidationScheduler}, and removed
+ * once a worker is done with it. While a job is held by this instance its lease in the storage is
+ * renewed regularly. On startup the journal is replayed and, if enabled, the storage is searched in
+ * the background for documents still in {@code VALIDATING} whose lease has expired, e.g. because
+ * the pod that accepted them was replaced.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ValidationJobQueue {
+
+  private final ValidationJobJournal journal;
+  private final ValidationAdmission admission;
+  private final FairValidationScheduler scheduler;
+  private final DocumentReferenceService documentReferenceService;
+  private final SimpleStorageService storageService;
+  private final ValidationQueueConfiguration configuration;
+
+  private final String owner =
+      Objects.requireNonNullElseGet(System.getenv("HOSTNAME"), () -> UUID.randomUUID().toString());
+  private final Set<String> leased = ConcurrentHashMap.newKeySet();
+  private volatile boolean running;
+  private ExecutorService workers;
+  private ScheduledExecutorService leaseExecutor;
+
+  /**
+   * Throws if the journal has no room for further jobs. Has to be called before the document is
+   * marked as validating, so that a rejected request does not leave the document behind in that
+   * state.
+   *
+   * @throws IgsAdmissionException with the time until the next job is expected to finish
+   */
+  public void ensureCapacity() {
+    if (!journal.hasCapacity()) {
+      throw new IgsAdmissionException(
+          VALIDATION_QUEUE_FULL,
+          "Validation queue is full, please try again later",
+          admission.estimateRetryAfterSecs());
+    }
+  }
+
+  /**
+   * Journals the given job and queues it for validation. If the job can not be journaled, the
+   * document is reset to not validating, so that the client can request the validation again.
+   *
+   * @param job the job to process
+   */
+  public void submit(ValidationJob job) {
+    try {
+      journal.append(job);
+    } catch (RuntimeException ex) {
+      admission.cancel(job.documentId());
+      resetValidationStatus(job.documentId());
+      throw ex;
+    }
+    lease(job.documentId());
+    scheduler.add(job);
+  }
+
+  /**
+   * @return the number of jobs waiting for a worker
+   */
+  public int size() {
+    return scheduler.size();
+  }
+
+  @EventListener
+  public void handleApplicationReady(ApplicationReadyEvent event) {
+    recover();
+    start();
+    if (configuration.isRecoverFromStorage()) {
+      // the sweep lists the whole upload bucket, so it must not delay the startup
+      leaseExecutor.execute(this::recoverFromStorage);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (workers != null) {
+      workers.shutdownNow();
+    }
+    if (leaseExecutor != null) {
+      leaseExecutor.shutdownNow();
+    }
+  }
+
+  void recover() {
+    int recovered = 0;
+    for (ValidationJob job : journal.readAll()) {
+      if (isStillValidating(job.documentId())) {
+        admission.forceAdmit(job);
+        lease(job.documentId());
+        scheduler.add(job);
+        recovered++;
+      } else {
+        journal.remove(job.documentId());
+      }
+    }
+    if (recovered > 0) {
+      log.info("Recovered {} pending validations from the journal", recovered);
+    }
+  }
+
+  void start() {
+    running = true;
+    leaseExecutor =
+        Executors.newSingleThreadScheduledExecutor(threadFactory("igs-validation-lease-"));
+    long renewal = configuration.getLeaseRenewalSecs();
+    leaseExecutor.scheduleWithFixedDelay(this::renewLeases, renewal, renewal, SECONDS);
+    // the workers never return, so each one needs a thread of its own; a shared pool would queue
+    // the workers beyond its core size and never start them
+    int workerCount = configuration.getMaxConcurrentValidations();
+    workers = Executors.newFixedThreadPool(workerCount, threadFactory("igs-validation-worker-"));
+    for (int i = 0; i < workerCount; i++) {
+      workers.execute(this::work);
+    }
+  }
+
+  private static ThreadFactory threadFactory(String prefix) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  void recoverFromStorage() {
+    AtomicInteger recovered = new AtomicInteger();
+    try {
+      storageService.claimStaleValidations(
+          ofMinutes(configuration.getStaleAfterMinutes()),
+          configuration.getRecoveryPageSize(),
+          documentId -> {
+            if (!leased.contains(documentId)) {
+              resubmit(documentId);
+              recovered.incrementAndGet();
+            }
+          });
+    } catch (Exception ex) {
+      log.warn("Could not search storage for stale validations", ex);
+    }
+    if (recovered.get() > 0) {
+      log.info("Recovered {} abandoned validations from the storage", recovered.get());
+    }
+  }
+
+  private void resubmit(String documentId) {
+    Map<String, String> metaData = storageService.getMetadata(documentId);
+    ValidationJob job =
+        new ValidationJob(
+            documentId,
+            UNKNOWN_SENDER,
+            Boolean.parseBoolean(metaData.get(VALIDATION_FASTA_ONLY)),
+            System.currentTimeMillis(),
+            storageService.getContentLength(documentId));
+    admission.forceAdmit(job);
+    submit(job);
+  }
+
+  private void resetValidationStatus(String documentId) {
+    try {
+      storageService.resetValidationStatus(documentId);
+    } catch (Exception ex) {
+      // the document is picked up by the recovery once its missing lease is considered expired
+      log.error("Could not reset validation status of document {}", documentId, ex);
+    }
+  }
+
+  private void lease(String documentId) {
+    leased.add(documentId);
+    try {
+      storageService.renewLease(documentId, owner);
+    } catch (Exception ex) {
+      // retried with the next renewal
+      log.warn("Could not lease validation of document {}", documentId, ex);
+    }
+  }
+
+  private void renewLeases() {
+    for (String documentId : leased) {
+      try {
+        storageService.renewLease(documentId, owner);
+      } catch (Exception ex) {
+        log.warn("Could not renew lease of document {}", documentId, ex);
+      }
+    }
+  }
+
+  private void releaseLease(String documentId) {
+    leased.remove(documentId);
+    try {
+      storageService.releaseLease(documentId);
+    } catch (Exception ex) {
+      // an orphaned lease only expires, the document is not validating anymore
+      log.debug("Could not release lease of document {}", documentId, ex);
+    }
+  }
+
+  private boolean isStillValidating(String documentId) {
+    try {
+      String status = storageService.getMetadata(documentId).get(VALIDATION_STATUS);
+      return VALIDATING.name().equals(status);
+    } catch (Exception ex) {
+      log.warn("Dropping journaled validation of unknown document {}", documentId);
+      return false;
+    }
+  }
+
+  private void work() {
+    while (running) {
+      ValidationJob job;
+      try {
+        job = scheduler.take();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      process(job);
+    }
+  }
+
+  private void process(ValidationJob job) {
+    long start = System.nanoTime();
+    try {
+      documentReferenceService.validateBinary(job.documentId(), job.fastaOnly());
+    } catch (Exception ex) {
+      // the failure has already been recorded on the document
+      log.debug("Validation of document {} failed", job.documentId());
+    } finally {
+      scheduler.complete(job);
+      admission.release(job.documentId(), Duration.ofNanos(System.nanoTime() - start));
+      // keep the entry if the worker was stopped while validating, so it is replayed on restart
+      if (running) {
+        journal.remove(job.documentId());
+        releaseLease(job.documentId());
+      }
+    }
+  }
+}
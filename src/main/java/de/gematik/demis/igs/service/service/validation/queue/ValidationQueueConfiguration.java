@@ -0,0 +1,66 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** All configuration properties for the validation job queue */
+@Component
+@ConfigurationProperties(prefix = "igs.validation.queue")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValidationQueueConfiguration {
+
+  private String journalDirectory;
+  private long maxJournalSizeInBytes;
+  private int maxConcurrentValidations;
+  private int staleAfterMinutes;
+  private boolean recoverFromStorage;
+  private int leaseRenewalSecs;
+  private int recoveryPageSize;
+  private long maxBytesInFlight;
+  private int maxJobsInFlight;
+  private int minRetryAfterSecs;
+  private int maxRetryAfterSecs;
+  private int maxConcurrentValidationsPerLab;
+  private long schedulingQuantumInBytes;
+  private long smallJobThresholdInBytes;
+  private int reservedFastSlots;
+  private int maxBulkWaitSecs;
+  @Builder.Default private Map<String, Integer> labWeights = new HashMap<>();
+}
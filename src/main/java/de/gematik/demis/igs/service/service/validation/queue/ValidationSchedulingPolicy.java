@@ -0,0 +1,226 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Decides which queued validation is processed next. Not thread safe, access is serialized by the
+ * {@link FairValidationScheduler}.
+ *
+ * <p>Between the sending labs deficit round robin is used: each round a lab earns a quantum of
+ * bytes (times its weight) which it spends on the declared size of its jobs. Within a lab, jobs up
+ * to the small job threshold are kept in a fast lane ordered by size, larger ones in a FIFO bulk
+ * lane. Labs already running their maximum of validations may only start small files. Bulk jobs
+ * may occupy the workers reserved for the fast lane only while no small file is waiting, so a small
+ * file waits for at most one running validation instead of a whole queue of large ones. A bulk job
+ * that has waited longer than the configured maximum is promoted ahead of the fast lane and may
+ * use any worker, so large files are not starved if small files keep arriving.
+ */
+class ValidationSchedulingPolicy {
+
+  private static final Comparator<ValidationJob> SHORTEST_FIRST =
+      Comparator.comparingLong(ValidationJob::sizeInBytes)
+          .thenComparingLong(ValidationJob::submittedAt);
+
+  private final ValidationQueueConfiguration configuration;
+  private final Map<String, Lab> labs = new HashMap<>();
+  private final Deque<Lab> activeLabs = new ArrayDeque<>();
+  private int size;
+  private int runningBulk;
+  private int queuedFast;
+
+  ValidationSchedulingPolicy(ValidationQueueConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  void add(ValidationJob job) {
+    Lab lab = labs.computeIfAbsent(job.sender(), Lab::new);
+    if (isBulk(job)) {
+      lab.bulk.addLast(job);
+    } else {
+      lab.fast.add(job);
+      queuedFast++;
+    }
+    if (lab.queued++ == 0) {
+      activeLabs.addLast(lab);
+    }
+    size++;
+  }
+
+  /**
+   * Picks the next job to process.
+   *
+   * @param now the current time in epoch millis, used for aging of bulk jobs
+   * @return the job or null if no job may be started right now
+   */
+  ValidationJob poll(long now) {
+    ValidationJob[] candidates = new ValidationJob[activeLabs.size()];
+    Lab winner = null;
+    int winnerPosition = -1;
+    long winnerRounds = Long.MAX_VALUE;
+    int position = 0;
+    for (Lab lab : activeLabs) {
+      ValidationJob candidate = candidateOf(lab, now);
+      candidates[position] = candidate;
+      if (candidate != null) {
+        long rounds = roundsUntilAffordable(lab, candidate);
+        if (rounds < winnerRounds) {
+          winner = lab;
+          winnerPosition = position;
+          winnerRounds = rounds;
+        }
+      }
+      position++;
+    }
+    if (winner == null) {
+      return null;
+    }
+    // every lab with a candidate earns a quantum per round, the ones ahead of the winner also in
+    // the round the winner is served in
+    position = 0;
+    for (Lab lab : activeLabs) {
+      if (candidates[position] != null && lab != winner) {
+        long rounds = position < winnerPosition ? winnerRounds + 1 : winnerRounds;
+        lab.deficit += rounds * quantumOf(lab);
+      }
+      position++;
+    }
+    winner.deficit += winnerRounds * quantumOf(winner);
+    for (int i = 0; i < winnerPosition; i++) {
+      activeLabs.addLast(activeLabs.pollFirst());
+    }
+    return dequeue(winner, candidates[winnerPosition]);
+  }
+
+  void complete(ValidationJob job) {
+    Lab lab = labs.get(job.sender());
+    if (lab == null || lab.running == 0) {
+      return;
+    }
+    lab.running--;
+    if (isBulk(job)) {
+      runningBulk--;
+    }
+    if (lab.running == 0 && lab.queued == 0) {
+      labs.remove(lab.sender);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  int queued(String sender) {
+    Lab lab = labs.get(sender);
+    return lab == null ? 0 : lab.queued;
+  }
+
+  int running(String sender) {
+    Lab lab = labs.get(sender);
+    return lab == null ? 0 : lab.running;
+  }
+
+  /**
+   * @return the number of labs with queued or running jobs
+   */
+  int labs() {
+    return labs.size();
+  }
+
+  private ValidationJob candidateOf(Lab lab, long now) {
+    boolean atCap = lab.running >= configuration.getMaxConcurrentValidationsPerLab();
+    ValidationJob oldestBulk = atCap ? null : lab.bulk.peekFirst();
+    if (oldestBulk != null
+        && now - oldestBulk.submittedAt() >= configuration.getMaxBulkWaitSecs() * 1000L) {
+      return oldestBulk;
+    }
+    // small files are cheap enough to not count against the cap of their lab
+    if (!lab.fast.isEmpty()) {
+      return lab.fast.peek();
+    }
+    if (oldestBulk != null && (runningBulk < bulkSlots() || queuedFast == 0)) {
+      return oldestBulk;
+    }
+    return null;
+  }
+
+  private ValidationJob dequeue(Lab lab, ValidationJob job) {
+    if (lab.fast.peek() == job) {
+      lab.fast.poll();
+      queuedFast--;
+    } else {
+      lab.bulk.pollFirst();
+      runningBulk++;
+    }
+    lab.deficit -= job.sizeInBytes();
+    lab.queued--;
+    lab.running++;
+    size--;
+    if (lab.queued == 0) {
+      lab.deficit = 0;
+      activeLabs.remove(lab);
+    }
+    return job;
+  }
+
+  private boolean isBulk(ValidationJob job) {
+    return job.sizeInBytes() > configuration.getSmallJobThresholdInBytes();
+  }
+
+  private int bulkSlots() {
+    return Math.max(
+        1, configuration.getMaxConcurrentValidations() - configuration.getReservedFastSlots());
+  }
+
+  private long roundsUntilAffordable(Lab lab, ValidationJob job) {
+    long missing = job.sizeInBytes() - lab.deficit;
+    return missing <= 0 ? 0 : Math.ceilDiv(missing, quantumOf(lab));
+  }
+
+  private long quantumOf(Lab lab) {
+    int weight = configuration.getLabWeights().getOrDefault(lab.sender, 1);
+    return Math.max(1, Math.max(1, weight) * configuration.getSchedulingQuantumInBytes());
+  }
+
+  @RequiredArgsConstructor
+  private static class Lab {
+
+    private final String sender;
+    private final PriorityQueue<ValidationJob> fast = new PriorityQueue<>(SHORTEST_FIRST);
+    private final Deque<ValidationJob> bulk = new ArrayDeque<>();
+    private long deficit;
+    private int queued;
+    private int running;
+  }
+}
@@ -0,0 +1,74 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+/**
+ * An immutable set of single byte characters, used to check lines of a document without decoding
+ * them to chars and matching them with a regular expression.
+ */
+public final class AsciiCharSet {
+
+  private final boolean[] members;
+
+  private AsciiCharSet(boolean[] members) {
+    this.members = members;
+  }
+
+  /** Creates the set of the given characters. */
+  public static AsciiCharSet of(String chars) {
+    return new AsciiCharSet(new boolean[256]).union(chars);
+  }
+
+  /** Creates the set of all characters from {@code first} to {@code last}, both inclusive. */
+  public static AsciiCharSet range(char first, char last) {
+    boolean[] members = new boolean[256];
+    for (char c = first; c <= last; c++) {
+      members[checked(c)] = true;
+    }
+    return new AsciiCharSet(members);
+  }
+
+  /** Returns a new set containing the characters of this set and the given ones. */
+  public AsciiCharSet union(String chars) {
+    boolean[] union = members.clone();
+    for (char c : chars.toCharArray()) {
+      union[checked(c)] = true;
+    }
+    return new AsciiCharSet(union);
+  }
+
+  public boolean contains(byte b) {
+    return members[b & 0xFF];
+  }
+
+  private static int checked(char c) {
+    if (c > 0x7F) {
+      throw new IllegalArgumentException("Not an ASCII character: " + c);
+    }
+    return c;
+  }
+}
@@ -0,0 +1,120 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.util.Arrays;
+
+/**
+ * A line of a document kept as raw bytes, filled by an {@link AsciiLineReader}. The instance is
+ * reused for the next line, so its content is only valid until it is read into again.
+ */
+public final class AsciiLine {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private byte[] bytes = new byte[INITIAL_CAPACITY];
+  private int length;
+
+  /** Creates a line with the given content, mainly for tests. */
+  public static AsciiLine of(String content) {
+    AsciiLine line = new AsciiLine();
+    byte[] value = content.getBytes(ISO_8859_1);
+    line.append(value, 0, value.length);
+    return line;
+  }
+
+  void clear() {
+    length = 0;
+  }
+
+  void append(byte[] source, int offset, int count) {
+    if (length + count > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+    }
+    System.arraycopy(source, offset, bytes, length, count);
+    length += count;
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public boolean isEmpty() {
+    return length == 0;
+  }
+
+  /**
+   * Returns the first byte of the line.
+   *
+   * @return the first byte as an unsigned value or -1 if the line is empty
+   */
+  public int firstByte() {
+    return length == 0 ? -1 : bytes[0] & 0xFF;
+  }
+
+  public boolean startsWith(char c) {
+    return firstByte() == c;
+  }
+
+  /**
+   * Checks whether the line is not empty and consists of the given characters only, the
+   * counterpart of matching the pattern {@code [chars]+}.
+   */
+  public boolean consistsOf(AsciiCharSet chars) {
+    if (length == 0) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (!chars.contains(bytes[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Counts the occurrences of the given character in the line. */
+  public long count(char c) {
+    long count = 0;
+    for (int i = 0; i < length; i++) {
+      if (bytes[i] == c) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the line as String. Every byte is mapped to exactly one char, so bytes outside of
+   * ASCII stay distinguishable from valid characters.
+   */
+  @Override
+  public String toString() {
+    return new String(bytes, 0, length, ISO_8859_1);
+  }
+}
@@ -0,0 +1,155 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.utils.StreamUtils.BYTE_BUFFER_SIZE;
+
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads the lines of a byte stream without decoding them to chars, for documents which are valid
+ * only if they consist of ASCII anyway. Like {@link java.io.BufferedReader#readLine()} a line is
+ * terminated by {@code \n}, {@code \r} or {@code \r\n}, and a terminator at the end of the stream
+ * does not start another line. The stream is not closed by the reader. Not thread safe.
+ *
+ * <p>The number of lines read so far is handed to an optional listener whenever the buffer is
+ * refilled, so the progress can be followed without a call per line.
+ *
+ * <p>The buffer can be leased from the {@link BufferPool}, closing the reader then returns it.
+ */
+public class AsciiLineReader implements AutoCloseable {
+
+  private final InputStream in;
+  private final byte[] buffer;
+  private final BufferPool.Lease<byte[]> lease;
+  private final LongConsumer progress;
+  private int position;
+  private int limit;
+  private boolean skipLineFeed;
+  private long lines;
+
+  public AsciiLineReader(InputStream in) {
+    this(in, BYTE_BUFFER_SIZE);
+  }
+
+  public AsciiLineReader(InputStream in, LongConsumer progress) {
+    this(in, BYTE_BUFFER_SIZE, progress);
+  }
+
+  public AsciiLineReader(InputStream in, int bufferSize) {
+    this(in, bufferSize, count -> {});
+  }
+
+  public AsciiLineReader(InputStream in, int bufferSize, LongConsumer progress) {
+    this(in, new byte[bufferSize], null, progress);
+  }
+
+  /**
+   * @param in the stream to read
+   * @param lease the buffer to read into, returned to the pool on {@link #close()}
+   * @param progress listener for the number of lines read so far
+   */
+  public AsciiLineReader(InputStream in, BufferPool.Lease<byte[]> lease, LongConsumer progress) {
+    this(in, lease.get(), lease, progress);
+  }
+
+  private AsciiLineReader(
+      InputStream in, byte[] buffer, BufferPool.Lease<byte[]> lease, LongConsumer progress) {
+    this.in = in;
+    this.buffer = buffer;
+    this.lease = lease;
+    this.progress = progress;
+  }
+
+  /**
+   * Reads the next line into the given line, without its terminator.
+   *
+   * @param line the line to overwrite with the content of the next line
+   * @return false if the end of the stream has been reached before another line
+   * @throws IOException if reading from the stream fails
+   */
+  public boolean readLine(AsciiLine line) throws IOException {
+    line.clear();
+    boolean found = false;
+    while (position < limit || fill()) {
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (buffer[position] == '\n') {
+          position++;
+          continue;
+        }
+      }
+      found = true;
+      int start = position;
+      while (position < limit) {
+        byte b = buffer[position];
+        if (b == '\n' || b == '\r') {
+          line.append(buffer, start, position - start);
+          position++;
+          skipLineFeed = b == '\r';
+          lines++;
+          return true;
+        }
+        position++;
+      }
+      line.append(buffer, start, position - start);
+    }
+    if (found) {
+      lines++;
+    }
+    return found;
+  }
+
+  /**
+   * @return the number of lines read so far
+   */
+  public long lines() {
+    return lines;
+  }
+
+  /** Returns the leased buffer, if any. The stream is left open. */
+  @Override
+  public void close() {
+    if (lease != null) {
+      lease.close();
+    }
+  }
+
+  private boolean fill() throws IOException {
+    progress.accept(lines);
+    int read;
+    do {
+      read = in.read(buffer, 0, buffer.length);
+    } while (read == 0);
+    position = 0;
+    limit = Math.max(read, 0);
+    return read > 0;
+  }
+}
@@ -42,6 +42,8 @@ public class Constants {
   public static final String UPLOAD_STATUS = "upload-status";
   public static final String UPLOAD_STATUS_DONE = "done";
   public static final String VALIDATION_DESCRIPTION = "validation-description";
+  public static final String VALIDATION_FASTA_ONLY = "validation-fasta-only";
+  public static final String VALIDATION_OWNER = "validation-owner";
   public static final String HASH_METADATA_NAME = "hash";
 
   public static final String HASH_ALGORITHM = "SHA-256";
@@ -0,0 +1,61 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.INVALID_SENDER;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import java.util.Set;
+
+/**
+ * The claims of a JWT token needed by the service
+ *
+ * @param roles the realm roles of the token
+ * @param sender the preferred username or the subject if the former is missing, blank if both are
+ * @param expiresAt the exp claim in epoch seconds, 0 if the token has none
+ */
+public record JwtClaims(Set<String> roles, String sender, long expiresAt) {
+
+  /**
+   * @param role the role to check
+   * @return whether the token contains the role
+   */
+  public boolean hasRole(String role) {
+    return roles.contains(role);
+  }
+
+  /**
+   * @return the sender of the token
+   * @throws IgsServiceException with {@code INVALID_SENDER} if the token has no sender
+   */
+  public String requireSender() {
+    if (sender.isBlank()) {
+      throw new IgsServiceException(INVALID_SENDER, "Token invalid");
+    }
+    return sender;
+  }
+}
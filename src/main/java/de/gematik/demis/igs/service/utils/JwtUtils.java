@@ -34,36 +34,48 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
 import lombok.NoArgsConstructor;
 
-/** Static utility class for checking roles in a JWT token */
+/**
+ * Static utility class for reading the claims of a JWT token. The token is decoded on every call,
+ * use the {@link de.gematik.demis.igs.service.service.JwtClaimsCache} for tokens used repeatedly.
+ */
 @NoArgsConstructor(access = PRIVATE)
 public class JwtUtils {
 
   private static ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Check if a token contains a specific role
+   * Decodes the payload of a token once and extracts all claims needed by the service
    *
-   * @param token
-   * @param role
-   * @return
+   * @param token the token, optionally prefixed with "Bearer "
+   * @return the claims of the token
    */
-  public static boolean hasRole(String token, String role) {
+  public static JwtClaims readClaims(String token) {
+    JsonNode payload = readPayload(token);
+    Set<String> roles = new HashSet<>();
+    JsonNode rolesNode = payload.path("realm_access").path("roles");
+    if (rolesNode.isArray()) {
+      for (JsonNode node : rolesNode) {
+        roles.add(node.asText());
+      }
+    }
+    String sender = payload.path("preferred_username").asText("");
+    if (sender.isBlank()) {
+      sender = payload.path("sub").asText("");
+    }
+    return new JwtClaims(Set.copyOf(roles), sender, payload.path("exp").asLong(0));
+  }
+
+  private static JsonNode readPayload(String token) {
     try {
       if (token.startsWith("Bearer ")) {
         token = token.substring(7);
       }
       String payload = new String(Base64.getDecoder().decode(token.split("\\.")[1]));
-      JsonNode jsonNode = objectMapper.readTree(payload).path("realm_access").path("roles");
-      if (jsonNode.isArray()) {
-        for (JsonNode node : jsonNode) {
-          if (node.asText().equals(role)) {
-            return true;
-          }
-        }
-      }
-      return false;
+      return objectMapper.readTree(payload);
     } catch (IndexOutOfBoundsException | JsonProcessingException e) {
       throw new IgsServiceException(INVALID_SENDER, "Token invalid");
     }
@@ -0,0 +1,306 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Pipe between exactly one producer and one consumer thread over a ring buffer of fixed capacity.
+ * Used instead of {@link java.io.PipedInputStream}, which has a buffer of 1 KiB and lets a waiting
+ * thread notice new data or space only once per second.
+ *
+ * <p>Each side only advances its own position counter, so no locks are needed. A side that has to
+ * wait parks itself and is unparked by the other side once it has read or written data, or closed
+ * its end. Interrupting a waiting side fails its operation with an {@link InterruptedIOException}.
+ *
+ * <p>Once both ends are closed and no read or write is in progress anymore, the {@link Statistics}
+ * of the pipe are handed to the given listener, which may then reuse the buffer. An end may be
+ * closed by another thread, e.g. on cancellation, so every access to the buffer holds a reference
+ * to it. A producer waiting for space means the consumer is the bottleneck, a consumer waiting for
+ * data means the producer is.
+ */
+public class RingBufferPipe {
+
+  private final ByteBuffer buffer;
+  private final int capacity;
+  private final Consumer<Statistics> onClose;
+  private final AtomicBoolean sinkClosed = new AtomicBoolean();
+  private final AtomicBoolean sourceClosed = new AtomicBoolean();
+  // one reference per open end and per read or write in progress
+  private final AtomicInteger references = new AtomicInteger(2);
+  private final Source source = new Source();
+  private final Sink sink = new Sink();
+
+  // written only by the producer, respectively the consumer
+  private volatile long written;
+  private volatile long read;
+  private volatile Thread waitingProducer;
+  private volatile Thread waitingConsumer;
+  private volatile long producerWaitNanos;
+  private volatile long consumerWaitNanos;
+  // read by the thread releasing the last reference, which need not be the consumer
+  private volatile long fillSum;
+  private volatile long fillSamples;
+
+  /**
+   * @param capacity the number of bytes the pipe can hold
+   * @param onClose receives the statistics once both ends are closed
+   */
+  public RingBufferPipe(int capacity, Consumer<Statistics> onClose) {
+    this(ByteBuffer.allocateDirect(capacity), onClose);
+  }
+
+  /**
+   * @param buffer the buffer to use, its whole capacity is used regardless of position and limit
+   * @param onClose receives the statistics once the buffer is not used anymore
+   */
+  public RingBufferPipe(ByteBuffer buffer, Consumer<Statistics> onClose) {
+    if (buffer.capacity() <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.buffer = buffer.clear();
+    this.capacity = buffer.capacity();
+    this.onClose = onClose;
+  }
+
+  /**
+   * @return the end to read from, to be used by the consumer thread only
+   */
+  public InputStream source() {
+    return source;
+  }
+
+  /**
+   * @return the end to write to, to be used by the producer thread only
+   */
+  public OutputStream sink() {
+    return sink;
+  }
+
+  /**
+   * @return the number of bytes written but not read yet
+   */
+  public int size() {
+    return (int) (written - read);
+  }
+
+  /**
+   * @return the number of bytes the pipe can hold
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  private int awaitSpace() throws IOException {
+    while (true) {
+      if (sinkClosed.get() || sourceClosed.get()) {
+        throw new IOException("Pipe closed");
+      }
+      int free = capacity - size();
+      if (free > 0) {
+        return free;
+      }
+      long start = System.nanoTime();
+      waitingProducer = Thread.currentThread();
+      // check again after announcing, the consumer may have read in between
+      if (size() == capacity && !sourceClosed.get()) {
+        LockSupport.park(this);
+      }
+      waitingProducer = null;
+      producerWaitNanos += System.nanoTime() - start;
+      checkInterrupted();
+    }
+  }
+
+  private int awaitData() throws IOException {
+    while (true) {
+      if (sourceClosed.get()) {
+        throw new IOException("Pipe closed");
+      }
+      // read the flag first: everything written before closing is visible then
+      boolean endOfData = sinkClosed.get();
+      int available = size();
+      if (available > 0) {
+        return available;
+      }
+      if (endOfData) {
+        return -1;
+      }
+      long start = System.nanoTime();
+      waitingConsumer = Thread.currentThread();
+      if (size() == 0 && !sinkClosed.get()) {
+        LockSupport.park(this);
+      }
+      waitingConsumer = null;
+      consumerWaitNanos += System.nanoTime() - start;
+      checkInterrupted();
+    }
+  }
+
+  private static void checkInterrupted() throws InterruptedIOException {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new InterruptedIOException("Interrupted while waiting on pipe");
+    }
+  }
+
+  private static void unpark(Thread thread) {
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  private void retain() throws IOException {
+    int current;
+    do {
+      current = references.get();
+      if (current == 0) {
+        throw new IOException("Pipe closed");
+      }
+    } while (!references.compareAndSet(current, current + 1));
+  }
+
+  private void release() {
+    if (references.decrementAndGet() == 0 && onClose != null) {
+      double meanFill = fillSamples == 0 ? 0 : (double) fillSum / fillSamples / capacity;
+      onClose.accept(new Statistics(producerWaitNanos, consumerWaitNanos, meanFill));
+    }
+  }
+
+  /**
+   * Statistics of a closed pipe.
+   *
+   * @param producerWaitNanos time the producer waited for free space
+   * @param consumerWaitNanos time the consumer waited for data
+   * @param meanFillRatio mean share of the capacity filled when the consumer read
+   */
+  public record Statistics(long producerWaitNanos, long consumerWaitNanos, double meanFillRatio) {}
+
+  private class Source extends InputStream {
+
+    private final byte[] single = new byte[1];
+
+    @Override
+    public int read() throws IOException {
+      return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      Objects.checkFromIndexSize(off, len, b.length);
+      if (len == 0) {
+        return 0;
+      }
+      int available = awaitData();
+      if (available < 0) {
+        return -1;
+      }
+      fillSum += available;
+      fillSamples++;
+      int n = Math.min(len, available);
+      int index = (int) (read % capacity);
+      int first = Math.min(n, capacity - index);
+      retain();
+      try {
+        buffer.get(index, b, off, first);
+        if (first < n) {
+          buffer.get(0, b, off + first, n - first);
+        }
+      } finally {
+        release();
+      }
+      read += n;
+      unpark(waitingProducer);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return size();
+    }
+
+    @Override
+    public void close() {
+      if (sourceClosed.compareAndSet(false, true)) {
+        unpark(waitingProducer);
+        unpark(waitingConsumer);
+        release();
+      }
+    }
+  }
+
+  private class Sink extends OutputStream {
+
+    private final byte[] single = new byte[1];
+
+    @Override
+    public void write(int b) throws IOException {
+      single[0] = (byte) b;
+      write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      Objects.checkFromIndexSize(off, len, b.length);
+      while (len > 0) {
+        int n = Math.min(len, awaitSpace());
+        int index = (int) (written % capacity);
+        int first = Math.min(n, capacity - index);
+        retain();
+        try {
+          buffer.put(index, b, off, first);
+          if (first < n) {
+            buffer.put(0, b, off + first, n - first);
+          }
+        } finally {
+          release();
+        }
+        written += n;
+        unpark(waitingConsumer);
+        off += n;
+        len -= n;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (sinkClosed.compareAndSet(false, true)) {
+        unpark(waitingConsumer);
+        unpark(waitingProducer);
+        release();
+      }
+    }
+  }
+}
@@ -37,7 +37,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = PRIVATE)
 public class StreamUtils {
 
-  public static final int BYTE_BUFFER_SIZE = 256;
+  public static final int BYTE_BUFFER_SIZE = 64 * 1024;
 
   /**
    * Reads all bytes from the input stream and writes them to the output stream.
@@ -52,7 +52,21 @@ public class StreamUtils {
    * @throws IOException if an I/O error occurs during reading or writing.
    */
   public static void writeInputToOutput(InputStream in, OutputStream out) throws IOException {
-    byte[] buffer = new byte[BYTE_BUFFER_SIZE];
+    writeInputToOutput(in, out, new byte[BYTE_BUFFER_SIZE]);
+  }
+
+  /**
+   * Reads all bytes from the input stream and writes them to the output stream using the given
+   * buffer, e.g. one leased from a pool. Both streams are closed after the copy operation
+   * completes.
+   *
+   * @param in the InputStream to read from.
+   * @param out the OutputStream to write to.
+   * @param buffer the buffer to copy through
+   * @throws IOException if an I/O error occurs during reading or writing.
+   */
+  public static void writeInputToOutput(InputStream in, OutputStream out, byte[] buffer)
+      throws IOException {
     int bytesRead;
     while ((bytesRead = in.read(buffer)) != -1) {
       out.write(buffer, 0, bytesRead);
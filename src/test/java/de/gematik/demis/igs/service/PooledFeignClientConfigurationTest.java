@@ -0,0 +1,78 @@
+package de.gematik.demis.igs.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+
+class PooledFeignClientConfigurationTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final PooledFeignClientConfiguration underTest = new PooledFeignClientConfiguration();
+
+  @Test
+  @SneakyThrows
+  void shouldReportPoolOfClient() {
+    HttpClientConfig config =
+        HttpClientConfig.builder()
+            .clients(
+                Map.of(
+                    "validation-service",
+                    HttpClientConfig.Pool.builder().maxConnections(7).build()))
+            .build();
+    try (CloseableHttpClient client =
+        underTest.pooledHttpClient("validation-service", config, registry)) {
+      assertThat(
+              registry
+                  .get("httpcomponents.httpclient.pool.total.max")
+                  .tag("httpclient", "validation-service")
+                  .gauge()
+                  .value())
+          .isEqualTo(7);
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldUseDefaultPoolForUnknownClient() {
+    HttpClientConfig config = HttpClientConfig.builder().build();
+    try (CloseableHttpClient client = underTest.pooledHttpClient("other", config, registry)) {
+      assertThat(
+              registry
+                  .get("httpcomponents.httpclient.pool.total.max")
+                  .tag("httpclient", "other")
+                  .gauge()
+                  .value())
+          .isEqualTo(new HttpClientConfig.Pool().getMaxConnections());
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package de.gematik.demis.igs.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.demis.igs.service.ThreadConfig.Pool;
+import org.junit.jupiter.api.Test;
+
+class ThreadConfigTest {
+
+  private final Pool orchestration =
+      Pool.builder()
+          .corePoolSize(10)
+          .maxPoolSize(20)
+          .queueCapacity(100)
+          .threadNamePrefix("IGS-")
+          .build();
+
+  @Test
+  void shouldUseOrchestrationPoolIfDeprecatedKeysAreNotSet() {
+    ThreadConfig config = ThreadConfig.builder().orchestration(orchestration).build();
+
+    assertThat(config.orchestrationPool()).isSameAs(orchestration);
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void shouldApplyDeprecatedKeysToOrchestrationPool() {
+    ThreadConfig config =
+        ThreadConfig.builder().orchestration(orchestration).corePoolSize(4).build();
+
+    Pool pool = config.orchestrationPool();
+
+    assertThat(pool.getCorePoolSize()).isEqualTo(4);
+    assertThat(pool.getMaxPoolSize()).isEqualTo(20);
+    assertThat(pool.getQueueCapacity()).isEqualTo(100);
+    assertThat(pool.getThreadNamePrefix()).isEqualTo("IGS-");
+  }
+}
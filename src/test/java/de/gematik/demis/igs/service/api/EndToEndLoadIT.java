@@ -0,0 +1,612 @@
+package de.gematik.demis.igs.service.api;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static de.gematik.demis.igs.service.api.DocumentReferenceController.FHIR_DOCUMENT_REFERENCE_BASE;
+import static de.gematik.demis.igs.service.api.NotificationController.FHIR_BUNDLE_BASE;
+import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_FINISH_UPLOAD;
+import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_INFO;
+import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_VALIDATE;
+import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_VALIDATION_STATUS;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.INFORMATION;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
+import static util.BaseUtil.PATH_TO_IGS_NOTIFICATION;
+import static util.BaseUtil.PROVENANCE_RESOURCE;
+import static util.BaseUtil.TOKEN_NRZ;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import de.gematik.demis.igs.service.api.model.CompletedChunk;
+import de.gematik.demis.igs.service.api.model.MultipartUploadComplete;
+import de.gematik.demis.igs.service.api.model.S3Info;
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.HttpWaitStrategy;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import util.BaseUtil;
+import util.SequenceCorpusGenerator;
+import util.SequenceCorpusGenerator.Compression;
+import util.SequenceCorpusGenerator.Format;
+
+/**
+ * Load harness for the whole service. Clients run the upload of a sequence document (create
+ * DocumentReference, s3-upload-info, upload of the parts, $finish-upload, $validate and polling of
+ * $validation-status) and the $process-notification-sequence flow concurrently against the service
+ * on a random port. MinIO runs in a container, the validation service, the CES and the FSW are
+ * WireMock stand-ins answering after a configurable latency.
+ *
+ * <p>Skipped unless {@code igs.load.enabled=true}. The load is configured by system properties, see
+ * {@link LoadProfile}. After the run the throughput of both flows and count, error rate and
+ * p50/p95/p99 latency of every step are logged; requests started during the warmup are not
+ * counted.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest(
+    webEnvironment = RANDOM_PORT,
+    properties = {"igs.demis.external-url=https://ingress.local"})
+@EnabledIfSystemProperty(named = "igs.load.enabled", matches = "true")
+class EndToEndLoadIT {
+
+  private static final String MINIO_ROOT_USER = "MY_ACCESS_KEY";
+  private static final String MINIO_ROOT_PASSWORD = "VERY_VERY_SECURE_PASSWORD";
+  // the DocumentReferences the notification points to
+  private static final List<String> NOTIFICATION_DOCUMENT_IDS =
+      List.of("ecd3f1f0-b6b6-46e0-b721-2d9869ab8195", "fde4g2g1-b6b6-46e0-b721-2d9869ab8195");
+  private static final String DOCUMENT_FLOW = "document";
+  private static final String NOTIFICATION_FLOW = "notification";
+
+  private static final LoadProfile profile = LoadProfile.fromSystemProperties();
+
+  @Container
+  private static final GenericContainer<?> minioContainer =
+      new GenericContainer<>("minio/minio")
+          .withExposedPorts(9000)
+          .withEnv("MINIO_ROOT_USER", MINIO_ROOT_USER)
+          .withEnv("MINIO_ROOT_PASSWORD", MINIO_ROOT_PASSWORD)
+          .waitingFor(new HttpWaitStrategy().forPath("/minio/health/live"))
+          .withCommand("server /mnt/data");
+
+  private static final WireMockServer validationService = startStandIn();
+  private static final WireMockServer contextEnrichmentService = startStandIn();
+  private static final WireMockServer fhirStorageWriter = startStandIn();
+
+  private final BaseUtil testUtil = new BaseUtil();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(10))
+          .build();
+  private final Measurements measurements = new Measurements();
+
+  @LocalServerPort private int port;
+
+  @Value("${igs.context-path}")
+  private String contextPath;
+
+  @Value("${igs.fhir-storage-writer.context-path}")
+  private String fhirStorageWriterPath;
+
+  @Autowired private SimpleStorageService storageService;
+
+  @DynamicPropertySource
+  static void standInProperties(DynamicPropertyRegistry registry) {
+    String storageUrl =
+        "http://" + minioContainer.getHost() + ":" + minioContainer.getFirstMappedPort();
+    registry.add("simple.storage.service.url", () -> storageUrl);
+    registry.add("simple.storage.service.cluster-url", () -> storageUrl);
+    registry.add("simple.storage.service.access-key", () -> MINIO_ROOT_USER);
+    registry.add("simple.storage.service.secret-key", () -> MINIO_ROOT_PASSWORD);
+    registry.add("igs.validation.url", validationService::baseUrl);
+    registry.add("igs.ces.url", contextEnrichmentService::baseUrl);
+    registry.add("igs.fhir-storage-writer.url", fhirStorageWriter::baseUrl);
+  }
+
+  private static WireMockServer startStandIn() {
+    WireMockServer server =
+        new WireMockServer(
+            wireMockConfig().dynamicPort().containerThreads(200).disableRequestJournal());
+    server.start();
+    return server;
+  }
+
+  @AfterAll
+  static void stopStandIns() {
+    validationService.stop();
+    contextEnrichmentService.stop();
+    fhirStorageWriter.stop();
+  }
+
+  @BeforeEach
+  @SneakyThrows
+  void setUp() {
+    String outcome =
+        new String(
+            testUtil.createOutcomeResponse(INFORMATION).body().asInputStream().readAllBytes(),
+            UTF_8);
+    validationService.stubFor(
+        post(urlPathEqualTo("/$validate"))
+            .willReturn(delayed(okJson(outcome), profile.validationServiceLatencyMillis())));
+    contextEnrichmentService.stubFor(
+        post(urlPathEqualTo("/enrichment"))
+            .willReturn(
+                delayed(
+                    okJson(testUtil.readFileToString(PROVENANCE_RESOURCE)),
+                    profile.contextEnrichmentServiceLatencyMillis())));
+    fhirStorageWriter.stubFor(
+        post(urlPathEqualTo(fhirStorageWriterPath))
+            .willReturn(delayed(ok(), profile.fhirStorageWriterLatencyMillis())));
+    for (String documentId : NOTIFICATION_DOCUMENT_IDS) {
+      storageService.putBlob(
+          documentId, testUtil.determineMetadataForValid(), InputStream.nullInputStream());
+    }
+  }
+
+  private static ResponseDefinitionBuilder delayed(
+      ResponseDefinitionBuilder response, int latencyMillis) {
+    if (profile.latencySigma() > 0) {
+      return response.withLogNormalRandomDelay(latencyMillis, profile.latencySigma());
+    }
+    return response.withFixedDelay(latencyMillis);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldSustainConfiguredLoad() {
+    Document document = Document.generate(profile, testUtil);
+    String notification = testUtil.readFileToString(PATH_TO_IGS_NOTIFICATION);
+    long measuredFrom = System.nanoTime() + profile.warmup().toNanos();
+    long end = measuredFrom + profile.duration().toNanos();
+    measurements.startAt(measuredFrom);
+
+    ExecutorService clients =
+        Executors.newFixedThreadPool(profile.documentClients() + profile.notificationClients());
+    for (int i = 0; i < profile.documentClients(); i++) {
+      clients.execute(() -> repeatUntil(end, DOCUMENT_FLOW, () -> uploadAndValidate(document)));
+    }
+    for (int i = 0; i < profile.notificationClients(); i++) {
+      clients.execute(
+          () -> repeatUntil(end, NOTIFICATION_FLOW, () -> processNotification(notification)));
+    }
+    clients.shutdown();
+    Duration timeout = profile.warmup().plus(profile.duration()).plus(profile.validationTimeout());
+    assertThat(clients.awaitTermination(timeout.toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+    log.info("\n{}", measurements.report(profile, List.of(DOCUMENT_FLOW, NOTIFICATION_FLOW)));
+    assertThat(measurements.successes(DOCUMENT_FLOW)).isPositive();
+    assertThat(measurements.successes(NOTIFICATION_FLOW)).isPositive();
+    assertThat(measurements.errorRate(DOCUMENT_FLOW)).isLessThanOrEqualTo(profile.maxErrorRate());
+    assertThat(measurements.errorRate(NOTIFICATION_FLOW))
+        .isLessThanOrEqualTo(profile.maxErrorRate());
+  }
+
+  private void repeatUntil(long end, String flow, Callable<?> iteration) {
+    while (System.nanoTime() < end) {
+      try {
+        measurements.measure(flow, iteration);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.debug("{} failed", flow, e);
+      }
+    }
+  }
+
+  private Void uploadAndValidate(Document document) throws Exception {
+    String documentId =
+        measurements.measure("create DocumentReference", () -> createDocumentReference(document));
+    S3Info s3Info =
+        measurements.measure("s3-upload-info", () -> determineUploadInfo(documentId, document));
+    List<CompletedChunk> chunks = new ArrayList<>();
+    for (int i = 0; i < s3Info.presignedUrls().size(); i++) {
+      int partNumber = i + 1;
+      String url = s3Info.presignedUrls().get(i);
+      chunks.add(
+          measurements.measure(
+              "upload part", () -> uploadPart(url, partNumber, s3Info.partSizeBytes(), document)));
+    }
+    measurements.measure(
+        "$finish-upload",
+        () -> finishUpload(documentId, new MultipartUploadComplete(s3Info.uploadId(), chunks)));
+    measurements.measure("$validate", () -> startValidation(documentId));
+    measurements.measure("validation", () -> awaitValidation(documentId));
+    return null;
+  }
+
+  private String createDocumentReference(Document document) throws Exception {
+    HttpResponse<String> response =
+        send(
+            request(contextPath + FHIR_DOCUMENT_REFERENCE_BASE)
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(BodyPublishers.ofString(document.documentReference())),
+            201);
+    String location = response.headers().firstValue(LOCATION).orElseThrow();
+    return location.substring(location.lastIndexOf('/') + 1);
+  }
+
+  private S3Info determineUploadInfo(String documentId, Document document) throws Exception {
+    String path =
+        S3_UPLOAD_INFO.replace("{documentId}", documentId)
+            + "?fileSize="
+            + document.content().length;
+    HttpResponse<String> response = send(request(path).GET(), 200);
+    return objectMapper.readValue(response.body(), S3Info.class);
+  }
+
+  private CompletedChunk uploadPart(String url, int partNumber, long partSize, Document document)
+      throws Exception {
+    int offset = (int) ((partNumber - 1) * partSize);
+    int length = (int) Math.min(partSize, document.content().length - offset);
+    BodyPublisher part = BodyPublishers.ofByteArray(document.content(), offset, length);
+    HttpResponse<String> response =
+        send(
+            HttpRequest.newBuilder(URI.create(url))
+                .header(CONTENT_TYPE, APPLICATION_OCTET_STREAM_VALUE)
+                .PUT(part),
+            200);
+    return new CompletedChunk(partNumber, response.headers().firstValue(ETAG).orElseThrow());
+  }
+
+  private Void finishUpload(String documentId, MultipartUploadComplete complete)
+      throws Exception {
+    send(
+        request(S3_UPLOAD_FINISH_UPLOAD.replace("{documentId}", documentId))
+            .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+            .POST(BodyPublishers.ofString(objectMapper.writeValueAsString(complete))),
+        204);
+    return null;
+  }
+
+  private Void startValidation(String documentId) throws Exception {
+    send(
+        request(S3_UPLOAD_VALIDATE.replace("{documentId}", documentId))
+            .header(AUTHORIZATION, TOKEN_NRZ)
+            .POST(BodyPublishers.noBody()),
+        204);
+    return null;
+  }
+
+  private Void awaitValidation(String documentId) throws Exception {
+    long deadline = System.nanoTime() + profile.validationTimeout().toNanos();
+    while (System.nanoTime() < deadline) {
+      Thread.sleep(profile.pollInterval());
+      HttpResponse<String> response =
+          measurements.measure(
+              "$validation-status",
+              () ->
+                  send(
+                      request(S3_UPLOAD_VALIDATION_STATUS.replace("{documentId}", documentId))
+                          .GET(),
+                      200));
+      String status = objectMapper.readTree(response.body()).path("status").asText();
+      if (VALID.name().equals(status)) {
+        return null;
+      }
+      if (!status.isEmpty() && ValidationStatus.valueOf(status).isProcceeded()) {
+        throw new LoadStepException(status);
+      }
+    }
+    throw new LoadStepException("timeout");
+  }
+
+  private Void processNotification(String notification) throws Exception {
+    send(
+        request(contextPath + FHIR_BUNDLE_BASE)
+            .header(CONTENT_TYPE, APPLICATION_XML_VALUE)
+            .header(ACCEPT, APPLICATION_JSON.toString())
+            .header(AUTHORIZATION, TOKEN_NRZ)
+            .POST(BodyPublishers.ofString(notification)),
+        200);
+    return null;
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request, int expectedStatus)
+      throws Exception {
+    HttpResponse<String> response = httpClient.send(request.build(), BodyHandlers.ofString());
+    if (response.statusCode() != expectedStatus) {
+      throw new LoadStepException("HTTP " + response.statusCode());
+    }
+    return response;
+  }
+
+  /**
+   * Settings of a load run, read from the system properties {@code igs.load.<name>}.
+   *
+   * @param warmup {@code warmup-secs}, time in which requests are sent but not counted
+   * @param duration {@code duration-secs}, time in which requests are counted
+   * @param documentClients {@code document-clients}, clients uploading and validating documents
+   * @param notificationClients {@code notification-clients}, clients sending notifications
+   * @param format {@code format}, format of the uploaded document
+   * @param compression {@code compression}, compression of the uploaded document
+   * @param documentSizeInBytes {@code document-size-in-bytes}, size of the plain document
+   * @param validationServiceLatencyMillis {@code vs-latency-millis}, latency of the validation
+   *     service
+   * @param contextEnrichmentServiceLatencyMillis {@code ces-latency-millis}, latency of the CES
+   * @param fhirStorageWriterLatencyMillis {@code fsw-latency-millis}, latency of the FSW
+   * @param latencySigma {@code latency-sigma}, if positive the latencies are drawn from a log
+   *     normal distribution with the configured latencies as median
+   * @param pollInterval {@code poll-interval-millis}, interval of polling the validation status
+   * @param validationTimeout {@code validation-timeout-secs}, time after which a validation counts
+   *     as failed
+   * @param maxErrorRate {@code max-error-rate}, error rate of a flow failing the run
+   */
+  record LoadProfile(
+      Duration warmup,
+      Duration duration,
+      int documentClients,
+      int notificationClients,
+      Format format,
+      Compression compression,
+      long documentSizeInBytes,
+      int validationServiceLatencyMillis,
+      int contextEnrichmentServiceLatencyMillis,
+      int fhirStorageWriterLatencyMillis,
+      double latencySigma,
+      Duration pollInterval,
+      Duration validationTimeout,
+      double maxErrorRate) {
+
+    static LoadProfile fromSystemProperties() {
+      return new LoadProfile(
+          Duration.ofSeconds(Long.getLong("igs.load.warmup-secs", 10)),
+          Duration.ofSeconds(Long.getLong("igs.load.duration-secs", 60)),
+          Integer.getInteger("igs.load.document-clients", 4),
+          Integer.getInteger("igs.load.notification-clients", 8),
+          Format.valueOf(property("format", "fasta").toUpperCase(Locale.ROOT)),
+          Compression.valueOf(property("compression", "gzip").toUpperCase(Locale.ROOT)),
+          Long.getLong("igs.load.document-size-in-bytes", 1024 * 1024),
+          Integer.getInteger("igs.load.vs-latency-millis", 200),
+          Integer.getInteger("igs.load.ces-latency-millis", 50),
+          Integer.getInteger("igs.load.fsw-latency-millis", 100),
+          Double.parseDouble(property("latency-sigma", "0")),
+          Duration.ofMillis(Long.getLong("igs.load.poll-interval-millis", 250)),
+          Duration.ofSeconds(Long.getLong("igs.load.validation-timeout-secs", 300)),
+          Double.parseDouble(property("max-error-rate", "0.01")));
+    }
+
+    private static String property(String name, String defaultValue) {
+      return System.getProperty("igs.load." + name, defaultValue);
+    }
+  }
+
+  /** The sequence document uploaded by all clients together with its DocumentReference. */
+  record Document(byte[] content, String documentReference) {
+
+    @SneakyThrows
+    static Document generate(LoadProfile profile, BaseUtil testUtil) {
+      byte[] content =
+          SequenceCorpusGenerator.builder()
+              .format(profile.format())
+              .compression(profile.compression())
+              .sizeInBytes(profile.documentSizeInBytes())
+              .build()
+              .generate();
+      String hash =
+          HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+      return new Document(
+          content,
+          testUtil.translateDocumentReferenceToString(
+              APPLICATION_JSON, testUtil.generateDocumentReferenceForHash(hash)));
+    }
+  }
+
+  /** A step was answered other than expected, the message is reported as reason of the failure. */
+  static class LoadStepException extends RuntimeException {
+
+    LoadStepException(String reason) {
+      super(reason);
+    }
+  }
+
+  /**
+   * Latencies of the successful calls and reasons of the failed calls per step. Calls started
+   * before {@link #startAt(long)} are ignored.
+   */
+  static class Measurements {
+
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final Queue<String> order = new ConcurrentLinkedQueue<>();
+    private volatile long measuredFrom;
+
+    void startAt(long nanoTime) {
+      measuredFrom = nanoTime;
+    }
+
+    <T> T measure(String step, Callable<T> call) throws Exception {
+      long start = System.nanoTime();
+      try {
+        T result = call.call();
+        record(step, start, null);
+        return result;
+      } catch (LoadStepException e) {
+        record(step, start, e.getMessage());
+        throw e;
+      } catch (Exception e) {
+        record(step, start, e.getClass().getSimpleName());
+        throw e;
+      }
+    }
+
+    long successes(String step) {
+      Step measured = steps.get(step);
+      return measured == null ? 0 : measured.latencies.size();
+    }
+
+    double errorRate(String step) {
+      Step measured = steps.get(step);
+      if (measured == null) {
+        return 0;
+      }
+      long errors = measured.errors();
+      long total = errors + measured.latencies.size();
+      return total == 0 ? 0 : (double) errors / total;
+    }
+
+    String report(LoadProfile profile, List<String> flows) {
+      StringBuilder report = new StringBuilder();
+      double seconds = profile.duration().toMillis() / 1000.0;
+      for (String flow : flows) {
+        report.append(
+            String.format(
+                Locale.ROOT, "%s/s: %.2f%n", flow, successes(flow) / Math.max(seconds, 1)));
+      }
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "%-26s %8s %8s %8s %10s %10s %10s%n",
+              "step",
+              "count",
+              "errors",
+              "error %",
+              "p50 ms",
+              "p95 ms",
+              "p99 ms"));
+      for (String name : order) {
+        Step step = steps.get(name);
+        long[] latencies = step.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "%-26s %8d %8d %8.2f %10.1f %10.1f %10.1f%n",
+                name,
+                latencies.length + step.errors(),
+                step.errors(),
+                errorRate(name) * 100,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.95),
+                percentileMillis(latencies, 0.99)));
+      }
+      for (String name : order) {
+        steps
+            .get(name)
+            .failures
+            .forEach(
+                (reason, count) ->
+                    report.append(
+                        String.format("failed %s: %s x %d%n", name, reason, count.sum())));
+      }
+      return report.toString();
+    }
+
+    private void record(String step, long start, String failure) {
+      if (start - measuredFrom < 0) {
+        return;
+      }
+      Step measured =
+          steps.computeIfAbsent(
+              step,
+              name -> {
+                order.add(name);
+                return new Step();
+              });
+      if (failure == null) {
+        measured.latencies.add(System.nanoTime() - start);
+      } else {
+        measured.failures.computeIfAbsent(failure, reason -> new LongAdder()).increment();
+      }
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+      if (sortedNanos.length == 0) {
+        return Double.NaN;
+      }
+      int rank = (int) Math.ceil(percentile * sortedNanos.length);
+      return sortedNanos[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    private static class Step {
+
+      private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+      private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+      private long errors() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+      }
+    }
+  }
+}
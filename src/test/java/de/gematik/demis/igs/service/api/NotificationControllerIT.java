@@ -32,13 +32,13 @@ import static de.gematik.demis.igs.service.service.validation.ValidationServiceC
 import static de.gematik.demis.igs.service.service.validation.ValidationServiceClient.HEADER_FHIR_PROFILE;
 import static de.gematik.demis.igs.service.service.validation.ValidationServiceClient.HEADER_FHIR_PROFILE_OLD;
 import static de.gematik.demis.igs.service.utils.Constants.PROCESS_NOTIFICATION_RESPONSE_PROFILE;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.INFORMATION;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.aryEq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
@@ -63,6 +63,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import lombok.SneakyThrows;
+import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.hl7.fhir.r4.model.Parameters;
@@ -133,9 +134,9 @@ class NotificationControllerIT {
     @Test
     @SneakyThrows
     void shouldUploadNotificationSuccessfully() {
-      when(validationClient.validateXmlBundle(any(), anyString()))
+      when(validationClient.validateXmlBundle(any(), any(byte[].class)))
           .thenReturn(baseUtil.createOutcomeResponse(INFORMATION));
-      when(fhirStorageWriterClient.sendNotification(anyString()))
+      when(fhirStorageWriterClient.sendNotification(any(Bundle.class)))
           .thenReturn(ResponseEntity.ok().build());
       when(s3StorageService.getMetadata(FIRST_DOCUMENT_ID))
           .thenReturn(baseUtil.determineMetadataForValid());
@@ -185,7 +186,8 @@ class NotificationControllerIT {
               assertThat(((Identifier) labSequenceID.orElseThrow().getValue()).getValue())
                   .isEqualTo("A384"),
           () ->
-              verify(validationClient).validateXmlBundle(headerCaptor.capture(), eq(notification)),
+              verify(validationClient)
+                  .validateXmlBundle(headerCaptor.capture(), aryEq(notification.getBytes(UTF_8))),
           () ->
               assertThat(headerCaptor.getValue())
                   .isNotNull()
@@ -199,8 +201,9 @@ class NotificationControllerIT {
     @SneakyThrows
     void shouldReturn422WithOperationOutputInBodyIfValidationFailed() {
       Response outcomeResponse = baseUtil.createOutcomeResponse(ERROR);
-      when(validationClient.validateXmlBundle(any(), anyString())).thenReturn(outcomeResponse);
-      when(fhirStorageWriterClient.sendNotification(anyString()))
+      when(validationClient.validateXmlBundle(any(), any(byte[].class)))
+          .thenReturn(outcomeResponse);
+      when(fhirStorageWriterClient.sendNotification(any(Bundle.class)))
           .thenReturn(ResponseEntity.ok().build());
       String notification = baseUtil.readFileToString(PATH_TO_IGS_NOTIFICATION);
       MockHttpServletResponse response =
@@ -236,7 +239,7 @@ class NotificationControllerIT {
     @Test
     @SneakyThrows
     void shouldReturn500IfFswThrowsException() {
-      when(fhirStorageWriterClient.sendNotification(anyString()))
+      when(fhirStorageWriterClient.sendNotification(any(Bundle.class)))
           .thenThrow(ServiceCallException.class);
       String notification = baseUtil.readFileToString(PATH_TO_IGS_NOTIFICATION);
       mockMvc
@@ -252,7 +255,7 @@ class NotificationControllerIT {
     @SneakyThrows
     void shouldReturn400IfOneDocumentIsNotValidated() {
       String notification = baseUtil.readFileToString(PATH_TO_IGS_NOTIFICATION);
-      when(validationClient.validateXmlBundle(any(), anyString()))
+      when(validationClient.validateXmlBundle(any(), any(byte[].class)))
           .thenReturn(baseUtil.createOutcomeResponse(INFORMATION));
       when(s3StorageService.getMetadata(FIRST_DOCUMENT_ID))
           .thenReturn(baseUtil.determineMetadataForValid());
@@ -270,7 +273,7 @@ class NotificationControllerIT {
     @Test
     @SneakyThrows
     void shouldReturn400IfSequenceLabIdWrong() {
-      when(validationClient.validateXmlBundle(any(), anyString()))
+      when(validationClient.validateXmlBundle(any(), any(byte[].class)))
           .thenReturn(baseUtil.createOutcomeResponse(INFORMATION));
       when(s3StorageService.getMetadata(FIRST_DOCUMENT_ID))
           .thenReturn(baseUtil.determineMetadataForValid());
@@ -290,7 +293,7 @@ class NotificationControllerIT {
     @Test
     @SneakyThrows
     void shouldReturn400InXMLWhenAcceptHeaderXML() {
-      when(validationClient.validateXmlBundle(any(), anyString()))
+      when(validationClient.validateXmlBundle(any(), any(byte[].class)))
           .thenReturn(baseUtil.createOutcomeResponse(INFORMATION));
       when(s3StorageService.getMetadata(FIRST_DOCUMENT_ID))
           .thenReturn(baseUtil.determineMetadataForInValid());
@@ -310,7 +313,7 @@ class NotificationControllerIT {
     @Test
     @SneakyThrows
     void shouldReturn400InJSONWhenAcceptHeaderJSON() {
-      when(validationClient.validateJsonBundle(any(), anyString()))
+      when(validationClient.validateJsonBundle(any(), any(byte[].class)))
           .thenReturn(baseUtil.createOutcomeResponse(INFORMATION));
       when(s3StorageService.getMetadata(FIRST_DOCUMENT_ID))
           .thenReturn(baseUtil.determineMetadataForInValid());
@@ -351,9 +354,9 @@ class NotificationControllerIT {
     void shouldSetHeaderCorrectlyForVsWithFeatureFlagNewRoutsTrue() {
       String apiVersion = "apiVersion";
       String profile = "profile";
-      when(validationClient.validateXmlBundle(any(), anyString()))
+      when(validationClient.validateXmlBundle(any(), any(byte[].class)))
           .thenReturn(baseUtil.createOutcomeResponse(INFORMATION));
-      when(fhirStorageWriterClient.sendNotification(anyString()))
+      when(fhirStorageWriterClient.sendNotification(any(Bundle.class)))
           .thenReturn(ResponseEntity.ok().build());
       when(s3StorageService.getMetadata(FIRST_DOCUMENT_ID))
           .thenReturn(baseUtil.determineMetadataForValid());
@@ -372,7 +375,8 @@ class NotificationControllerIT {
           .andReturn()
           .getResponse();
 
-      verify(validationClient).validateXmlBundle(headerCaptor.capture(), eq(notification));
+      verify(validationClient)
+          .validateXmlBundle(headerCaptor.capture(), aryEq(notification.getBytes(UTF_8)));
       assertThat(headerCaptor.getValue())
           .isNotNull()
           .hasSize(3)
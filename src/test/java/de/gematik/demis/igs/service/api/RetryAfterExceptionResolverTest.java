@@ -0,0 +1,61 @@
+package de.gematik.demis.igs.service.api;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.TOO_MANY_VALIDATIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.demis.igs.service.exception.ErrorCode;
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RetryAfterExceptionResolverTest {
+
+  private final RetryAfterExceptionResolver underTest = new RetryAfterExceptionResolver();
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  @Test
+  void shouldAddRetryAfterAndLeaveRenderingToCommonHandler() {
+    IgsAdmissionException ex = new IgsAdmissionException(TOO_MANY_VALIDATIONS, "busy", 42);
+
+    assertThat(underTest.resolveException(request, response, null, ex)).isNull();
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("42");
+  }
+
+  @Test
+  void shouldIgnoreOtherExceptions() {
+    IgsServiceException ex = new IgsServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "error");
+
+    assertThat(underTest.resolveException(request, response, null, ex)).isNull();
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+  }
+}
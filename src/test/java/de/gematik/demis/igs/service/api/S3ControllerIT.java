@@ -30,6 +30,7 @@ import static de.gematik.demis.igs.service.api.DocumentReferenceController.FHIR_
 import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_FINISH_UPLOAD;
 import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_INFO;
 import static de.gematik.demis.igs.service.api.S3Controller.S3_UPLOAD_VALIDATE;
+import static de.gematik.demis.igs.service.exception.ErrorCode.TOO_MANY_VALIDATIONS;
 import static de.gematik.demis.igs.service.service.validation.FastAValidator.DOUBLE_HEADER_ERROR_MESSAGE;
 import static de.gematik.demis.igs.service.service.validation.FastQValidator.LINE_LENGTH_DIFFER_ERROR_MESSAGE;
 import static de.gematik.demis.igs.service.utils.Constants.HASH_METADATA_NAME;
@@ -51,9 +52,13 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
@@ -75,9 +80,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.gematik.demis.igs.service.api.model.CompletedChunk;
 import de.gematik.demis.igs.service.api.model.MultipartUploadComplete;
 import de.gematik.demis.igs.service.api.model.S3Info;
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
 import de.gematik.demis.igs.service.service.storage.SimpleStorageServiceConfiguration;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationAdmission;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -108,6 +115,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
@@ -362,6 +370,41 @@ public class S3ControllerIT {
     }
   }
 
+  @Nested
+  class AdmissionTests {
+
+    @MockitoBean private ValidationAdmission validationAdmission;
+
+    @Test
+    @SneakyThrows
+    void shouldReturn429WithRetryAfterIfValidationIsNotAdmitted() {
+      String documentId = UUID.randomUUID().toString();
+      storageService.putBlob(
+          documentId,
+          Map.of(
+              UPLOAD_STATUS,
+              UPLOAD_STATUS_DONE,
+              HASH_METADATA_NAME,
+              testUtil.calcHashOnFile(PATH_TO_FASTA)),
+          testUtil.readFileToInputStream(PATH_TO_FASTA));
+      doThrow(
+              new IgsAdmissionException(
+                  TOO_MANY_VALIDATIONS, "Too many validations in progress", 42))
+          .when(validationAdmission)
+          .admit(any());
+
+      mockMvc
+          .perform(
+              post(S3_UPLOAD_VALIDATE.replace("{documentId}", documentId))
+                  .header("Authorization", TOKEN_NRZ))
+          .andExpect(status().isTooManyRequests())
+          .andExpect(header().string(RETRY_AFTER, "42"))
+          .andExpect(jsonPath("$.errorCode").value(TOO_MANY_VALIDATIONS.getCode()))
+          .andExpect(jsonPath("$.detail").value("Too many validations in progress"));
+      assertThat(storageService.getMetadata(documentId)).doesNotContainKey(VALIDATION_STATUS);
+    }
+  }
+
   @Nested
   class InformMultipartUploadCompleteTests {
 
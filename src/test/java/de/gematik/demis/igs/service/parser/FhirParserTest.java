@@ -0,0 +1,89 @@
+package de.gematik.demis.igs.service.parser;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.parser.FhirParser.deserializeResource;
+import static de.gematik.demis.igs.service.parser.FhirParser.serializeResource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_XML;
+import static util.BaseUtil.PATH_TO_IGS_NOTIFICATION;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import lombok.SneakyThrows;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Parameters;
+import org.junit.jupiter.api.Test;
+import util.BaseUtil;
+
+class FhirParserTest {
+
+  private final BaseUtil testUtil = new BaseUtil();
+
+  @Test
+  void shouldReuseParserAfterFailure() {
+    String bundle = testUtil.getDefaultBundleAsString();
+    assertThatThrownBy(() -> deserializeResource("{\"resourceType\": ", APPLICATION_JSON))
+        .isInstanceOf(IgsServiceException.class);
+    assertThat(deserializeResource(bundle, APPLICATION_JSON, Bundle.class).getIdPart())
+        .isEqualTo(testUtil.getDefaultBundle().getIdPart());
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldParseConcurrently() {
+    String notification = testUtil.readFileToString(PATH_TO_IGS_NOTIFICATION);
+    String expected =
+        serializeResource(
+            deserializeResource(notification, APPLICATION_XML, Parameters.class), APPLICATION_JSON);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> results =
+          IntStream.range(0, 40)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () ->
+                              serializeResource(
+                                  deserializeResource(
+                                      notification, APPLICATION_XML, Parameters.class),
+                                  APPLICATION_JSON)))
+              .toList();
+      for (Future<String> result : results) {
+        assertThat(result.get()).isEqualTo(expected);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package de.gematik.demis.igs.service.parser;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.parser.FhirProfileScanner.declaresProfile;
+import static de.gematik.demis.igs.service.service.NotificationService.HTTPS_DEMIS_RKI_DE_FHIR_STRUCTURE_DEFINITION_NOTIFICATION_SEQUENCE_REQUEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static util.BaseUtil.PATH_TO_IGS_NOTIFICATION;
+import static util.BaseUtil.PATH_TO_IGS_NOTIFICATION_BUNDLE;
+import static util.BaseUtil.PATH_TO_IGS_NOTIFICATION_JSON;
+
+import java.nio.charset.StandardCharsets;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import util.BaseUtil;
+
+class FhirProfileScannerTest {
+
+  private static final String PROFILE =
+      HTTPS_DEMIS_RKI_DE_FHIR_STRUCTURE_DEFINITION_NOTIFICATION_SEQUENCE_REQUEST;
+
+  private final BaseUtil testUtil = new BaseUtil();
+
+  @SneakyThrows
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        PATH_TO_IGS_NOTIFICATION,
+        PATH_TO_IGS_NOTIFICATION_JSON,
+        PATH_TO_IGS_NOTIFICATION_BUNDLE
+      })
+  void shouldFindProfileOfNotification(String path) {
+    assertThat(declares(testUtil.readFileToString(path))).isTrue();
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldSkipByteOrderMark() {
+    byte[] notification = testUtil.readFileToByteArray(PATH_TO_IGS_NOTIFICATION);
+    byte[] content = new byte[notification.length + 3];
+    content[0] = (byte) 0xEF;
+    content[1] = (byte) 0xBB;
+    content[2] = (byte) 0xBF;
+    System.arraycopy(notification, 0, content, 3, notification.length);
+    assertThat(declaresProfile(content, PROFILE)).isTrue();
+  }
+
+  @Test
+  void shouldFindProfileOfSerializedBundle() {
+    assertThat(declares(testUtil.getDefaultBundleAsString())).isTrue();
+  }
+
+  @Test
+  void shouldAcceptVersionedProfile() {
+    String content =
+        """
+        {"resourceType": "Bundle", "meta": {"profile": ["other", "%s|1.0.0"]}}
+        """
+            .formatted(PROFILE);
+    assertThat(declares(content)).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Extended", "/child", "_old"})
+  void shouldRejectLongerProfile(String suffix) {
+    String content =
+        """
+        <Bundle xmlns="http://hl7.org/fhir"><meta><profile value="%s%s"/></meta></Bundle>
+        """
+            .formatted(PROFILE, suffix);
+    assertThat(declares(content)).isFalse();
+  }
+
+  @Test
+  void shouldIgnoreProfileOfEntry() {
+    String content =
+        """
+        {"resourceType": "Bundle", "entry": [{"resource": {"meta": {"profile": ["%s"]}}}]}
+        """
+            .formatted(PROFILE);
+    assertThat(declares(content)).isFalse();
+  }
+
+  @Test
+  void shouldIgnoreProfileOutsideOfMeta() {
+    String content =
+        """
+        <Bundle xmlns="http://hl7.org/fhir"><profile value="%s"/></Bundle>
+        """
+            .formatted(PROFILE);
+    assertThat(declares(content)).isFalse();
+  }
+
+  @Test
+  void shouldNotResolveEntities() {
+    String content =
+        """
+        <?xml version="1.0"?>
+        <!DOCTYPE Bundle [<!ENTITY profile "%s">]>
+        <Bundle xmlns="http://hl7.org/fhir"><meta><profile value="&profile;"/></meta></Bundle>
+        """
+            .formatted(PROFILE);
+    assertThat(declares(content)).isFalse();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "{\"meta\": {\"profile\": [", "<Bundle><meta>", "not a resource"})
+  void shouldRejectUnreadableContent(String content) {
+    assertThat(declares(content)).isFalse();
+  }
+
+  private static boolean declares(String content) {
+    return declaresProfile(content.getBytes(StandardCharsets.UTF_8), PROFILE);
+  }
+}
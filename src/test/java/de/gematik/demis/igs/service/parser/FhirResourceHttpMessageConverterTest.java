@@ -0,0 +1,86 @@
+package de.gematik.demis.igs.service.parser;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.parser.FhirParser.serializeResource;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_XML;
+
+import lombok.SneakyThrows;
+import org.hl7.fhir.r4.model.Bundle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import util.BaseUtil;
+
+class FhirResourceHttpMessageConverterTest {
+
+  private final BaseUtil testUtil = new BaseUtil();
+  private final FhirResourceHttpMessageConverter underTest = new FhirResourceHttpMessageConverter();
+
+  @ParameterizedTest
+  @ValueSource(strings = {"application/json", "application/fhir+json", "application/json+fhir"})
+  @SneakyThrows
+  void shouldWriteJson(String contentType) {
+    Bundle bundle = testUtil.getDefaultBundle();
+    MediaType mediaType = MediaType.valueOf(contentType);
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    underTest.write(bundle, mediaType, message);
+    assertThat(message.getBodyAsString(UTF_8))
+        .isEqualTo(serializeResource(bundle, APPLICATION_JSON));
+    assertThat(message.getHeaders().getContentType().equalsTypeAndSubtype(mediaType)).isTrue();
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldWriteXml() {
+    Bundle bundle = testUtil.getDefaultBundle();
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    underTest.write(bundle, APPLICATION_XML, message);
+    assertThat(message.getBodyAsString(UTF_8))
+        .isEqualTo(serializeResource(bundle, APPLICATION_XML));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldNotSetContentLength() {
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    underTest.write(testUtil.getDefaultBundle(), APPLICATION_JSON, message);
+    assertThat(message.getHeaders().getContentLength()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldOnlyWriteResources() {
+    assertThat(underTest.canWrite(Bundle.class, APPLICATION_JSON)).isTrue();
+    assertThat(underTest.canWrite(String.class, APPLICATION_JSON)).isFalse();
+    assertThat(underTest.canRead(Bundle.class, APPLICATION_JSON)).isFalse();
+  }
+}
@@ -26,6 +26,8 @@ package de.gematik.demis.igs.service.service;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.exception.ErrorCode.TOO_MANY_VALIDATIONS;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.FINALIZE;
 import static de.gematik.demis.igs.service.utils.Constants.HASH_METADATA_NAME;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS_DONE;
@@ -43,12 +45,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -60,11 +65,18 @@ import static util.BaseUtil.TOKEN_FAST_A;
 import static util.BaseUtil.TOKEN_NRZ;
 
 import de.gematik.demis.igs.service.api.model.ValidationInfo;
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration;
 import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
 import de.gematik.demis.igs.service.service.validation.HashValidatorFunction;
 import de.gematik.demis.igs.service.service.validation.SequenceValidatorService;
+import de.gematik.demis.igs.service.service.validation.ValidationContext;
+import de.gematik.demis.igs.service.service.validation.ValidationMetrics;
 import de.gematik.demis.igs.service.service.validation.ValidationTracker;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationAdmission;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationJob;
 import de.gematik.demis.igs.service.utils.Pair;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -105,6 +117,8 @@ class DocumentReferenceServiceTest {
   private DocumentReferenceService underTest;
   private ProxyInputStreamService proxy;
   private ValidationTracker tracker;
+  private ValidationAdmission admission;
+  private ValidationMetrics validationMetrics;
 
   @BeforeEach
   void setUp() {
@@ -112,8 +126,19 @@ class DocumentReferenceServiceTest {
     sequenceValidatorService = mock(SequenceValidatorService.class);
     proxy = mock(ProxyInputStreamService.class);
     tracker = mock(ValidationTracker.class);
+    admission = mock(ValidationAdmission.class);
+    validationMetrics = mock(ValidationMetrics.class);
     underTest =
-        new DocumentReferenceService(storageService, sequenceValidatorService, proxy, tracker);
+        new DocumentReferenceService(
+            storageService,
+            sequenceValidatorService,
+            proxy,
+            tracker,
+            admission,
+            testUtil.createLeakTrackingBufferPool(),
+            validationMetrics,
+            new IdGenerator(IdGeneratorConfiguration.builder().build()),
+            new JwtClaimsCache());
     underTest.setLongPollingIntervalSecs(1);
     underTest.setLongPollingTimeoutSecs(3);
   }
@@ -207,7 +232,8 @@ class DocumentReferenceServiceTest {
       when(storageService.getMetadata(DOCUMENT_ID))
           .thenReturn(Map.of(VALIDATION_STATUS, VALIDATING.toString()));
       IgsServiceException ex =
-          assertThrows(IgsServiceException.class, () -> underTest.prepareValidation(DOCUMENT_ID));
+          assertThrows(
+              IgsServiceException.class, () -> underTest.prepareValidation(DOCUMENT_ID, TOKEN_NRZ));
       assertEquals(
           ex.getMessage(), "Der Upload des angefragen Dokuments ist noch nicht abgeschlossen.");
     }
@@ -219,7 +245,8 @@ class DocumentReferenceServiceTest {
           .thenReturn(
               Map.of(UPLOAD_STATUS, UPLOAD_STATUS_DONE, VALIDATION_STATUS, VALIDATING.toString()));
       IgsServiceException ex =
-          assertThrows(IgsServiceException.class, () -> underTest.prepareValidation(DOCUMENT_ID));
+          assertThrows(
+              IgsServiceException.class, () -> underTest.prepareValidation(DOCUMENT_ID, TOKEN_NRZ));
       assertEquals(
           ex.getMessage(), format("Document with id %s is already validating", DOCUMENT_ID));
     }
@@ -229,8 +256,34 @@ class DocumentReferenceServiceTest {
     void shouldNotThrowIfStatusNotPresent() {
       when(storageService.getMetadata(DOCUMENT_ID))
           .thenReturn(Map.of(UPLOAD_STATUS, UPLOAD_STATUS_DONE));
-      assertDoesNotThrow(() -> underTest.prepareValidation(DOCUMENT_ID));
-      verify(storageService).setValidatingStatusToPending(DOCUMENT_ID);
+      assertDoesNotThrow(() -> underTest.prepareValidation(DOCUMENT_ID, TOKEN_NRZ));
+      verify(storageService).setValidatingStatusToPending(DOCUMENT_ID, false);
+    }
+
+    @Test
+    void shouldRememberFastaOnlySenderInJob() {
+      when(storageService.getMetadata(DOCUMENT_ID))
+          .thenReturn(Map.of(UPLOAD_STATUS, UPLOAD_STATUS_DONE));
+      ValidationJob job = underTest.prepareValidation(DOCUMENT_ID, TOKEN_FAST_A);
+      assertThat(job.documentId()).isEqualTo(DOCUMENT_ID);
+      assertThat(job.fastaOnly()).isTrue();
+      verify(storageService).setValidatingStatusToPending(DOCUMENT_ID, true);
+    }
+
+    @Test
+    void shouldNotMarkDocumentAsValidatingIfNotAdmitted() {
+      when(storageService.getMetadata(DOCUMENT_ID))
+          .thenReturn(Map.of(UPLOAD_STATUS, UPLOAD_STATUS_DONE));
+      when(storageService.getContentLength(DOCUMENT_ID)).thenReturn(42L);
+      doThrow(new IgsAdmissionException(TOO_MANY_VALIDATIONS, "Too many", 5))
+          .when(admission)
+          .admit(any());
+
+      assertThrows(
+          IgsAdmissionException.class, () -> underTest.prepareValidation(DOCUMENT_ID, TOKEN_NRZ));
+
+      verify(admission).admit(argThat(job -> job.sizeInBytes() == 42L && !job.fastaOnly()));
+      verify(storageService, never()).setValidatingStatusToPending(any(), anyBoolean());
     }
   }
 
@@ -249,10 +302,14 @@ class DocumentReferenceServiceTest {
       when(storageService.getFirstBytesOf(DOCUMENT_ID)).thenReturn(firstBytes);
       when(storageService.getMetadata(DOCUMENT_ID))
           .thenReturn(new HashMap<>(Map.of(HASH_METADATA_NAME, EXAMPLE_HASH)));
-      when(proxy.run(eq(in1), any(HashValidatorFunction.class))).thenReturn(in2);
-      when(proxy.run(eq(in2), any(GzipDecompressionFunction.class))).thenReturn(in3);
+      when(proxy.runIoBound(
+              eq(in1), any(HashValidatorFunction.class), any(ValidationContext.class)))
+          .thenReturn(in2);
+      when(proxy.runCpuBound(
+              eq(in2), any(GzipDecompressionFunction.class), any(ValidationContext.class)))
+          .thenReturn(in3);
 
-      underTest.validateBinary(DOCUMENT_ID, token);
+      underTest.validateBinary(DOCUMENT_ID, token.equals(TOKEN_FAST_A));
 
       assertAll(
           () ->
@@ -262,7 +319,9 @@ class DocumentReferenceServiceTest {
           () -> verify(storageService, times(1)).getMetadata(DOCUMENT_ID),
           () -> verify(storageService, times(1)).getFirstBytesOf(DOCUMENT_ID),
           () -> verify(storageService, times(1)).finalizeValidation(DOCUMENT_ID),
-          () -> verify(tracker, times(1)).init(DOCUMENT_ID),
+          () -> verify(tracker, times(1)).init(eq(DOCUMENT_ID), any(ValidationContext.class)),
+          () -> verify(tracker).recordStage(eq(DOCUMENT_ID), eq(FINALIZE), anyLong(), eq(0L)),
+          () -> verify(validationMetrics, times(1)).publish(DOCUMENT_ID),
           () -> verify(tracker, times(1)).drop(DOCUMENT_ID));
     }
 
@@ -275,9 +334,9 @@ class DocumentReferenceServiceTest {
 
       doThrow(new IOException("Error"))
           .when(sequenceValidatorService)
-          .validateSequence(any(), any(), any(), anyBoolean());
+          .validateSequence(any(InputStream.class), any(), any(), anyBoolean());
       assertThrows(
-          IgsServiceException.class, () -> underTest.validateBinary(DOCUMENT_ID, TOKEN_NRZ));
+          IgsServiceException.class, () -> underTest.validateBinary(DOCUMENT_ID, false));
 
       assertAll(
           () -> verify(storageService, times(1)).getBlob(DOCUMENT_ID),
@@ -295,12 +354,12 @@ class DocumentReferenceServiceTest {
 
       doThrow(new IOException("Error"))
           .when(sequenceValidatorService)
-          .validateSequence(any(), any(), any(), anyBoolean());
+          .validateSequence(any(InputStream.class), any(), any(), anyBoolean());
       assertThrows(
-          IgsServiceException.class, () -> underTest.validateBinary(DOCUMENT_ID, TOKEN_NRZ));
+          IgsServiceException.class, () -> underTest.validateBinary(DOCUMENT_ID, false));
 
       assertAll(
-          () -> verify(tracker, times(1)).init(DOCUMENT_ID),
+          () -> verify(tracker, times(1)).init(eq(DOCUMENT_ID), any(ValidationContext.class)),
           () -> verify(tracker, times(1)).drop(DOCUMENT_ID));
     }
 
@@ -313,12 +372,12 @@ class DocumentReferenceServiceTest {
 
       doThrow(new IOException("Error"))
           .when(sequenceValidatorService)
-          .validateSequence(any(), any(), any(), anyBoolean());
+          .validateSequence(any(InputStream.class), any(), any(), anyBoolean());
       assertThrows(
-          IgsServiceException.class, () -> underTest.validateBinary(DOCUMENT_ID, TOKEN_NRZ));
+          IgsServiceException.class, () -> underTest.validateBinary(DOCUMENT_ID, false));
 
       assertAll(
-          () -> verify(tracker, times(1)).init(DOCUMENT_ID),
+          () -> verify(tracker, times(1)).init(eq(DOCUMENT_ID), any(ValidationContext.class)),
           () -> verify(tracker, times(1)).drop(DOCUMENT_ID));
     }
   }
@@ -26,6 +26,9 @@ package de.gematik.demis.igs.service.service;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_GZIP;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_NONE;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.DECOMPRESS;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
@@ -33,6 +36,7 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.INVALID_COMPRESSE
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,6 +46,7 @@ import static util.BaseUtil.PATH_TO_FASTQ;
 import static util.BaseUtil.PATH_TO_FASTQ_GZIP;
 import static util.BaseUtil.PATH_TO_GZIP_INVALID;
 
+import de.gematik.demis.igs.service.service.stream.BufferPool;
 import de.gematik.demis.igs.service.service.validation.ValidationTracker;
 import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
 import de.gematik.demis.igs.service.utils.Pair;
@@ -51,6 +56,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -67,10 +73,16 @@ class GzipDecompressionFunctionTest {
 
   public static final String EXAMPLE_ID = "SomeId";
   BaseUtil testUtil = new BaseUtil();
+  BufferPool bufferPool = testUtil.createLeakTrackingBufferPool();
   @Mock ValidationTracker tracker;
   @Captor ArgumentCaptor<ValidationStatus> statusCaptor;
   @Captor ArgumentCaptor<String> msgCaptor;
 
+  @AfterEach
+  void checkForBufferLeaks() {
+    assertThat(bufferPool.getLeaks()).isEmpty();
+  }
+
   static Stream<Arguments> shouldWriteCorrectToOutputStream() {
     return Stream.of(
         Arguments.of("FastA", PATH_TO_FASTA, PATH_TO_FASTA),
@@ -87,7 +99,11 @@ class GzipDecompressionFunctionTest {
         OutputStream out = new ByteArrayOutputStream()) {
       Pair pair = testUtil.getFirstBytesOfFile(path);
       new GzipDecompressionFunction(
-              Integer.parseInt(pair.first()), Integer.parseInt(pair.second()), EXAMPLE_ID, tracker)
+              Integer.parseInt(pair.first()),
+              Integer.parseInt(pair.second()),
+              EXAMPLE_ID,
+              tracker,
+              bufferPool)
           .apply(input, out);
       assertTrue(
           testUtil.streamCompare(
@@ -103,20 +119,62 @@ class GzipDecompressionFunctionTest {
         OutputStream out = new ByteArrayOutputStream()) {
       Pair pair = testUtil.getFirstBytesOfFile(PATH_TO_FASTA_GZIP);
       new GzipDecompressionFunction(
-              Integer.parseInt(pair.first()), Integer.parseInt(pair.second()), EXAMPLE_ID, tracker)
+              Integer.parseInt(pair.first()),
+              Integer.parseInt(pair.second()),
+              EXAMPLE_ID,
+              tracker,
+              bufferPool)
           .apply(input, out);
       verify(tracker, times(2)).updateGzipStatus(eq(EXAMPLE_ID), statusCaptor.capture());
       assertThat(statusCaptor.getAllValues()).containsExactly(VALIDATING, VALID);
     }
   }
 
+  @Test
+  @SneakyThrows
+  void shouldRecordCompressionAndDecompressStage() {
+    long size = testUtil.getFileSize(PATH_TO_FASTA);
+    try (InputStream input = testUtil.readFileToInputStream(PATH_TO_FASTA_GZIP);
+        OutputStream out = new ByteArrayOutputStream()) {
+      Pair pair = testUtil.getFirstBytesOfFile(PATH_TO_FASTA_GZIP);
+      new GzipDecompressionFunction(
+              Integer.parseInt(pair.first()),
+              Integer.parseInt(pair.second()),
+              EXAMPLE_ID,
+              tracker,
+              bufferPool)
+          .apply(input, out);
+    }
+    assertAll(
+        () -> verify(tracker).recordCompression(EXAMPLE_ID, COMPRESSION_GZIP),
+        () -> verify(tracker).recordStage(eq(EXAMPLE_ID), eq(DECOMPRESS), anyLong(), eq(size)));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldRecordNoCompressionForPlainFile() {
+    try (InputStream input = testUtil.readFileToInputStream(PATH_TO_FASTQ);
+        OutputStream out = new ByteArrayOutputStream()) {
+      Pair pair = testUtil.getFirstBytesOfFile(PATH_TO_FASTQ);
+      new GzipDecompressionFunction(
+              Integer.parseInt(pair.first()),
+              Integer.parseInt(pair.second()),
+              EXAMPLE_ID,
+              tracker,
+              bufferPool)
+          .apply(input, out);
+    }
+    verify(tracker).recordCompression(EXAMPLE_ID, COMPRESSION_NONE);
+  }
+
   @Test
   @SneakyThrows
   void shouldCallValidationTrackerAccordinglyWhenGZipCorrupt() {
     try (InputStream firstBytes = testUtil.readFileToInputStream(PATH_TO_GZIP_INVALID);
         InputStream input = testUtil.readFileToInputStream(PATH_TO_GZIP_INVALID);
         OutputStream out = new ByteArrayOutputStream()) {
-      new GzipDecompressionFunction(firstBytes.read(), firstBytes.read(), EXAMPLE_ID, tracker)
+      new GzipDecompressionFunction(
+              firstBytes.read(), firstBytes.read(), EXAMPLE_ID, tracker, bufferPool)
           .apply(input, out);
     }
     assertAll(
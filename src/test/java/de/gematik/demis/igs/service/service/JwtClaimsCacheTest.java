@@ -0,0 +1,131 @@
+package de.gematik.demis.igs.service.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static util.BaseUtil.TOKEN_FAST_A;
+import static util.BaseUtil.TOKEN_NOT_PARSABLE;
+import static util.BaseUtil.TOKEN_NRZ;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.utils.JwtClaims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwtClaimsCacheTest {
+
+  // both tokens expire in March 2025
+  private static final Instant BEFORE_EXPIRY = Instant.parse("2025-03-01T00:00:00Z");
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private JwtClaimsCache underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest = new JwtClaimsCache();
+    underTest.setMaxEntries(10);
+    underTest.setClock(Clock.fixed(BEFORE_EXPIRY, ZoneOffset.UTC));
+    underTest.bindTo(registry);
+  }
+
+  @Test
+  void shouldReturnClaimsOfToken() {
+    JwtClaims claims = underTest.get(TOKEN_FAST_A);
+    assertThat(claims.hasRole("igs-sequence-data-sender-fasta-only")).isTrue();
+    assertThat(claims.hasRole("igs-sequence-data-sender")).isFalse();
+    assertThat(claims.requireSender()).isEqualTo("g-2f213d50-1dc9-48ca-970c-c165ef643ae3");
+  }
+
+  @Test
+  void shouldDecodeTokenOnlyOnce() {
+    JwtClaims first = underTest.get(TOKEN_NRZ);
+    assertThat(underTest.get(TOKEN_NRZ)).isSameAs(first);
+    assertThat(underTest.get(TOKEN_NRZ.substring("Bearer ".length()))).isSameAs(first);
+    assertThat(registry.get("igs.jwt.claims.cache.gets").tag("result", "hit").functionCounter())
+        .extracting(FunctionCounter::count)
+        .isEqualTo(2.0);
+    assertThat(registry.get("igs.jwt.claims.cache.hit.ratio").gauge().value())
+        .isEqualTo(2.0 / 3);
+  }
+
+  @Test
+  void shouldDecodeTokenAgainAfterExpiry() {
+    JwtClaims first = underTest.get(TOKEN_NRZ);
+    underTest.setClock(Clock.fixed(Instant.ofEpochSecond(first.expiresAt()), ZoneOffset.UTC));
+    assertThat(underTest.get(TOKEN_NRZ)).isNotSameAs(first).isEqualTo(first);
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  void shouldNotCacheTokenWithoutExpiry() {
+    String payload = Base64.getEncoder().encodeToString("{\"sub\":\"lab\"}".getBytes());
+    String token = "header." + payload + ".signature";
+    assertThat(underTest.get(token).requireSender()).isEqualTo("lab");
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  void shouldNotExceedMaxEntries() {
+    underTest.setMaxEntries(1);
+    underTest.get(TOKEN_NRZ);
+    underTest.get(TOKEN_FAST_A);
+    assertThat(underTest.size()).isOne();
+    assertThat(underTest.get(TOKEN_FAST_A).hasRole("igs-sequence-data-sender-fasta-only")).isTrue();
+  }
+
+  @Test
+  void shouldEvictTokenExpiringFirst() {
+    underTest.setMaxEntries(1);
+    // TOKEN_FAST_A expires after TOKEN_NRZ
+    JwtClaims fast = underTest.get(TOKEN_FAST_A);
+    underTest.get(TOKEN_NRZ);
+    assertThat(underTest.size()).isOne();
+    assertThat(underTest.get(TOKEN_FAST_A)).isSameAs(fast);
+  }
+
+  @Test
+  void shouldEvictExpiredTokenFirst() {
+    underTest.setMaxEntries(1);
+    JwtClaims nrz = underTest.get(TOKEN_NRZ);
+    underTest.setClock(Clock.fixed(Instant.ofEpochSecond(nrz.expiresAt()), ZoneOffset.UTC));
+    JwtClaims fast = underTest.get(TOKEN_FAST_A);
+    assertThat(underTest.size()).isOne();
+    assertThat(underTest.get(TOKEN_FAST_A)).isSameAs(fast);
+  }
+
+  @Test
+  void shouldThrowIfTokenNotParsable() {
+    assertThrows(IgsServiceException.class, () -> underTest.get(TOKEN_NOT_PARSABLE));
+  }
+}
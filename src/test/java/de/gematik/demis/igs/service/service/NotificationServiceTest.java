@@ -27,17 +27,24 @@ package de.gematik.demis.igs.service.service;
  */
 
 import static de.gematik.demis.igs.service.parser.FhirParser.serializeResource;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.gematik.demis.igs.service.exception.ErrorCode;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.exception.IgsValidationException;
 import de.gematik.demis.igs.service.service.contextenrichment.ContextEnrichmentService;
 import de.gematik.demis.igs.service.service.fhir.FhirBundleOperationService;
 import de.gematik.demis.igs.service.service.fhirstorage.FhirStorageService;
@@ -45,11 +52,16 @@ import de.gematik.demis.igs.service.service.igs.IgsTransactionIdGeneratorService
 import de.gematik.demis.igs.service.service.validation.NotificationValidatorService;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
 import org.hl7.fhir.r4.model.CanonicalType;
 import org.hl7.fhir.r4.model.Identifier;
+import org.hl7.fhir.r4.model.OperationOutcome;
 import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Parameters.ParametersParameterComponent;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -57,6 +69,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import util.BaseUtil;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,7 +79,7 @@ class NotificationServiceTest {
   private final MediaType mediaType = MediaType.APPLICATION_XML;
   private static final String TEST_TRANSACTION_ID = "TEST_TRANSACTION_ID";
   private final BaseUtil testUtil = new BaseUtil();
-  public final String DEFAULT_BUNDLE = testUtil.getDefaultBundleAsString();
+  public final byte[] DEFAULT_BUNDLE = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
   private final FhirBundleOperationService fhirBundleOperationService =
       mock(FhirBundleOperationService.class);
   private final IgsTransactionIdGeneratorService igsTransactionIdGeneratorService =
@@ -76,17 +89,21 @@ class NotificationServiceTest {
       mock(ContextEnrichmentService.class);
   private final NotificationValidatorService notificationValidatorService =
       mock(NotificationValidatorService.class);
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
   private final NotificationService service =
       new NotificationService(
           notificationValidatorService,
           fhirBundleOperationService,
           igsTransactionIdGeneratorService,
           fhirStorageService,
-          contextEnrichmentService);
+          contextEnrichmentService,
+          executor);
   @Captor ArgumentCaptor<Bundle> bundleCaptor;
 
   @BeforeEach
   void setUp() {
+    executor.setCorePoolSize(4);
+    executor.initialize();
     lenient()
         .when(fhirBundleOperationService.parseBundleFromNotification(DEFAULT_BUNDLE, mediaType))
         .thenReturn(testUtil.getDefaultBundle());
@@ -108,7 +125,11 @@ class NotificationServiceTest {
     lenient()
         .when(fhirBundleOperationService.getRelatesToComponentFromComposition(any()))
         .thenReturn(testUtil.defaultRelatesToComponent());
-    service.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
   }
 
   @Test
@@ -145,7 +166,7 @@ class NotificationServiceTest {
   void shouldThrowIgsServiceExceptionIfProfileNotSetCorrectly() {
     Bundle bundle = testUtil.getDefaultBundle();
     bundle.getMeta().setProfile(List.of(new CanonicalType("This_is_a_wrong_profile")));
-    String changedBundle = serializeResource(bundle, mediaType);
+    byte[] changedBundle = serializeResource(bundle, mediaType).getBytes(UTF_8);
     assertThrows(IgsServiceException.class, () -> service.process(changedBundle, mediaType, token));
   }
 
@@ -155,4 +176,99 @@ class NotificationServiceTest {
     verify(fhirBundleOperationService, times(1)).enrichNotification(bundleCaptor.capture());
     assertThat(bundleCaptor.getValue().getId()).isEqualTo(testUtil.getDefaultBundle().getId());
   }
+
+  @Test
+  void shouldFetchContextInformationWhileBundleIsValidated() {
+    CountDownLatch contextFetched = new CountDownLatch(1);
+    when(contextEnrichmentService.fetchContextInformation(any(), eq(token)))
+        .thenAnswer(
+            invocation -> {
+              contextFetched.countDown();
+              return Optional.empty();
+            });
+    when(notificationValidatorService.validateFhir(eq(DEFAULT_BUNDLE), eq(mediaType), any()))
+        .thenAnswer(
+            invocation -> {
+              // would time out if the context information was fetched after the validation
+              assertThat(contextFetched.await(5, TimeUnit.SECONDS)).isTrue();
+              return new OperationOutcome();
+            });
+
+    service.process(DEFAULT_BUNDLE, mediaType, token);
+
+    verify(fhirStorageService).sendNotificationToFhirStorage(any());
+  }
+
+  @Test
+  void shouldAddFetchedContextInformationToBundle() {
+    BundleEntryComponent entry = new BundleEntryComponent();
+    when(contextEnrichmentService.fetchContextInformation(any(), eq(token)))
+        .thenReturn(Optional.of(entry));
+
+    service.process(DEFAULT_BUNDLE, mediaType, token);
+
+    verify(fhirBundleOperationService).addEntry(any(), eq(entry));
+  }
+
+  @Test
+  void shouldReportFailedValidationBeforeInvalidDocumentReferences() {
+    doThrow(new IgsServiceException(ErrorCode.SEQUENCE_DATA_NOT_VALID, "not validated"))
+        .when(notificationValidatorService)
+        .validateDocumentReferences(any(), any());
+    when(notificationValidatorService.validateFhir(eq(DEFAULT_BUNDLE), eq(mediaType), any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(100);
+              throw new IgsValidationException(
+                  ErrorCode.FHIR_VALIDATION_ERROR, new OperationOutcome());
+            });
+
+    assertThrows(
+        IgsValidationException.class, () -> service.process(DEFAULT_BUNDLE, mediaType, token));
+    verify(fhirStorageService, never()).sendNotificationToFhirStorage(any());
+  }
+
+  @Test
+  void shouldReportInvalidDocumentReferences() {
+    doThrow(new IgsServiceException(ErrorCode.SEQUENCE_DATA_NOT_VALID, "not validated"))
+        .when(notificationValidatorService)
+        .validateDocumentReferences(any(), any());
+
+    IgsServiceException exception =
+        assertThrows(
+            IgsServiceException.class, () -> service.process(DEFAULT_BUNDLE, mediaType, token));
+    assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.SEQUENCE_DATA_NOT_VALID.getCode());
+  }
+
+  @Test
+  void shouldReportFailedContextEnrichmentAndInterruptDocumentReferenceCheck() {
+    CountDownLatch checkStarted = new CountDownLatch(1);
+    CountDownLatch checkInterrupted = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              checkStarted.countDown();
+              try {
+                Thread.sleep(10_000);
+              } catch (InterruptedException e) {
+                checkInterrupted.countDown();
+              }
+              return null;
+            })
+        .when(notificationValidatorService)
+        .validateDocumentReferences(any(), any());
+    when(contextEnrichmentService.fetchContextInformation(any(), eq(token)))
+        .thenAnswer(
+            invocation -> {
+              assertThat(checkStarted.await(5, TimeUnit.SECONDS)).isTrue();
+              throw new IgsServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "CES failed");
+            });
+
+    IgsServiceException exception =
+        assertThrows(
+            IgsServiceException.class, () -> service.process(DEFAULT_BUNDLE, mediaType, token));
+
+    assertThat(exception.getMessage()).isEqualTo("CES failed");
+    await().atMost(5, TimeUnit.SECONDS).until(() -> checkInterrupted.getCount() == 0);
+    verify(fhirStorageService, never()).sendNotificationToFhirStorage(any());
+  }
 }
@@ -0,0 +1,211 @@
+package de.gematik.demis.igs.service.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.validation.ValidationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import util.BaseUtil;
+
+class ProxyInputStreamServiceTest {
+
+  private ThreadPoolTaskExecutor ioExecutor;
+  private ThreadPoolTaskExecutor cpuExecutor;
+  private ProxyInputStreamService underTest;
+  private ValidationContext context;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final BufferPool bufferPool = new BaseUtil().createLeakTrackingBufferPool();
+
+  @BeforeEach
+  void setUp() {
+    ioExecutor = executor("io-", 0);
+    cpuExecutor = executor("cpu-", 0);
+    underTest = new ProxyInputStreamService(ioExecutor, cpuExecutor, meterRegistry, bufferPool);
+    context = new ValidationContext("documentId");
+  }
+
+  @AfterEach
+  void tearDown() {
+    // the pipes return their buffers once both ends have been closed by the stages
+    await().atMost(5, SECONDS).until(() -> bufferPool.getLeaks().isEmpty());
+    ioExecutor.shutdown();
+    cpuExecutor.shutdown();
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldRunStagesOnTheirOwnExecutor() {
+    AtomicReference<String> ioThread = new AtomicReference<>();
+    AtomicReference<String> cpuThread = new AtomicReference<>();
+
+    String content = "ACGT".repeat(100);
+    InputStream hashed = underTest.runIoBound(input(content), copy(ioThread), context);
+    try (InputStream result = underTest.runCpuBound(hashed, copy(cpuThread), context)) {
+      assertThat(new String(result.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+    }
+
+    assertThat(ioThread.get()).startsWith("io-");
+    assertThat(cpuThread.get()).startsWith("cpu-");
+    await()
+        .atMost(5, SECONDS)
+        .until(() -> meterRegistry.find("igs.pipe.fill.ratio").summaries().size() == 2);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReportBytesBufferedInOpenPipes() {
+    PipedOutputStream source = new PipedOutputStream();
+    InputStream result = underTest.runIoBound(new PipedInputStream(source), copy(null), context);
+    source.write("ACGT".getBytes(StandardCharsets.UTF_8));
+    source.flush();
+
+    await().atMost(5, SECONDS).until(() -> underTest.getBufferedBytes() == 4);
+    assertThat(underTest.getOpenPipes()).isEqualTo(1);
+
+    source.close();
+    assertThat(result.readAllBytes()).hasSize(4);
+    result.close();
+    await().atMost(5, SECONDS).until(() -> underTest.getOpenPipes() == 0);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldCloseInputIfStageIsRejected() {
+    CountDownLatch release = new CountDownLatch(1);
+    cpuExecutor.execute(() -> awaitQuietly(release));
+    AtomicBoolean closed = new AtomicBoolean();
+    InputStream in =
+        new ByteArrayInputStream(new byte[0]) {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+
+    try {
+      assertThatThrownBy(
+              () -> underTest.runCpuBound(in, copy(new AtomicReference<>()), context))
+          .isInstanceOf(IgsServiceException.class);
+      assertThat(closed).isTrue();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldStopStagesOnCancellation() {
+    PipedOutputStream source = new PipedOutputStream();
+    InputStream hashed = underTest.runIoBound(new PipedInputStream(source), copy(null), context);
+    InputStream result = underTest.runCpuBound(hashed, copy(null), context);
+    source.write("ACGT".getBytes(StandardCharsets.UTF_8));
+    assertThat(result.readNBytes(4)).hasSize(4);
+
+    context.cancel();
+
+    // the reader sees the end of the data although the source has never been closed
+    assertThat(result.read()).isEqualTo(-1);
+    result.close();
+    await().atMost(5, SECONDS).until(() -> ioExecutor.getActiveCount() == 0);
+    await().atMost(5, SECONDS).until(() -> cpuExecutor.getActiveCount() == 0);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldEndResultOfStageCancelledBeforeItStarted() {
+    CountDownLatch release = new CountDownLatch(1);
+    ThreadPoolTaskExecutor queueing = executor("queueing-", 1);
+    queueing.execute(() -> awaitQuietly(release));
+    underTest = new ProxyInputStreamService(queueing, cpuExecutor, meterRegistry, bufferPool);
+    try (InputStream result = underTest.runIoBound(input("ACGT"), copy(null), context)) {
+      context.cancel();
+
+      assertThat(result.read()).isEqualTo(-1);
+    } finally {
+      release.countDown();
+      queueing.shutdown();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ThreadPoolTaskExecutor executor(String prefix, int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix(prefix);
+    executor.initialize();
+    return executor;
+  }
+
+  private static InputStream input(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static BiFunction<InputStream, OutputStream, Void> copy(
+      AtomicReference<String> threadName) {
+    return (in, out) -> {
+      if (threadName != null) {
+        threadName.set(Thread.currentThread().getName());
+      }
+      try {
+        in.transferTo(out);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+      return null;
+    };
+  }
+}
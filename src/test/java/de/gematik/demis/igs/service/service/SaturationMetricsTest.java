@@ -0,0 +1,102 @@
+package de.gematik.demis.igs.service.service;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.service.SaturationMetrics.BYTES_IN_FLIGHT;
+import static de.gematik.demis.igs.service.service.SaturationMetrics.PIPES_BUFFERED;
+import static de.gematik.demis.igs.service.service.SaturationMetrics.PIPES_OPEN;
+import static de.gematik.demis.igs.service.service.SaturationMetrics.STATUS_WAITERS;
+import static de.gematik.demis.igs.service.service.SaturationMetrics.STORAGE_STREAMS_OPEN;
+import static de.gematik.demis.igs.service.service.SaturationMetrics.VALIDATIONS_IN_FLIGHT;
+import static de.gematik.demis.igs.service.service.SaturationMetrics.VALIDATIONS_TRACKED;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import de.gematik.demis.igs.service.service.validation.ValidationTracker;
+import de.gematik.demis.igs.service.service.validation.queue.ValidationAdmission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SaturationMetricsTest {
+
+  @Mock ValidationTracker validationTracker;
+  @Mock ValidationAdmission validationAdmission;
+  @Mock ProxyInputStreamService proxyInputStreamService;
+  @Mock SimpleStorageService storageService;
+  @Mock DocumentReferenceService documentReferenceService;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    new SaturationMetrics(
+            validationTracker,
+            validationAdmission,
+            proxyInputStreamService,
+            storageService,
+            documentReferenceService)
+        .bindTo(meterRegistry);
+  }
+
+  @Test
+  void shouldReportSaturationOfInstance() {
+    when(validationTracker.count(VALIDATING)).thenReturn(2);
+    when(validationAdmission.getJobsInFlight()).thenReturn(5);
+    when(validationAdmission.getBytesInFlight()).thenReturn(1000L);
+    when(proxyInputStreamService.getOpenPipes()).thenReturn(4);
+    when(proxyInputStreamService.getBufferedBytes()).thenReturn(300L);
+    when(storageService.getOpenStreams()).thenReturn(2);
+    when(documentReferenceService.getLongPollWaiters()).thenReturn(7);
+
+    assertThat(gauge(VALIDATIONS_TRACKED, "validating")).isEqualTo(2);
+    assertThat(gauge(VALIDATIONS_IN_FLIGHT, null)).isEqualTo(5);
+    assertThat(gauge(BYTES_IN_FLIGHT, null)).isEqualTo(1000);
+    assertThat(gauge(PIPES_OPEN, null)).isEqualTo(4);
+    assertThat(gauge(PIPES_BUFFERED, null)).isEqualTo(300);
+    assertThat(gauge(STORAGE_STREAMS_OPEN, null)).isEqualTo(2);
+    assertThat(gauge(STATUS_WAITERS, null)).isEqualTo(7);
+  }
+
+  @Test
+  void shouldReportTrackedValidationsPerState() {
+    assertThat(meterRegistry.get(VALIDATIONS_TRACKED).gauges())
+        .extracting(gauge -> gauge.getId().getTag("state"))
+        .containsExactlyInAnyOrder("validating", "valid", "validation_failed");
+  }
+
+  private double gauge(String name, String state) {
+    return state == null
+        ? meterRegistry.get(name).gauge().value()
+        : meterRegistry.get(name).tag("state", state).gauge().value();
+  }
+}
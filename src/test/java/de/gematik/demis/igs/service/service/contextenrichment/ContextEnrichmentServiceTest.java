@@ -145,4 +145,20 @@ class ContextEnrichmentServiceTest {
                     "https://demis.rki.de/fhir/Provenance/0161eba5-e6b2-401f-8966-2d1559abca56"),
         () -> assertThat(entityComponentCaptor.getValue().getFullUrl()).contains("Provenance"));
   }
+
+  @Test
+  @SneakyThrows
+  @DisplayName("Test that fetching the context information does not change the bundle")
+  void testFetchDoesNotModifyBundle() {
+    when(contextEnrichmentServiceClient.enrichBundleWithContextInformation(
+            TOKEN, testData.getDefaultCompositionId()))
+        .thenReturn(testData.readFileToString(PROVENANCE_RESOURCE));
+    when(fhirBundleOperationService.getCompositionId(bundle))
+        .thenReturn(testData.getDefaultCompositionId());
+
+    assertThat(underTest.fetchContextInformation(bundle, TOKEN))
+        .hasValueSatisfying(
+            entry -> assertThat(entry.getResource()).isInstanceOf(Provenance.class));
+    verify(fhirBundleOperationService, times(0)).addEntry(any(), any());
+  }
 }
@@ -0,0 +1,105 @@
+package de.gematik.demis.igs.service.service.fhir;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.utils.Constants.LABORATORY_ID_URL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r4.model.Composition;
+import org.hl7.fhir.r4.model.Organization;
+import org.hl7.fhir.r4.model.Provenance;
+import org.junit.jupiter.api.Test;
+import util.BaseUtil;
+
+class BundleIndexTest {
+
+  private final BaseUtil testUtils = new BaseUtil();
+
+  @Test
+  void shouldKeepIndexInBundle() {
+    Bundle bundle = testUtils.getDefaultBundle();
+    assertThat(BundleIndex.of(bundle)).isSameAs(BundleIndex.of(bundle));
+  }
+
+  @Test
+  void shouldFindFirstResourceOfType() {
+    Bundle bundle = testUtils.getDefaultBundle();
+    Composition expected =
+        bundle.getEntry().stream()
+            .map(BundleEntryComponent::getResource)
+            .filter(Composition.class::isInstance)
+            .map(Composition.class::cast)
+            .findFirst()
+            .orElseThrow();
+    assertThat(BundleIndex.of(bundle).first(Composition.class)).containsSame(expected);
+  }
+
+  @Test
+  void shouldFindResourceByIdentifierSystem() {
+    Bundle bundle = new Bundle();
+    Organization other = new Organization();
+    other.addIdentifier().setSystem("https://example.org/other").setValue("1");
+    Organization laboratory = new Organization();
+    laboratory.addIdentifier().setValue("without system");
+    laboratory.addIdentifier().setSystem(LABORATORY_ID_URL).setValue("2");
+    bundle.addEntry().setResource(other);
+    bundle.addEntry().setResource(laboratory);
+    assertThat(BundleIndex.of(bundle).first(Organization.class, LABORATORY_ID_URL))
+        .containsSame(laboratory);
+    assertThat(BundleIndex.of(bundle).first(Composition.class, LABORATORY_ID_URL)).isEmpty();
+  }
+
+  @Test
+  void shouldIndexAddedEntry() {
+    Bundle bundle = testUtils.getDefaultBundle();
+    BundleIndex index = BundleIndex.of(bundle);
+    BundleEntryComponent entry = new BundleEntryComponent().setResource(new Provenance());
+    bundle.addEntry(entry);
+    index.add(entry);
+    assertThat(BundleIndex.of(bundle)).isSameAs(index);
+    assertThat(index.first(Provenance.class)).containsSame(entry.getResource());
+  }
+
+  @Test
+  void shouldRebuildIndexIfEntriesChangedDirectly() {
+    Bundle bundle = testUtils.getDefaultBundle();
+    BundleIndex index = BundleIndex.of(bundle);
+    Provenance provenance = new Provenance();
+    bundle.addEntry().setResource(provenance);
+    assertThat(BundleIndex.of(bundle)).isNotSameAs(index);
+    assertThat(BundleIndex.of(bundle).first(Provenance.class)).containsSame(provenance);
+  }
+
+  @Test
+  void shouldIgnoreEntriesWithoutResource() {
+    Bundle bundle = new Bundle();
+    bundle.addEntry();
+    assertThat(BundleIndex.of(bundle).first(Composition.class)).isEmpty();
+  }
+}
@@ -48,6 +48,8 @@ import de.gematik.demis.fhirparserlibrary.FhirParser;
 import de.gematik.demis.fhirparserlibrary.ParsingException;
 import de.gematik.demis.igs.service.exception.ErrorCode;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -72,7 +74,9 @@ class FhirBundleOperationServiceTest {
   public static final String EXAMPLE_TRANSACTION_ID = "AnyTransactionId";
   BaseUtil testUtils = new BaseUtil();
   FhirBundleOperationService underTest =
-      new FhirBundleOperationService(new FhirParser(FhirContext.forR4Cached()));
+      new FhirBundleOperationService(
+          new FhirParser(FhirContext.forR4Cached()),
+          new IdGenerator(IdGeneratorConfiguration.builder().build()));
 
   @Test
   @SneakyThrows
@@ -35,6 +35,8 @@ import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.NULL;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.WARNING;
 
 import de.gematik.demis.igs.service.exception.ErrorCode;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration;
 import java.util.stream.Stream;
 import org.hl7.fhir.r4.model.CanonicalType;
 import org.hl7.fhir.r4.model.OperationOutcome;
@@ -50,7 +52,8 @@ class FhirOperationOutcomeOperationServiceTest {
 
   private BaseUtil testUtil = new BaseUtil();
   private FhirOperationOutcomeOperationService underTest =
-      new FhirOperationOutcomeOperationService();
+      new FhirOperationOutcomeOperationService(
+          new IdGenerator(IdGeneratorConfiguration.builder().build()));
 
   @Test
   void shouldAddProfileCorrectly() {
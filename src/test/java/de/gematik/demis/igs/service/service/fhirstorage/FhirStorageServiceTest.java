@@ -31,6 +31,8 @@ import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.when;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.igs.IdGenerator;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration;
 import de.gematik.demis.service.base.error.ServiceCallException;
 import org.hl7.fhir.r4.model.Bundle;
 import org.junit.jupiter.api.Test;
@@ -39,6 +41,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import util.BaseUtil;
@@ -46,27 +49,29 @@ import util.BaseUtil;
 @ExtendWith(MockitoExtension.class)
 class FhirStorageServiceTest {
 
-  @Captor private ArgumentCaptor<String> jsonStringCaptor;
+  @Captor private ArgumentCaptor<Bundle> bundleCaptor;
   private BaseUtil testUtils = new BaseUtil();
 
   @Mock FhirStorageWriterClient client;
+  @Spy IdGenerator idGenerator = new IdGenerator(IdGeneratorConfiguration.builder().build());
 
   @InjectMocks FhirStorageService service;
 
   @Test
   void shouldSendBundleInBundle() {
     Bundle bundle = testUtils.getDefaultBundle();
-    when(client.sendNotification(jsonStringCaptor.capture()))
+    when(client.sendNotification(bundleCaptor.capture()))
         .thenReturn(ResponseEntity.ok("Call successful"));
     service.sendNotificationToFhirStorage(bundle);
-    Bundle transactionBundle = testUtils.getBundleFromJsonString(jsonStringCaptor.getValue());
+    Bundle transactionBundle = bundleCaptor.getValue();
     assertThat(transactionBundle.getEntry()).hasSize(1);
+    assertThat(transactionBundle.getEntry().getFirst().getFullUrl()).startsWith("urn:uuid:");
   }
 
   @Test
   void shouldThrowIgsFswExceptionIfRequestIsNotOk() {
     Bundle bundle = testUtils.getDefaultBundle();
-    when(client.sendNotification(jsonStringCaptor.capture())).thenThrow(ServiceCallException.class);
+    when(client.sendNotification(bundleCaptor.capture())).thenThrow(ServiceCallException.class);
     assertThrows(IgsServiceException.class, () -> service.sendNotificationToFhirStorage(bundle));
   }
 
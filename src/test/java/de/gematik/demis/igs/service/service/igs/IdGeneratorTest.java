@@ -0,0 +1,127 @@
+package de.gematik.demis.igs.service.service.igs;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration.Entropy;
+import de.gematik.demis.igs.service.service.igs.IdGeneratorConfiguration.Version;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class IdGeneratorTest {
+
+  private static final Instant NOW = Instant.parse("2026-10-19T12:00:00.123Z");
+
+  private static IdGenerator generator(Version version, Entropy entropy) {
+    IdGenerator generator =
+        new IdGenerator(
+            IdGeneratorConfiguration.builder().version(version).entropy(entropy).build());
+    generator.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+    return generator;
+  }
+
+  @ParameterizedTest
+  @EnumSource(Entropy.class)
+  void shouldGenerateTimeOrderedUuid(Entropy entropy) {
+    UUID uuid = generator(Version.TIME_ORDERED, entropy).nextOrderedUuid();
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli());
+  }
+
+  @ParameterizedTest
+  @EnumSource(Entropy.class)
+  void shouldGenerateRandomUuid(Entropy entropy) {
+    UUID uuid = generator(Version.RANDOM, entropy).nextOrderedUuid();
+    assertThat(uuid.version()).isEqualTo(4);
+    assertThat(uuid.variant()).isEqualTo(2);
+  }
+
+  @ParameterizedTest
+  @EnumSource(Version.class)
+  void shouldAlwaysGenerateRandomDocumentIds(Version version) {
+    UUID uuid = UUID.fromString(generator(version, Entropy.SECURE).nextId());
+    assertThat(uuid.version()).isEqualTo(4);
+    assertThat(uuid.variant()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldDrawDocumentIdsFromSecureGeneratorEvenIfFastIsConfigured() {
+    IdGenerator generator = generator(Version.TIME_ORDERED, Entropy.FAST);
+    AtomicInteger fastDraws = new AtomicInteger();
+    generator.setFastRandom(
+        () -> {
+          fastDraws.incrementAndGet();
+          return ThreadLocalRandom.current();
+        });
+
+    assertThat(UUID.fromString(generator.nextId()).version()).isEqualTo(4);
+    assertThat(fastDraws).hasValue(0);
+
+    generator.nextOrderedId();
+    assertThat(fastDraws).hasValue(1);
+  }
+
+  @Test
+  void shouldOrderIdsByTime() {
+    IdGenerator generator = generator(Version.TIME_ORDERED, Entropy.SECURE);
+    String earlier = generator.nextOrderedId();
+    generator.setClock(Clock.fixed(NOW.plusMillis(1), ZoneOffset.UTC));
+    assertThat(generator.nextOrderedId()).isGreaterThan(earlier);
+  }
+
+  @Test
+  void shouldFormatIdsCanonically() {
+    IdGenerator generator = generator(Version.TIME_ORDERED, Entropy.SECURE);
+    String id = generator.nextId();
+    assertThat(UUID.fromString(id)).hasToString(id);
+    String upperCaseId = generator.nextOrderedUpperCaseId();
+    assertThat(UUID.fromString(upperCaseId).toString().toUpperCase()).isEqualTo(upperCaseId);
+  }
+
+  @Test
+  void shouldNotRepeatIdsAcrossThreads() {
+    IdGenerator generator = generator(Version.TIME_ORDERED, Entropy.SECURE);
+    Set<String> ids =
+        IntStream.range(0, 10_000)
+            .parallel()
+            .mapToObj(i -> generator.nextId())
+            .collect(HashSet::new, Set::add, Set::addAll);
+    assertThat(ids).hasSize(10_000);
+  }
+}
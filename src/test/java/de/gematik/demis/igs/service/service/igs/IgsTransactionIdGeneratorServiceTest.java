@@ -59,7 +59,8 @@ class IgsTransactionIdGeneratorServiceTest {
       mock(FhirBundleOperationService.class);
 
   IgsTransactionIdGeneratorService underTest =
-      new IgsTransactionIdGeneratorService(fhirBundleOperationService);
+      new IgsTransactionIdGeneratorService(
+          fhirBundleOperationService, new IdGenerator(IdGeneratorConfiguration.builder().build()));
 
   @BeforeEach
   void setUp() {
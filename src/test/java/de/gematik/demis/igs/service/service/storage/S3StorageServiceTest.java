@@ -27,11 +27,13 @@ package de.gematik.demis.igs.service.service.storage;
  */
 
 import static de.gematik.demis.igs.service.exception.ErrorCode.FILE_NOT_FOUND;
+import static de.gematik.demis.igs.service.service.storage.S3StorageService.LEASE_PREFIX;
 import static de.gematik.demis.igs.service.service.storage.S3StorageService.LIFECYCLE_RULE_ID_TO_VALIDATE;
 import static de.gematik.demis.igs.service.service.storage.S3StorageService.LIFECYCLE_RULE_ID_VALID;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.UPLOAD_STATUS_DONE;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_DESCRIPTION;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_OWNER;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
@@ -41,6 +43,8 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.FILE_SIZE_TO_LARG
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_ERROR_MESSAGE;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.RESOURCE_NOT_FOUND_ERROR_MSG;
 import static de.gematik.demis.igs.service.utils.Pair.pair;
+import static java.time.Duration.ofHours;
+import static java.time.Duration.ofMinutes;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -61,11 +65,14 @@ import de.gematik.demis.igs.service.api.model.S3Info;
 import de.gematik.demis.igs.service.api.model.ValidationInfo;
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.service.storage.SimpleStorageServiceConfiguration.Bucket;
+import de.gematik.demis.igs.service.service.validation.ValidationContext;
 import de.gematik.demis.igs.service.service.validation.ValidationTracker;
 import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
 import de.gematik.demis.igs.service.utils.Pair;
 import java.io.InputStream;
 import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -84,6 +91,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.Abortable;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
@@ -95,10 +104,14 @@ import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
 import software.amazon.awssdk.services.s3.model.PutBucketLifecycleConfigurationRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedUploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
@@ -138,7 +151,10 @@ class S3StorageServiceTest {
             .multipartMaxUploadSizeInBytes(1024 * 1024 * 1024)
             .signedUrlExpirationInMinutes(1440)
             .build();
-    underTest = spy(new S3StorageService(config, tracker, client, presigner));
+    underTest =
+        spy(
+            new S3StorageService(
+                config, tracker, client, presigner, baseUtil.createLeakTrackingBufferPool()));
   }
 
   @Nested
@@ -187,6 +203,46 @@ class S3StorageServiceTest {
           () -> assertThat(getObjectRequestCaptor.getValue().key()).isEqualTo(EXAMPLE_ID));
     }
 
+    @Test
+    @SneakyThrows
+    void shouldCountStreamAsOpenUntilClosed() {
+      when(client.headObject((HeadObjectRequest) any()))
+          .thenReturn(HeadObjectResponse.builder().contentLength(100L).build());
+      when(client.getObject(any(GetObjectRequest.class)))
+          .thenReturn(
+              new ResponseInputStream<>(
+                  GetObjectResponse.builder().build(),
+                  baseUtil.readFileToInputStream(PATH_TO_FASTQ)));
+
+      InputStream resp = underTest.getBlob(EXAMPLE_ID);
+      assertThat(underTest.getOpenStreams()).isEqualTo(1);
+      resp.close();
+      resp.close();
+      assertThat(underTest.getOpenStreams()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldAbortStreamOnCancellation() {
+      when(client.headObject((HeadObjectRequest) any()))
+          .thenReturn(HeadObjectResponse.builder().contentLength(100L).build());
+      Abortable abortable = mock(Abortable.class);
+      when(client.getObject(any(GetObjectRequest.class)))
+          .thenReturn(
+              new ResponseInputStream<>(
+                  GetObjectResponse.builder().build(),
+                  AbortableInputStream.create(
+                      baseUtil.readFileToInputStream(PATH_TO_FASTQ), abortable)));
+      ValidationContext context = new ValidationContext(EXAMPLE_ID);
+
+      InputStream resp = underTest.getBlob(EXAMPLE_ID);
+      context.abortOnCancel(resp);
+      context.cancel();
+
+      verify(abortable).abort();
+      assertThat(underTest.getOpenStreams()).isZero();
+    }
+
     @Test
     @SneakyThrows
     void shouldCallClientCorrectlyOnPutObject() {
@@ -460,6 +516,57 @@ class S3StorageServiceTest {
       underTest.finalizeValidation(EXAMPLE_ID);
       verify(underTest).emptyFile(EXAMPLE_ID);
     }
+
+    @Test
+    void shouldClaimOnlyValidationsWithExpiredLease() {
+      String bucket = config.getUploadBucket().getName();
+      Instant old = Instant.now().minus(ofHours(1));
+      when(client.listObjectsV2Paginator(any(ListObjectsV2Request.class)))
+          .thenAnswer(invocation -> new ListObjectsV2Iterable(client, invocation.getArgument(0)));
+      when(client.listObjectsV2(any(ListObjectsV2Request.class)))
+          .thenReturn(
+              ListObjectsV2Response.builder()
+                  .contents(
+                      s3Object("leased", old),
+                      s3Object("abandoned", old),
+                      s3Object("recent", Instant.now()),
+                      s3Object(LEASE_PREFIX + "leased", Instant.now()))
+                  .build());
+      HeadObjectResponse validating =
+          HeadObjectResponse.builder()
+              .metadata(Map.of(VALIDATION_STATUS, VALIDATING.name()))
+              .build();
+      when(client.headObject(HeadObjectRequest.builder().bucket(bucket).key("leased").build()))
+          .thenReturn(validating);
+      when(client.headObject(HeadObjectRequest.builder().bucket(bucket).key("abandoned").build()))
+          .thenReturn(validating);
+      when(client.headObject(
+              HeadObjectRequest.builder().bucket(bucket).key(LEASE_PREFIX + "leased").build()))
+          .thenReturn(HeadObjectResponse.builder().lastModified(Instant.now()).build());
+      when(client.headObject(
+              HeadObjectRequest.builder().bucket(bucket).key(LEASE_PREFIX + "abandoned").build()))
+          .thenThrow(S3Exception.builder().statusCode(404).build());
+
+      List<String> claimed = new ArrayList<>();
+      underTest.claimStaleValidations(ofMinutes(30), 100, claimed::add);
+
+      assertThat(claimed).containsExactly("abandoned");
+      verify(client).copyObject(copyObjectRequestCaptor.capture());
+      assertThat(copyObjectRequestCaptor.getValue().destinationKey()).isEqualTo("abandoned");
+    }
+
+    @Test
+    void shouldRecordOwnerInLease() {
+      underTest.renewLease(EXAMPLE_ID, "pod-1");
+
+      verify(client).putObject(putObjectCaptor.capture(), any(RequestBody.class));
+      assertThat(putObjectCaptor.getValue().key()).isEqualTo(LEASE_PREFIX + EXAMPLE_ID);
+      assertThat(putObjectCaptor.getValue().metadata()).containsEntry(VALIDATION_OWNER, "pod-1");
+    }
+
+    private static S3Object s3Object(String key, Instant lastModified) {
+      return S3Object.builder().key(key).size(100L).lastModified(lastModified).build();
+    }
   }
 
   @Nested
@@ -0,0 +1,112 @@
+package de.gematik.demis.igs.service.service.stream;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BufferPoolTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private BufferPool underTest;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest =
+        new BufferPool(
+            StreamConfiguration.builder()
+                .pipeCapacityInBytes(64)
+                .copyBufferSizeInBytes(32)
+                .maxIdlePipeBuffers(1)
+                .maxIdleCopyBuffers(1)
+                .trackBufferLeaks(true)
+                .build(),
+            meterRegistry);
+  }
+
+  @Test
+  void shouldReuseReturnedBuffers() {
+    BufferPool.Lease<byte[]> first = underTest.copyBuffer();
+    byte[] buffer = first.get();
+    first.close();
+
+    try (BufferPool.Lease<byte[]> second = underTest.copyBuffer()) {
+      assertThat(second.get()).isSameAs(buffer).hasSize(32);
+    }
+    assertThat(counter("igs.buffer.pool.misses", "copy")).isEqualTo(1);
+    assertThat(counter("igs.buffer.pool.hits", "copy")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldHandOutClearedDirectBuffers() {
+    BufferPool.Lease<ByteBuffer> first = underTest.pipeBuffer();
+    first.get().position(10).limit(20);
+    first.close();
+
+    try (BufferPool.Lease<ByteBuffer> second = underTest.pipeBuffer()) {
+      assertThat(second.get().isDirect()).isTrue();
+      assertThat(second.get().position()).isZero();
+      assertThat(second.get().limit()).isEqualTo(64);
+    }
+  }
+
+  @Test
+  void shouldKeepOnlyConfiguredNumberOfIdleBuffers() {
+    BufferPool.Lease<byte[]> first = underTest.copyBuffer();
+    BufferPool.Lease<byte[]> second = underTest.copyBuffer();
+    first.close();
+    second.close();
+
+    assertThat(meterRegistry.get("igs.buffer.pool.idle").tag("type", "copy").gauge().value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldTrackOutstandingBytesAndLeaks() {
+    BufferPool.Lease<byte[]> copy = underTest.copyBuffer();
+    BufferPool.Lease<ByteBuffer> pipe = underTest.pipeBuffer();
+
+    assertThat(underTest.getOutstandingBytes()).isEqualTo(96);
+    assertThat(underTest.getLeaks()).hasSize(2);
+
+    copy.close();
+    copy.close();
+    pipe.close();
+
+    assertThat(underTest.getOutstandingBytes()).isZero();
+    assertThat(underTest.getLeaks()).isEmpty();
+  }
+
+  private double counter(String name, String type) {
+    return meterRegistry.get(name).tag("type", type).counter().count();
+  }
+}
@@ -0,0 +1,90 @@
+package de.gematik.demis.igs.service.service.stream;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+class StageMeterTest {
+
+  private final StageMeter underTest = new StageMeter();
+
+  @Test
+  @SneakyThrows
+  void shouldCountBytesReadAndWritten() {
+    try (InputStream in = underTest.meter(new ByteArrayInputStream(new byte[100]));
+        OutputStream out = underTest.meter(new ByteArrayOutputStream())) {
+      in.read();
+      out.write(in.readNBytes(50));
+      out.write(1);
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    assertThat(underTest.bytesRead()).isEqualTo(100);
+    assertThat(underTest.bytesWritten()).isEqualTo(51);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReportProgressAfterEachRead() {
+    List<Long> reported = new ArrayList<>();
+    try (InputStream in = underTest.meter(new ByteArrayInputStream(new byte[10]), reported::add)) {
+      in.readNBytes(4);
+      in.readNBytes(6);
+    }
+    assertThat(reported).containsExactly(4L, 10L);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldNotCountTimeWaitingForInputAsBusy() {
+    InputStream slow =
+        new FilterInputStream(new ByteArrayInputStream(new byte[10])) {
+          @Override
+          @SneakyThrows
+          public int read(byte[] buffer, int offset, int length) throws IOException {
+            Thread.sleep(50);
+            return super.read(buffer, offset, length);
+          }
+        };
+    try (InputStream in = underTest.meter(slow)) {
+      in.readAllBytes();
+    }
+    assertThat(underTest.readNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    assertThat(underTest.busyNanos()).isLessThan(underTest.readNanos());
+  }
+}
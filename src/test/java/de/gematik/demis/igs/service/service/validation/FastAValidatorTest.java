@@ -34,16 +34,20 @@ import static de.gematik.demis.igs.service.service.validation.FastAValidator.INV
 import static de.gematik.demis.igs.service.service.validation.FastAValidator.LAST_LINE_HEADER_ERROR_MSG;
 import static de.gematik.demis.igs.service.service.validation.FastAValidator.MISSING_PATHOGEN_CODE_ERROR_MSG;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
 import de.gematik.demis.igs.service.service.validation.FastAValidationSpecifications.FastAConfig;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Nested;
@@ -143,6 +147,67 @@ class FastAValidatorTest {
     }
   }
 
+  @Nested
+  class ValidationFastAWithoutDecoding {
+
+    static Stream<Arguments> shouldThrowSameExceptionAsWhenDecoding() {
+      return StrictValidationFastA.violatesPathogenRuleExamples();
+    }
+
+    private static AsciiLineReader createLineReader(String s) {
+      return new AsciiLineReader(new ByteArrayInputStream(s.getBytes(UTF_8)));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldValidateSuccessfully() {
+      AsciiLine firstLine = AsciiLine.of(">HeresomeComment with spaces");
+      AsciiLineReader lineReader =
+          createLineReader("AAAA\r\nAAAA\r\nAAAA\r\nAAAA\r\n>AnotherHeader\r\nA\r\n");
+      assertDoesNotThrow(() -> underTest.validate(firstLine, lineReader));
+    }
+
+    @SneakyThrows
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({"X", "a", "€", "ä"})
+    void shouldThrowExceptionIfInvalidCharInSequence(String invalidChar) {
+      AsciiLineReader lineReader =
+          createLineReader(format("AAAA\nA%sAA\nAAAA\nAAAA", invalidChar));
+      IgsServiceException ex =
+          assertThrows(
+              IgsServiceException.class,
+              () -> underTest.validate(AsciiLine.of(">Header"), lineReader));
+      assertThat(ex.getMessage()).isEqualTo(format(INVALID_CHAR_ERROR_MSG, "sequence", 3));
+    }
+
+    @SneakyThrows
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({"€", "†", "ä", "Ü", "ö"})
+    void shouldThrowExceptionIfInvalidCharInHeader(String invalidChar) {
+      AsciiLineReader lineReader =
+          createLineReader(format("AAAA\n>Header %s\nAAAA", invalidChar));
+      IgsServiceException ex =
+          assertThrows(
+              IgsServiceException.class,
+              () -> underTest.validate(AsciiLine.of(">Header"), lineReader));
+      assertThat(ex.getMessage()).isEqualTo(format(INVALID_CHAR_ERROR_MSG, "header", 3));
+    }
+
+    @SneakyThrows
+    @MethodSource
+    @ParameterizedTest(name = "{0}")
+    void shouldThrowSameExceptionAsWhenDecoding(
+        String testName, String firstLine, BufferedReader br, String expectedMessage) {
+      AsciiLineReader lineReader =
+          createLineReader(br.lines().collect(Collectors.joining("\n")));
+      IgsServiceException ex =
+          assertThrows(
+              IgsServiceException.class,
+              () -> underTestFastAOnly.validate(AsciiLine.of(firstLine), lineReader));
+      assertThat(ex.getMessage()).isEqualTo(expectedMessage);
+    }
+  }
+
   @Nested
   class StrictValidationFastA {
 
@@ -32,10 +32,13 @@ import static de.gematik.demis.igs.service.service.validation.FastQValidator.LIN
 import static de.gematik.demis.igs.service.service.validation.FastQValidator.NO_ASCII_CHAR_FOUND_MSG;
 import static de.gematik.demis.igs.service.service.validation.FastQValidator.THIRD_LINE_WRONG_START_MSG;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -131,6 +134,32 @@ class FastQValidatorTest {
     }
   }
 
+  @SneakyThrows
+  @ParameterizedTest(name = "{1} in line {0}")
+  @MethodSource("shouldThrowExceptionBecauseOneLineHaveInvalidChar")
+  void shouldThrowExceptionBecauseOneLineHaveInvalidCharWithoutDecoding(
+      int line, String invalidChar, List<String> lines) {
+    AsciiLineReader lineReader =
+        new AsciiLineReader(
+            new ByteArrayInputStream(String.join("\n", lines.subList(1, 4)).getBytes(UTF_8)));
+    AsciiLine firstLine = AsciiLine.of(lines.getFirst());
+    IgsServiceException ex =
+        assertThrows(IgsServiceException.class, () -> underTest.validate(firstLine, lineReader));
+    assertThat(ex.getMessage()).isEqualTo(format(NO_ASCII_CHAR_FOUND_MSG, 1, 4));
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldThrowExceptionIfLineTwoAndFourNotTheSameLengthWithoutDecoding() {
+    AsciiLineReader lineReader =
+        new AsciiLineReader(new ByteArrayInputStream("AAA\r\n+\r\nDiffer".getBytes(UTF_8)));
+    IgsServiceException ex =
+        assertThrows(
+            IgsServiceException.class,
+            () -> underTest.validate(AsciiLine.of(VALID_FIRST_LINE), lineReader));
+    assertThat(ex.getMessage()).isEqualTo(format(LINE_LENGTH_DIFFER_ERROR_MESSAGE, 2, 4));
+  }
+
   private BufferedReader createBufferedReader(String s) {
     return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(s.getBytes())));
   }
@@ -26,6 +26,8 @@ package de.gematik.demis.igs.service.service.validation;
  * #L%
  */
 
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.HASH;
+import static de.gematik.demis.igs.service.service.validation.ValidationStage.S3_READ;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
@@ -33,17 +35,20 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.HASH_ERROR_MSG;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static util.BaseUtil.PATH_TO_FASTQ;
 
+import de.gematik.demis.igs.service.service.stream.BufferPool;
 import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -57,17 +62,23 @@ class HashValidatorFunctionTest {
 
   public static final String EXAMPLE_ID = "SomeId";
   BaseUtil testUtil = new BaseUtil();
+  BufferPool bufferPool = testUtil.createLeakTrackingBufferPool();
   @Mock ValidationTracker tracker;
   @Captor ArgumentCaptor<ValidationStatus> statusCaptor;
   @Captor ArgumentCaptor<String> msgCaptor;
 
+  @AfterEach
+  void checkForBufferLeaks() {
+    assertThat(bufferPool.getLeaks()).isEmpty();
+  }
+
   @Test
   @SneakyThrows
   void shouldValidateCorrectlyAndWriteToOutput() {
     InputStream input = testUtil.readFileToInputStream(PATH_TO_FASTQ);
     String hash = testUtil.calcHashOnFile(PATH_TO_FASTQ);
     OutputStream out = new ByteArrayOutputStream();
-    new HashValidatorFunction(hash, EXAMPLE_ID, tracker).apply(input, out);
+    new HashValidatorFunction(hash, EXAMPLE_ID, tracker, bufferPool).apply(input, out);
     assertTrue(
         testUtil.streamCompare(
             testUtil.readFileToInputStream(PATH_TO_FASTQ),
@@ -80,7 +91,7 @@ class HashValidatorFunctionTest {
     InputStream input = testUtil.readFileToInputStream(PATH_TO_FASTQ);
     String hash = "InvalidHash";
     OutputStream out = new ByteArrayOutputStream();
-    new HashValidatorFunction(hash, EXAMPLE_ID, tracker).apply(input, out);
+    new HashValidatorFunction(hash, EXAMPLE_ID, tracker, bufferPool).apply(input, out);
     assertAll(
         () -> verify(tracker, times(1)).updateHashStatus(eq(EXAMPLE_ID), statusCaptor.capture()),
         () ->
@@ -97,9 +108,22 @@ class HashValidatorFunctionTest {
     InputStream input = testUtil.readFileToInputStream(PATH_TO_FASTQ);
     String hash = testUtil.calcHashOnFile(PATH_TO_FASTQ);
     OutputStream out = new ByteArrayOutputStream();
-    new HashValidatorFunction(hash, EXAMPLE_ID, tracker).apply(input, out);
+    new HashValidatorFunction(hash, EXAMPLE_ID, tracker, bufferPool).apply(input, out);
     assertAll(
         () -> verify(tracker, times(2)).updateHashStatus(eq(EXAMPLE_ID), statusCaptor.capture()),
         () -> assertThat(statusCaptor.getAllValues()).containsExactly(VALIDATING, VALID));
   }
+
+  @Test
+  @SneakyThrows
+  void shouldRecordReadAndHashStage() {
+    InputStream input = testUtil.readFileToInputStream(PATH_TO_FASTQ);
+    String hash = testUtil.calcHashOnFile(PATH_TO_FASTQ);
+    long size = testUtil.getFileSize(PATH_TO_FASTQ);
+    new HashValidatorFunction(hash, EXAMPLE_ID, tracker, bufferPool)
+        .apply(input, new ByteArrayOutputStream());
+    assertAll(
+        () -> verify(tracker).recordStage(eq(EXAMPLE_ID), eq(S3_READ), anyLong(), eq(size)),
+        () -> verify(tracker).recordStage(eq(EXAMPLE_ID), eq(HASH), anyLong(), eq(size)));
+  }
 }
@@ -37,17 +37,21 @@ import static de.gematik.demis.igs.service.service.validation.ValidationServiceC
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
 import static de.gematik.demis.igs.service.utils.ErrorMessages.RESOURCE_NOT_FOUND_ERROR_MSG;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.FATAL;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.INFORMATION;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.WARNING;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_XML;
@@ -57,6 +61,7 @@ import de.gematik.demis.igs.service.exception.IgsValidationException;
 import de.gematik.demis.igs.service.service.fhir.FhirBundleOperationService;
 import de.gematik.demis.igs.service.service.fhir.FhirOperationOutcomeOperationService;
 import de.gematik.demis.igs.service.service.storage.S3StorageService;
+import de.gematik.demis.igs.service.service.validation.NotificationValidatorService.RequestHeaders;
 import de.gematik.demis.service.base.error.ServiceCallException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
@@ -74,7 +79,6 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
@@ -104,10 +108,22 @@ class NotificationValidatorServiceTest {
   @Mock HttpServletRequest httpServletRequest;
   @Captor ArgumentCaptor<HttpHeaders> headerCaptor;
 
-  @InjectMocks NotificationValidatorService underTest;
+  NotificationValidatorService underTest;
 
   @BeforeEach
   void setUp() {
+    SequenceDataStatusService sequenceDataStatusService =
+        new SequenceDataStatusService(
+            s3StorageService,
+            null,
+            DocumentReferenceCheckConfiguration.builder().maxConcurrentChecks(1).build());
+    underTest =
+        new NotificationValidatorService(
+            client,
+            outcomeService,
+            fhirBundleOperationService,
+            sequenceDataStatusService,
+            httpServletRequest);
     underTest.setDemisExternalUrl("https://demis.rki.de");
     underTest.setVersionHeaderForwardEnabled(false);
     // outcomeService should only response what he was given
@@ -121,10 +137,10 @@ class NotificationValidatorServiceTest {
 
   @Test
   void shouldValidateSuccessfully() {
-    String bundleString = testUtil.getDefaultBundleAsString();
-    when(client.validateJsonBundle(any(), eq(bundleString)))
+    byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+    when(client.validateJsonBundle(any(), aryEq(bundle)))
         .thenReturn(testUtil.createOutcomeResponse(INFORMATION));
-    OperationOutcome outcome = underTest.validateFhir(bundleString, APPLICATION_JSON);
+    OperationOutcome outcome = underTest.validateFhir(bundle, APPLICATION_JSON);
     assertThat(
             outcome.getIssue().stream()
                 .map(OperationOutcome.OperationOutcomeIssueComponent::getSeverity))
@@ -134,10 +150,10 @@ class NotificationValidatorServiceTest {
 
   @Test
   void shouldCallXmlClientIfMediaTypeXml() {
-    String bundleString = testUtil.getDefaultBundleAsString();
-    when(client.validateXmlBundle(any(), eq(bundleString)))
+    byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+    when(client.validateXmlBundle(any(), aryEq(bundle)))
         .thenReturn(testUtil.createOutcomeResponse(INFORMATION));
-    OperationOutcome outcome = underTest.validateFhir(bundleString, APPLICATION_XML);
+    OperationOutcome outcome = underTest.validateFhir(bundle, APPLICATION_XML);
     assertThat(
             outcome.getIssue().stream()
                 .map(OperationOutcome.OperationOutcomeIssueComponent::getSeverity))
@@ -147,50 +163,50 @@ class NotificationValidatorServiceTest {
 
   @Test
   void shouldThrowExceptionIfValidationRequestFails() {
-    String bundleString = testUtil.getDefaultBundleAsString();
-    when(client.validateJsonBundle(any(), eq(bundleString)))
+    byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+    when(client.validateJsonBundle(any(), aryEq(bundle)))
         .thenReturn(testUtil.createBadRequestResponse());
     ServiceCallException exception =
         assertThrows(
             ServiceCallException.class,
-            () -> underTest.validateFhir(bundleString, APPLICATION_JSON));
+            () -> underTest.validateFhir(bundle, APPLICATION_JSON));
     assertThat(exception.getErrorCode()).isEqualTo("VS");
     assertThat(exception.getHttpStatus()).isEqualTo(400);
   }
 
   @Test
   void shouldThrowExceptionIfValidationFatal() {
-    String bundleString = testUtil.getDefaultBundleAsString();
-    when(client.validateJsonBundle(any(), eq(bundleString)))
+    byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+    when(client.validateJsonBundle(any(), aryEq(bundle)))
         .thenReturn(testUtil.createOutcomeResponse(FATAL));
     IgsValidationException exception =
         assertThrows(
             IgsValidationException.class,
-            () -> underTest.validateFhir(bundleString, APPLICATION_JSON));
+            () -> underTest.validateFhir(bundle, APPLICATION_JSON));
     assertThat(exception.getErrorCode()).contains(FHIR_VALIDATION_FATAL.toString());
   }
 
   @Test
   void shouldThrowExceptionIfValidationError() {
-    String bundleString = testUtil.getDefaultBundleAsString();
-    when(client.validateJsonBundle(any(), eq(bundleString)))
+    byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+    when(client.validateJsonBundle(any(), aryEq(bundle)))
         .thenReturn(testUtil.createOutcomeResponse(ERROR));
     IgsValidationException exception =
         assertThrows(
             IgsValidationException.class,
-            () -> underTest.validateFhir(bundleString, APPLICATION_JSON));
+            () -> underTest.validateFhir(bundle, APPLICATION_JSON));
     assertThat(exception.getErrorCode()).contains(FHIR_VALIDATION_ERROR.toString());
   }
 
   @Test
   void shouldThrowExceptionIfValidationWarning() {
-    String bundleString = testUtil.getDefaultBundleAsString();
-    when(client.validateJsonBundle(any(), eq(bundleString)))
+    byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+    when(client.validateJsonBundle(any(), aryEq(bundle)))
         .thenReturn(testUtil.createOutcomeResponse(WARNING));
     IgsValidationException exception =
         assertThrows(
             IgsValidationException.class,
-            () -> underTest.validateFhir(bundleString, APPLICATION_JSON));
+            () -> underTest.validateFhir(bundle, APPLICATION_JSON));
     assertThat(exception.getErrorCode()).contains(FHIR_VALIDATION_ERROR.toString());
   }
 
@@ -316,6 +332,19 @@ class NotificationValidatorServiceTest {
       underTest.validateDocumentReferences(bundle);
     }
 
+    @Test
+    void shouldCheckDocumentReferenceUrlWithVersionOfCapturedHeaders() {
+      Bundle bundle = testUtil.getDefaultBundle();
+      when(s3StorageService.getMetadata(FIRST_DOCUMENT_REFERENCE_ID))
+          .thenReturn(testUtil.determineMetadataForValid());
+      when(fhirBundleOperationService.determineDocumentReferenceUrls(bundle))
+          .thenReturn(List.of(VERSIONED_DOCUMENT_REFERENCE));
+
+      assertDoesNotThrow(
+          () -> underTest.validateDocumentReferences(bundle, new RequestHeaders(VERSION, null)));
+      verifyNoInteractions(httpServletRequest);
+    }
+
     @Test
     void shouldCheckDocumentReferenceUrlWithVersionNumberAndNoVersionNumberSuccessfully() {
       underTest.setVersionHeaderForwardEnabled(true);
@@ -354,16 +383,16 @@ class NotificationValidatorServiceTest {
     @Test
     void shouldForwardHeaderCorrectly() {
       underTest.setVersionHeaderForwardEnabled(true);
-      String bundleString = testUtil.getDefaultBundleAsString();
+      byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
       String profile = "igs-profile-snapshots";
       when(httpServletRequest.getHeader(HEADER_FHIR_API_VERSION)).thenReturn(VERSION);
       when(httpServletRequest.getHeader(HEADER_FHIR_PROFILE)).thenReturn(profile);
-      when(client.validateJsonBundle(any(), eq(bundleString)))
+      when(client.validateJsonBundle(any(), aryEq(bundle)))
           .thenReturn(testUtil.createOutcomeResponse(INFORMATION));
 
-      underTest.validateFhir(bundleString, APPLICATION_JSON);
+      underTest.validateFhir(bundle, APPLICATION_JSON);
 
-      verify(client).validateJsonBundle(headerCaptor.capture(), eq(bundleString));
+      verify(client).validateJsonBundle(headerCaptor.capture(), aryEq(bundle));
       assertThat(headerCaptor.getValue())
           .isNotNull()
           .hasSize(3)
@@ -378,12 +407,12 @@ class NotificationValidatorServiceTest {
     @Test
     void shouldUseDefaultIfNoHeaderSet() {
       underTest.setVersionHeaderForwardEnabled(true);
-      String bundleString = testUtil.getDefaultBundleAsString();
-      when(client.validateJsonBundle(any(), eq(bundleString)))
+      byte[] bundle = testUtil.getDefaultBundleAsString().getBytes(UTF_8);
+      when(client.validateJsonBundle(any(), aryEq(bundle)))
           .thenReturn(testUtil.createOutcomeResponse(INFORMATION));
-      underTest.validateFhir(bundleString, APPLICATION_JSON);
+      underTest.validateFhir(bundle, APPLICATION_JSON);
 
-      verify(client).validateJsonBundle(headerCaptor.capture(), eq(bundleString));
+      verify(client).validateJsonBundle(headerCaptor.capture(), aryEq(bundle));
       assertThat(headerCaptor.getValue())
           .isNotNull()
           .hasSize(1)
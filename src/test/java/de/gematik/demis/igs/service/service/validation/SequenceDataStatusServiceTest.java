@@ -0,0 +1,179 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.FILE_NOT_FOUND;
+import static de.gematik.demis.igs.service.exception.ErrorCode.SEQUENCE_DATA_NOT_VALID;
+import static de.gematik.demis.igs.service.utils.ErrorMessages.RESOURCE_NOT_FOUND_ERROR_MSG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import util.BaseUtil;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceDataStatusServiceTest {
+
+  private static final String FIRST = "first";
+  private static final String SECOND = "second";
+  private static final String THIRD = "third";
+  private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+  private final BaseUtil testUtil = new BaseUtil();
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+  private final DocumentReferenceCheckConfiguration configuration =
+      DocumentReferenceCheckConfiguration.builder()
+          .maxConcurrentChecks(3)
+          .validCacheTtlSecs(60)
+          .validCacheMaxEntries(2)
+          .build();
+  @Mock SimpleStorageService storageService;
+  private SequenceDataStatusService underTest;
+
+  @BeforeEach
+  void setUp() {
+    executor.setCorePoolSize(4);
+    executor.initialize();
+    underTest = new SequenceDataStatusService(storageService, executor, configuration);
+    underTest.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldLookUpDocumentsConcurrently() {
+    CountDownLatch lookedUp = new CountDownLatch(3);
+    when(storageService.getMetadata(any()))
+        .thenAnswer(
+            invocation -> {
+              lookedUp.countDown();
+              // would time out if the documents were looked up one after the other
+              assertThat(lookedUp.await(5, TimeUnit.SECONDS)).isTrue();
+              return testUtil.determineMetadataForValid();
+            });
+
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST, SECOND, THIRD));
+
+    verify(storageService, times(3)).getMetadata(any());
+  }
+
+  @Test
+  void shouldReportFirstInvalidDocumentInOrder() {
+    when(storageService.getMetadata(FIRST)).thenReturn(testUtil.determineMetadataForValid());
+    when(storageService.getMetadata(SECOND)).thenReturn(testUtil.determineMetadataForInValid());
+    when(storageService.getMetadata(THIRD))
+        .thenThrow(new IgsServiceException(FILE_NOT_FOUND, RESOURCE_NOT_FOUND_ERROR_MSG));
+
+    assertThatThrownBy(
+            () -> underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST, SECOND, THIRD)))
+        .isInstanceOf(IgsServiceException.class)
+        .hasMessage("Sequence data with document ID second has not been validated successfully")
+        .extracting(e -> ((IgsServiceException) e).getErrorCode())
+        .isEqualTo(SEQUENCE_DATA_NOT_VALID.name());
+  }
+
+  @Test
+  void shouldCheckOnCallerIfNoThreadIsAvailable() {
+    ThreadPoolTaskExecutor exhausted = mock(ThreadPoolTaskExecutor.class);
+    doThrow(new RejectedExecutionException()).when(exhausted).execute(any());
+    underTest = new SequenceDataStatusService(storageService, exhausted, configuration);
+    when(storageService.getMetadata(any())).thenReturn(testUtil.determineMetadataForValid());
+
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST, SECOND, THIRD));
+
+    verify(storageService, times(3)).getMetadata(any());
+  }
+
+  @Test
+  void shouldNotLookUpValidDocumentAgain() {
+    when(storageService.getMetadata(FIRST)).thenReturn(testUtil.determineMetadataForValid());
+
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST));
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST));
+
+    verify(storageService, times(1)).getMetadata(FIRST);
+  }
+
+  @Test
+  void shouldLookUpValidDocumentAgainAfterTtl() {
+    when(storageService.getMetadata(FIRST)).thenReturn(testUtil.determineMetadataForValid());
+
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST));
+    underTest.setClock(Clock.fixed(NOW.plus(Duration.ofSeconds(60)), ZoneOffset.UTC));
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST));
+
+    verify(storageService, times(2)).getMetadata(FIRST);
+  }
+
+  @Test
+  void shouldLookUpInvalidDocumentAgain() {
+    when(storageService.getMetadata(FIRST)).thenReturn(testUtil.determineMetadataForInValid());
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST)))
+          .isInstanceOf(IgsServiceException.class);
+    }
+
+    verify(storageService, times(2)).getMetadata(FIRST);
+  }
+
+  @Test
+  void shouldRememberNoMoreThanMaxEntries() {
+    when(storageService.getMetadata(any())).thenReturn(testUtil.determineMetadataForValid());
+
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST, SECOND, THIRD));
+    underTest.ensureSequenceDataHasBeenValidated(List.of(FIRST, SECOND, THIRD));
+
+    // only two of the three documents fit into the cache
+    verify(storageService, times(4)).getMetadata(any());
+  }
+}
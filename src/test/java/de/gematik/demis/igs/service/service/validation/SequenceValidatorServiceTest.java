@@ -38,19 +38,23 @@ import static de.gematik.demis.igs.service.utils.ErrorMessages.EMPTY_DOCUMENT_ER
 import static de.gematik.demis.igs.service.utils.ErrorMessages.INVALID_DOCUMENT_TYPE_ERROR_MSG;
 import static java.lang.String.format;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static util.BaseUtil.PATH_TO_FASTA;
 import static util.BaseUtil.PATH_TO_FASTQ;
 
+import de.gematik.demis.igs.service.service.stream.BufferPool;
 import de.gematik.demis.igs.service.utils.Constants.ValidationStatus;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -68,11 +72,17 @@ class SequenceValidatorServiceTest {
 
   public static final String EXAMPLE_ID = "ExampleId";
   private final BaseUtil testUtils = new BaseUtil();
-  private final SequenceValidatorService underTest = new SequenceValidatorService();
+  private final BufferPool bufferPool = testUtils.createLeakTrackingBufferPool();
+  private final SequenceValidatorService underTest = new SequenceValidatorService(bufferPool);
   @Mock ValidationTracker tracker;
   @Captor ArgumentCaptor<ValidationStatus> statusCaptor;
   @Captor ArgumentCaptor<String> msgCaptor;
 
+  @AfterEach
+  void checkForBufferLeaks() {
+    assertThat(bufferPool.getLeaks()).isEmpty();
+  }
+
   static Stream<Arguments> shouldCallTrackerAccordinglyForValidationError() {
     return Stream.of(
         Arguments.of(
@@ -123,6 +133,28 @@ class SequenceValidatorServiceTest {
     assertThat(msgCaptor.getAllValues()).containsExactly(msg);
   }
 
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("shouldCallTrackerAccordinglyForValidationError")
+  void shouldReportSameValidationErrorWhenDecodingToChars(
+      String testcaseName, InputStream doc, String msg) throws IOException {
+    underTest.validateSequence(new InputStreamReader(doc), EXAMPLE_ID, tracker, false);
+    verify(tracker, times(1)).updateValidationStatus(eq(EXAMPLE_ID), statusCaptor.capture());
+    verify(tracker, times(1))
+        .updateValidationStatus(eq(EXAMPLE_ID), statusCaptor.capture(), msgCaptor.capture());
+    assertThat(statusCaptor.getAllValues()).containsExactly(VALIDATING, VALIDATION_FAILED);
+    assertThat(msgCaptor.getAllValues()).containsExactly(msg);
+  }
+
+  @SneakyThrows
+  @ParameterizedTest
+  @CsvSource({PATH_TO_FASTA, PATH_TO_FASTQ})
+  void shouldCallTrackerAccordinglyOnSuccessWhenDecodingToChars(String path) {
+    underTest.validateSequence(
+        new InputStreamReader(testUtils.readFileToInputStream(path)), EXAMPLE_ID, tracker, false);
+    verify(tracker, times(2)).updateValidationStatus(eq(EXAMPLE_ID), statusCaptor.capture());
+    assertThat(statusCaptor.getAllValues()).containsExactly(VALIDATING, VALID);
+  }
+
   @SneakyThrows
   @ParameterizedTest
   @CsvSource({PATH_TO_FASTA, PATH_TO_FASTQ})
@@ -132,6 +164,17 @@ class SequenceValidatorServiceTest {
     assertThat(statusCaptor.getAllValues()).containsExactly(VALIDATING, VALID);
   }
 
+  @SneakyThrows
+  @ParameterizedTest
+  @CsvSource({PATH_TO_FASTA + ",fasta", PATH_TO_FASTQ + ",fastq"})
+  void shouldRecordFileTypeAndValidationStage(String path, String fileType) {
+    long size = testUtils.getFileSize(path);
+    underTest.validateSequence(testUtils.readFileToInputStream(path), EXAMPLE_ID, tracker, false);
+    verify(tracker).recordFileType(EXAMPLE_ID, fileType);
+    verify(tracker)
+        .recordStage(eq(EXAMPLE_ID), eq(ValidationStage.SEQUENCE_VALIDATION), anyLong(), eq(size));
+  }
+
   @Test
   @SneakyThrows
   void shouldUpdateMetadataCorrectIfFastATriesToValidateFastQ() {
@@ -0,0 +1,105 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.Abortable;
+
+class ValidationContextTest {
+
+  private final ValidationContext underTest = new ValidationContext("documentId");
+
+  @Test
+  void shouldRunActionsOnceInOrderOfRegistration() {
+    List<String> calls = new ArrayList<>();
+    underTest.onCancel(() -> calls.add("first"));
+    underTest.onCancel(() -> calls.add("second"));
+
+    underTest.cancel();
+    underTest.cancel();
+
+    assertThat(underTest.isCancelled()).isTrue();
+    assertThat(calls).containsExactly("first", "second");
+  }
+
+  @Test
+  void shouldRunActionImmediatelyIfAlreadyCancelled() {
+    List<String> calls = new ArrayList<>();
+    underTest.cancel();
+
+    underTest.onCancel(() -> calls.add("late"));
+
+    assertThat(calls).containsExactly("late");
+  }
+
+  @Test
+  void shouldContinueIfActionFails() {
+    List<String> calls = new ArrayList<>();
+    underTest.onCancel(
+        () -> {
+          throw new IllegalStateException("failure");
+        });
+    underTest.onCancel(() -> calls.add("second"));
+
+    underTest.cancel();
+
+    assertThat(calls).containsExactly("second");
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldAbortStreamOfStorageInsteadOfDrainingIt() {
+    AbortableStream stream = mock(AbortableStream.class);
+    underTest.abortOnCancel(stream);
+
+    underTest.cancel();
+
+    verify(stream).abort();
+    verify(stream).close();
+  }
+
+  @Test
+  void shouldInterruptTask() {
+    Future<?> future = mock(Future.class);
+    underTest.cancelOnCancel(future);
+
+    underTest.cancel();
+
+    verify(future).cancel(true);
+  }
+
+  private abstract static class AbortableStream extends InputStream implements Abortable {}
+}
@@ -0,0 +1,186 @@
+package de.gematik.demis.igs.service.service.validation;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_GZIP;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_NONE;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.COMPRESSION_RATIO;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.FILE_TYPE_FASTA;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.FILE_TYPE_FASTQ;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.OUTCOME_ERROR;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.OUTCOME_INVALID;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.OUTCOME_VALID;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.STAGE_BYTES;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.STAGE_DURATION;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.STAGE_THROUGHPUT;
+import static de.gematik.demis.igs.service.service.validation.ValidationMetrics.UNKNOWN;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_DESCRIPTION;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
+import static de.gematik.demis.igs.service.utils.ErrorMessages.INTERNAL_SERVER_ERROR_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import de.gematik.demis.igs.service.utils.Pair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ValidationMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ValidationMetrics underTest;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new ValidationMetrics(meterRegistry, new ValidationTracker());
+  }
+
+  @Test
+  void shouldRecordDurationBytesAndThroughputOfStage() {
+    underTest.publish(
+        new ValidationMeasurement(
+            Map.of(ValidationStage.HASH, new ValidationMeasurement.Stage(500_000_000, 1000)),
+            FILE_TYPE_FASTQ,
+            COMPRESSION_NONE),
+        OUTCOME_VALID);
+
+    assertThat(
+            meterRegistry
+                .get(STAGE_DURATION)
+                .tags("stage", "hash", "file_type", FILE_TYPE_FASTQ)
+                .tags("compression", COMPRESSION_NONE, "outcome", OUTCOME_VALID)
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(500);
+    assertThat(meterRegistry.get(STAGE_BYTES).tag("stage", "hash").summary().totalAmount())
+        .isEqualTo(1000);
+    assertThat(meterRegistry.get(STAGE_THROUGHPUT).tag("stage", "hash").summary().max())
+        .isEqualTo(2000);
+  }
+
+  @Test
+  void shouldRecordOnlyDurationOfStagesWithoutBytes() {
+    underTest.publish(
+        new ValidationMeasurement(
+            Map.of(
+                ValidationStage.FINALIZE, new ValidationMeasurement.Stage(3_000_000, 0),
+                ValidationStage.PROMOTION, new ValidationMeasurement.Stage(1_000_000, 0)),
+            FILE_TYPE_FASTA,
+            COMPRESSION_NONE),
+        OUTCOME_VALID);
+
+    assertThat(
+            meterRegistry
+                .get(STAGE_DURATION)
+                .tag("stage", "finalize")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get(STAGE_DURATION)
+                .tag("stage", "promotion")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(1);
+    assertThat(meterRegistry.find(STAGE_BYTES).meters()).isEmpty();
+    assertThat(meterRegistry.find(STAGE_THROUGHPUT).meters()).isEmpty();
+  }
+
+  @Test
+  void shouldRecordCompressionRatioOfGzipDocuments() {
+    Map<ValidationStage, ValidationMeasurement.Stage> stages =
+        Map.of(
+            ValidationStage.HASH, new ValidationMeasurement.Stage(1, 100),
+            ValidationStage.DECOMPRESS, new ValidationMeasurement.Stage(1, 400));
+    underTest.publish(
+        new ValidationMeasurement(stages, FILE_TYPE_FASTQ, COMPRESSION_GZIP), OUTCOME_INVALID);
+    underTest.publish(
+        new ValidationMeasurement(stages, FILE_TYPE_FASTQ, COMPRESSION_NONE), OUTCOME_INVALID);
+
+    assertThat(meterRegistry.get(COMPRESSION_RATIO).summaries()).hasSize(1);
+    assertThat(
+            meterRegistry
+                .get(COMPRESSION_RATIO)
+                .tags("file_type", FILE_TYPE_FASTQ, "outcome", OUTCOME_INVALID)
+                .summary()
+                .mean())
+        .isCloseTo(4, within(0.001));
+  }
+
+  @Test
+  void shouldPublishMeasurementOfTrackedDocument() {
+    ValidationTracker tracker = new ValidationTracker();
+    tracker.init("documentId");
+    tracker.recordStage("documentId", ValidationStage.HASH, 10, 100);
+    tracker.updateHashStatus("documentId", VALID);
+    tracker.updateGzipStatus("documentId", VALID);
+    tracker.updateValidationStatus("documentId", VALID);
+    new ValidationMetrics(meterRegistry, tracker).publish("documentId");
+
+    assertThat(
+            meterRegistry
+                .get(STAGE_DURATION)
+                .tags("stage", "hash", "file_type", UNKNOWN, "compression", UNKNOWN)
+                .tag("outcome", OUTCOME_VALID)
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldDeriveOutcomeFromMetaData() {
+    assertThat(ValidationMetrics.outcomeOf(List.of(new Pair(VALIDATION_STATUS, VALID.name()))))
+        .isEqualTo(OUTCOME_VALID);
+    assertThat(
+            ValidationMetrics.outcomeOf(
+                List.of(
+                    new Pair(VALIDATION_STATUS, VALIDATION_FAILED.name()),
+                    new Pair(VALIDATION_DESCRIPTION, INTERNAL_SERVER_ERROR_MESSAGE))))
+        .isEqualTo(OUTCOME_ERROR);
+    assertThat(
+            ValidationMetrics.outcomeOf(
+                List.of(
+                    new Pair(VALIDATION_STATUS, VALIDATION_FAILED.name()),
+                    new Pair(VALIDATION_DESCRIPTION, "invalid sequence"))))
+        .isEqualTo(OUTCOME_INVALID);
+  }
+
+  @Test
+  void shouldDeriveFileTypeFromFirstByte() {
+    assertThat(ValidationMetrics.fileTypeOf('>')).isEqualTo(FILE_TYPE_FASTA);
+    assertThat(ValidationMetrics.fileTypeOf('@')).isEqualTo(FILE_TYPE_FASTQ);
+    assertThat(ValidationMetrics.fileTypeOf('x')).isEqualTo(UNKNOWN);
+    assertThat(ValidationMetrics.fileTypeOf(-1)).isEqualTo(UNKNOWN);
+  }
+}
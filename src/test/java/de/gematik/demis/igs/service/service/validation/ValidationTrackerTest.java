@@ -29,12 +29,14 @@ package de.gematik.demis.igs.service.service.validation;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_DESCRIPTION;
 import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
 import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATION_FAILED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import de.gematik.demis.igs.service.utils.Pair;
 import java.util.List;
+import java.util.Map;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,14 +56,32 @@ class ValidationTrackerTest {
   @SneakyThrows
   void shouldReturnFinishedOnlyIfAllDone() {
     assertThat(underTest.isFinished(DOCUMENT_ID)).isFalse();
-    underTest.updateValidationStatus(DOCUMENT_ID, VALIDATION_FAILED);
+    underTest.updateValidationStatus(DOCUMENT_ID, VALID);
     assertThat(underTest.isFinished(DOCUMENT_ID)).isFalse();
-    underTest.updateGzipStatus(DOCUMENT_ID, VALIDATION_FAILED);
+    underTest.updateGzipStatus(DOCUMENT_ID, VALID);
     assertThat(underTest.isFinished(DOCUMENT_ID)).isFalse();
     underTest.updateHashStatus(DOCUMENT_ID, VALIDATION_FAILED);
     assertThat(underTest.isFinished(DOCUMENT_ID)).isTrue();
   }
 
+  @Test
+  @SneakyThrows
+  void shouldCancelValidationOnFirstFailure() {
+    ValidationContext context = new ValidationContext(DOCUMENT_ID);
+    underTest.init(DOCUMENT_ID, context);
+
+    underTest.updateHashStatus(DOCUMENT_ID, VALID);
+    assertThat(context.isCancelled()).isFalse();
+    underTest.updateGzipStatus(DOCUMENT_ID, VALIDATION_FAILED, "Error");
+
+    assertThat(context.isCancelled()).isTrue();
+    assertThat(underTest.isFinished(DOCUMENT_ID)).isTrue();
+    assertThat(underTest.calculateMetaData(DOCUMENT_ID))
+        .containsExactly(
+            new Pair(VALIDATION_STATUS, VALIDATION_FAILED.name()),
+            new Pair(VALIDATION_DESCRIPTION, "Error"));
+  }
+
   @Test
   @SneakyThrows
   void shouldNotThrowAnyExceptionIfIdNotExisting() {
@@ -74,6 +94,91 @@ class ValidationTrackerTest {
     assertDoesNotThrow(() -> underTest.updateHashStatus("notExisting", VALIDATION_FAILED, "Error"));
   }
 
+  @Test
+  void shouldCountDocumentsByState() {
+    underTest.init("valid");
+    underTest.init("failed");
+    underTest.updateValidationStatus("valid", VALID);
+    underTest.updateHashStatus("valid", VALID);
+    underTest.updateGzipStatus("valid", VALID);
+    underTest.updateHashStatus("failed", VALIDATION_FAILED, "error");
+
+    assertThat(underTest.count(VALIDATING)).isEqualTo(1);
+    assertThat(underTest.count(VALID)).isEqualTo(1);
+    assertThat(underTest.count(VALIDATION_FAILED)).isEqualTo(1);
+    underTest.drop("failed");
+    assertThat(underTest.count(VALIDATION_FAILED)).isZero();
+  }
+
+  @Test
+  void shouldListProgressOfRunningValidation() {
+    underTest.updateHashStatus(DOCUMENT_ID, VALIDATING);
+    underTest.updateValidationStatus(DOCUMENT_ID, VALIDATING);
+    underTest.recordBytesRead(DOCUMENT_ID, 1000);
+    underTest.recordBytesDecompressed(DOCUMENT_ID, 3000);
+    underTest.recordLines(DOCUMENT_ID, 40);
+
+    assertThat(underTest.getProgress())
+        .singleElement()
+        .satisfies(
+            progress -> {
+              assertThat(progress.documentId()).isEqualTo(DOCUMENT_ID);
+              assertThat(progress.state()).isEqualTo(VALIDATING.name());
+              assertThat(progress.stages()).containsExactly("hash", "sequence_validation");
+              assertThat(progress.bytesRead()).isEqualTo(1000);
+              assertThat(progress.bytesDecompressed()).isEqualTo(3000);
+              assertThat(progress.lines()).isEqualTo(40);
+            });
+  }
+
+  @Test
+  void shouldListFinishedValidationAsFinalizing() {
+    underTest.updateHashStatus(DOCUMENT_ID, VALID);
+    underTest.updateGzipStatus(DOCUMENT_ID, VALID);
+    underTest.updateValidationStatus(DOCUMENT_ID, VALID);
+
+    assertThat(underTest.getProgress())
+        .singleElement()
+        .satisfies(
+            progress -> {
+              assertThat(progress.state()).isEqualTo(VALID.name());
+              assertThat(progress.stages()).containsExactly("finalize");
+            });
+  }
+
+  @Test
+  void shouldCollectMeasurementOfDocument() {
+    underTest.recordStage(DOCUMENT_ID, ValidationStage.HASH, 10, 100);
+    underTest.recordStage(DOCUMENT_ID, ValidationStage.DECOMPRESS, 20, 300);
+    underTest.recordCompression(DOCUMENT_ID, ValidationMetrics.COMPRESSION_GZIP);
+    underTest.recordFileType(DOCUMENT_ID, ValidationMetrics.FILE_TYPE_FASTQ);
+
+    assertThat(underTest.getMeasurement(DOCUMENT_ID))
+        .contains(
+            new ValidationMeasurement(
+                Map.of(
+                    ValidationStage.HASH, new ValidationMeasurement.Stage(10, 100),
+                    ValidationStage.DECOMPRESS, new ValidationMeasurement.Stage(20, 300)),
+                ValidationMetrics.FILE_TYPE_FASTQ,
+                ValidationMetrics.COMPRESSION_GZIP));
+  }
+
+  @Test
+  void shouldReportUnknownTypeAndCompressionIfNotRecorded() {
+    assertThat(underTest.getMeasurement(DOCUMENT_ID))
+        .contains(
+            new ValidationMeasurement(
+                Map.of(), ValidationMetrics.UNKNOWN, ValidationMetrics.UNKNOWN));
+  }
+
+  @Test
+  void shouldIgnoreMeasurementsOfUnknownDocument() {
+    underTest.recordStage("notExisting", ValidationStage.HASH, 10, 100);
+    underTest.recordFileType("notExisting", ValidationMetrics.FILE_TYPE_FASTA);
+
+    assertThat(underTest.getMeasurement("notExisting")).isEmpty();
+  }
+
   @Test
   @SneakyThrows
   void shouldReturnFalseIfDocumentIdNotExist() {
@@ -0,0 +1,151 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FairValidationSchedulerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ValidationQueueConfiguration configuration;
+  private FairValidationScheduler underTest;
+  private long submittedAt = System.currentTimeMillis();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    configuration =
+        ValidationQueueConfiguration.builder()
+            .maxConcurrentValidations(10)
+            .maxConcurrentValidationsPerLab(10)
+            .schedulingQuantumInBytes(100)
+            .smallJobThresholdInBytes(1000)
+            .maxBulkWaitSecs(900)
+            .build();
+    underTest = new FairValidationScheduler(configuration, meterRegistry);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldNotLetLargeJobsOfOneLabStarveSmallJobsOfAnother() {
+    for (int i = 1; i <= 5; i++) {
+      underTest.add(job("A" + i, "bulkLab", 100));
+    }
+    for (int i = 1; i <= 3; i++) {
+      underTest.add(job("B" + i, "smallLab", 10));
+    }
+
+    assertThat(takeIds(4)).containsExactly("A1", "B1", "B2", "B3");
+    assertThat(underTest.size()).isEqualTo(4);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldShareThroughputByWeight() {
+    configuration.setLabWeights(Map.of("heavy", 2));
+    for (int i = 1; i <= 4; i++) {
+      underTest.add(job("H" + i, "heavy", 100));
+      underTest.add(job("L" + i, "light", 100));
+    }
+
+    assertThat(takeIds(6)).containsExactly("H1", "H2", "L1", "H3", "H4", "L2");
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldSkipLabsAtTheirConcurrencyCap() {
+    configuration.setMaxConcurrentValidationsPerLab(1);
+    configuration.setSmallJobThresholdInBytes(50);
+    ValidationJob first = job("A1", "labA", 100);
+    underTest.add(first);
+    underTest.add(job("A2", "labA", 100));
+    underTest.add(job("B1", "labB", 100));
+
+    assertThat(takeIds(2)).containsExactly("A1", "B1");
+    underTest.complete(first);
+    assertThat(takeIds(1)).containsExactly("A2");
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReportQueueDepthAndRunningJobsPerLab() {
+    underTest.add(job("A1", "labA", 10));
+    underTest.add(job("A2", "labA", 10));
+    underTest.add(job("B1", "labB", 10));
+    ValidationJob taken = underTest.take();
+
+    assertThat(gauge("igs.validation.queue.depth", "labA")).isEqualTo(1);
+    assertThat(gauge("igs.validation.running", "labA")).isEqualTo(1);
+    assertThat(gauge("igs.validation.queue.depth", "labB")).isEqualTo(1);
+
+    underTest.complete(taken);
+    assertThat(gauge("igs.validation.running", "labA")).isZero();
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldRemoveGaugesOfIdleLab() {
+    underTest.add(job("A1", "labA", 10));
+    underTest.add(job("B1", "labB", 10));
+    ValidationJob first = underTest.take();
+    ValidationJob second = underTest.take();
+
+    underTest.complete(first.sender().equals("labA") ? first : second);
+
+    assertThat(meterRegistry.find("igs.validation.queue.depth").tag("lab", "labA").gauge())
+        .isNull();
+    assertThat(meterRegistry.find("igs.validation.running").tag("lab", "labA").gauge()).isNull();
+    assertThat(gauge("igs.validation.running", "labB")).isEqualTo(1);
+
+    underTest.add(job("A2", "labA", 10));
+    assertThat(gauge("igs.validation.queue.depth", "labA")).isEqualTo(1);
+  }
+
+  private List<String> takeIds(int count) throws InterruptedException {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ids.add(underTest.take().documentId());
+    }
+    return ids;
+  }
+
+  private double gauge(String name, String lab) {
+    return meterRegistry.get(name).tag("lab", lab).gauge().value();
+  }
+
+  private ValidationJob job(String documentId, String sender, long size) {
+    return new ValidationJob(documentId, sender, false, submittedAt++, size);
+  }
+}
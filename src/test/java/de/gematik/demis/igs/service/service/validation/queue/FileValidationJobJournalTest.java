@@ -0,0 +1,117 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileValidationJobJournalTest {
+
+  @TempDir Path directory;
+  private FileValidationJobJournal underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest = create(1024);
+  }
+
+  @Test
+  void shouldReadJobsInSubmissionOrderAfterReopening() {
+    underTest.append(job("second", false, 2));
+    underTest.append(job("first", true, 1));
+
+    assertThat(create(1024).readAll())
+        .containsExactly(job("first", true, 1), job("second", false, 2));
+  }
+
+  @Test
+  void shouldForgetRemovedJobs() {
+    underTest.append(job("documentId", false, 1));
+    underTest.remove("documentId");
+    underTest.remove("notExisting");
+
+    assertThat(underTest.readAll()).isEmpty();
+    assertThat(underTest.sizeInBytes()).isZero();
+  }
+
+  @Test
+  void shouldReplaceEntryOfSameDocument() {
+    underTest.append(job("documentId", false, 1));
+    long size = underTest.sizeInBytes();
+    underTest.append(job("documentId", true, 2));
+
+    assertThat(underTest.readAll()).containsExactly(job("documentId", true, 2));
+    assertThat(underTest.sizeInBytes()).isEqualTo(size);
+  }
+
+  @Test
+  void shouldReportMissingCapacityWhenBudgetIsUsed() {
+    underTest = create(10);
+    assertThat(underTest.hasCapacity()).isTrue();
+    underTest.append(job("documentId", false, 1));
+    assertThat(underTest.hasCapacity()).isFalse();
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldDiscardUnreadableEntries() {
+    Files.writeString(directory.resolve("broken.job"), "{not json");
+    Files.writeString(directory.resolve("leftover.job.tmp"), "{}");
+
+    FileValidationJobJournal reopened = create(1024);
+
+    assertThat(reopened.readAll()).isEmpty();
+    assertThat(reopened.sizeInBytes()).isZero();
+    assertThat(directory).isEmptyDirectory();
+  }
+
+  @Test
+  void shouldRejectDocumentIdsWhichAreNoFileNames() {
+    ValidationJob job = job("../outside", false, 1);
+    assertThrows(IgsServiceException.class, () -> underTest.append(job));
+  }
+
+  private FileValidationJobJournal create(long maxSize) {
+    return new FileValidationJobJournal(
+        ValidationQueueConfiguration.builder()
+            .journalDirectory(directory.toString())
+            .maxJournalSizeInBytes(maxSize)
+            .build());
+  }
+
+  private static ValidationJob job(String documentId, boolean fastaOnly, long submittedAt) {
+    return new ValidationJob(documentId, "lab", fastaOnly, submittedAt, 0);
+  }
+}
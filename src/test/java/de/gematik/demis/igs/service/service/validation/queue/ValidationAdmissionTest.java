@@ -0,0 +1,136 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.exception.ErrorCode.TOO_MANY_VALIDATIONS;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ValidationAdmissionTest {
+
+  private ValidationAdmission underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest =
+        new ValidationAdmission(
+            ValidationQueueConfiguration.builder()
+                .maxConcurrentValidations(1)
+                .maxJobsInFlight(2)
+                .maxBytesInFlight(1000)
+                .minRetryAfterSecs(1)
+                .maxRetryAfterSecs(300)
+                .build());
+  }
+
+  @Test
+  void shouldRejectIfTooManyJobsAreInFlight() {
+    underTest.admit(job("first", 10));
+    underTest.admit(job("second", 10));
+
+    IgsAdmissionException ex =
+        assertThrows(IgsAdmissionException.class, () -> underTest.admit(job("third", 10)));
+    assertThat(ex.getErrorCode()).isEqualTo(TOO_MANY_VALIDATIONS.getCode());
+    assertThat(ex.getRetryAfterSecs()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRejectIfTooManyBytesAreInFlight() {
+    underTest.admit(job("first", 800));
+    assertThrows(IgsAdmissionException.class, () -> underTest.admit(job("second", 201)));
+    assertDoesNotThrow(() -> underTest.admit(job("second", 200)));
+    assertThat(underTest.getBytesInFlight()).isEqualTo(1000);
+  }
+
+  @Test
+  void shouldAdmitOversizedJobIfNothingElseIsInFlight() {
+    assertDoesNotThrow(() -> underTest.admit(job("huge", 5000)));
+    assertThrows(IgsAdmissionException.class, () -> underTest.admit(job("small", 1)));
+  }
+
+  @Test
+  void shouldFreeBudgetOnReleaseAndCancel() {
+    underTest.admit(job("first", 600));
+    underTest.admit(job("second", 400));
+    underTest.release("first", ofSeconds(1));
+    underTest.cancel("second");
+    underTest.release("unknown", ofSeconds(1));
+
+    assertThat(underTest.getJobsInFlight()).isZero();
+    assertThat(underTest.getBytesInFlight()).isZero();
+  }
+
+  @Test
+  void shouldEstimateRetryAfterFromObservedThroughput() {
+    // 100 bytes per second
+    underTest.admit(job("measured", 1000));
+    underTest.release("measured", ofSeconds(10));
+
+    underTest.admit(job("running", 1000));
+    IgsAdmissionException ex =
+        assertThrows(IgsAdmissionException.class, () -> underTest.admit(job("waiting", 500)));
+    assertThat(ex.getRetryAfterSecs()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldClampRetryAfter() {
+    // 1 byte per second
+    underTest.admit(job("measured", 1));
+    underTest.release("measured", ofSeconds(1));
+
+    underTest.admit(job("running", 1000));
+    IgsAdmissionException ex =
+        assertThrows(IgsAdmissionException.class, () -> underTest.admit(job("waiting", 1000)));
+    assertThat(ex.getRetryAfterSecs()).isEqualTo(300);
+  }
+
+  @Test
+  void shouldEstimateRetryAfterFromTimePerJob() {
+    assertThat(underTest.estimateRetryAfterSecs()).isEqualTo(1);
+
+    underTest.admit(job("measured", 1000));
+    underTest.release("measured", ofSeconds(12));
+    assertThat(underTest.estimateRetryAfterSecs()).isEqualTo(12);
+  }
+
+  @Test
+  void shouldAdmitRecoveredJobsRegardlessOfBudget() {
+    underTest.admit(job("first", 1000));
+    underTest.forceAdmit(job("recovered", 1000));
+    assertThat(underTest.getBytesInFlight()).isEqualTo(2000);
+  }
+
+  private static ValidationJob job(String documentId, long size) {
+    return new ValidationJob(documentId, "lab", false, 0, size);
+  }
+}
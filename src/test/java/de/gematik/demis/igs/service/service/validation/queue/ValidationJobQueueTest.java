@@ -0,0 +1,228 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_FASTA_ONLY;
+import static de.gematik.demis.igs.service.utils.Constants.VALIDATION_STATUS;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALID;
+import static de.gematik.demis.igs.service.utils.Constants.ValidationStatus.VALIDATING;
+import static java.time.Duration.ofMinutes;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.gematik.demis.igs.service.exception.ErrorCode;
+import de.gematik.demis.igs.service.exception.IgsAdmissionException;
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.DocumentReferenceService;
+import de.gematik.demis.igs.service.service.storage.SimpleStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ValidationJobQueueTest {
+
+  private ValidationJobJournal journal;
+  private ValidationAdmission admission;
+  private DocumentReferenceService documentReferenceService;
+  private SimpleStorageService storageService;
+  private ValidationJobQueue underTest;
+
+  @BeforeEach
+  void setUp() {
+    journal = mock(ValidationJobJournal.class);
+    admission = mock(ValidationAdmission.class);
+    documentReferenceService = mock(DocumentReferenceService.class);
+    storageService = mock(SimpleStorageService.class);
+    ValidationQueueConfiguration configuration =
+        ValidationQueueConfiguration.builder()
+            .maxConcurrentValidations(2)
+            .maxConcurrentValidationsPerLab(2)
+            .schedulingQuantumInBytes(1024)
+            .staleAfterMinutes(30)
+            .recoverFromStorage(true)
+            .leaseRenewalSecs(60)
+            .recoveryPageSize(100)
+            .build();
+    underTest =
+        new ValidationJobQueue(
+            journal,
+            admission,
+            new FairValidationScheduler(configuration, new SimpleMeterRegistry()),
+            documentReferenceService,
+            storageService,
+            configuration);
+  }
+
+  @AfterEach
+  void tearDown() {
+    underTest.stop();
+  }
+
+  @Test
+  void shouldJournalAndProcessSubmittedJob() {
+    ValidationJob job = job("documentId", true, 1);
+    underTest.start();
+    underTest.submit(job);
+
+    await().atMost(ofSeconds(5)).untilAsserted(() -> verify(journal).remove("documentId"));
+    verify(journal).append(job);
+    verify(admission).release(eq("documentId"), any());
+    verify(documentReferenceService).validateBinary("documentId", true);
+    verify(storageService).renewLease(eq("documentId"), any());
+    verify(storageService).releaseLease("documentId");
+  }
+
+  @Test
+  void shouldRemoveJobFromJournalAlsoIfValidationFailed() {
+    doThrow(new IgsServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "Error"))
+        .when(documentReferenceService)
+        .validateBinary("documentId", false);
+    underTest.start();
+    underTest.submit(job("documentId", false, 1));
+
+    await().atMost(ofSeconds(5)).untilAsserted(() -> verify(journal).remove("documentId"));
+  }
+
+  @Test
+  void shouldRejectIfJournalIsFull() {
+    when(journal.hasCapacity()).thenReturn(false);
+    when(admission.estimateRetryAfterSecs()).thenReturn(7L);
+    IgsAdmissionException ex =
+        assertThrows(IgsAdmissionException.class, underTest::ensureCapacity);
+    assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.VALIDATION_QUEUE_FULL.getCode());
+    assertThat(ex.getRetryAfterSecs()).isEqualTo(7);
+  }
+
+  @Test
+  void shouldReleaseAdmissionIfJournalFails() {
+    ValidationJob job = job("documentId", false, 1);
+    doThrow(new IgsServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "disk"))
+        .when(journal)
+        .append(job);
+
+    assertThrows(IgsServiceException.class, () -> underTest.submit(job));
+
+    verify(admission).cancel("documentId");
+    verify(storageService).resetValidationStatus("documentId");
+    verify(storageService, never()).renewLease(any(), any());
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  void shouldRethrowJournalFailureIfStatusCanNotBeReset() {
+    ValidationJob job = job("documentId", false, 1);
+    IgsServiceException journalFailure =
+        new IgsServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "disk");
+    doThrow(journalFailure).when(journal).append(job);
+    doThrow(new IgsServiceException(ErrorCode.INTERNAL_SERVER_ERROR, "storage"))
+        .when(storageService)
+        .resetValidationStatus("documentId");
+
+    IgsServiceException thrown =
+        assertThrows(IgsServiceException.class, () -> underTest.submit(job));
+
+    assertThat(thrown).isSameAs(journalFailure);
+    verify(admission).cancel("documentId");
+  }
+
+  @Test
+  void shouldReplayOnlyJobsStillValidating() {
+    when(journal.readAll()).thenReturn(List.of(job("pending", false, 1), job("done", false, 2)));
+    when(storageService.getMetadata("pending"))
+        .thenReturn(Map.of(VALIDATION_STATUS, VALIDATING.name()));
+    when(storageService.getMetadata("done")).thenReturn(Map.of(VALIDATION_STATUS, VALID.name()));
+
+    underTest.recover();
+
+    assertThat(underTest.size()).isEqualTo(1);
+    verify(admission).forceAdmit(job("pending", false, 1));
+    verify(storageService).renewLease(eq("pending"), any());
+    verify(journal).remove("done");
+    verify(journal, never()).remove("pending");
+  }
+
+  @Test
+  void shouldRequeueClaimedStaleValidationsFromStorage() {
+    when(journal.readAll()).thenReturn(List.of(job("journaled", false, 1)));
+    when(storageService.getMetadata("journaled"))
+        .thenReturn(Map.of(VALIDATION_STATUS, VALIDATING.name()));
+    doAnswer(
+            invocation -> {
+              Consumer<String> onClaimed = invocation.getArgument(2);
+              onClaimed.accept("journaled");
+              onClaimed.accept("abandoned");
+              return null;
+            })
+        .when(storageService)
+        .claimStaleValidations(eq(ofMinutes(30)), eq(100), any());
+    when(storageService.getMetadata("abandoned"))
+        .thenReturn(Map.of(VALIDATION_STATUS, VALIDATING.name(), VALIDATION_FASTA_ONLY, "true"));
+
+    underTest.recover();
+    underTest.recoverFromStorage();
+
+    assertThat(underTest.size()).isEqualTo(2);
+    verify(journal)
+        .append(
+            argThat(
+                job ->
+                    job.documentId().equals("abandoned")
+                        && job.sender().equals(ValidationJob.UNKNOWN_SENDER)
+                        && job.fastaOnly()));
+  }
+
+  @Test
+  void shouldIgnoreUnreachableStorageOnRecovery() {
+    doThrow(new IgsServiceException(ErrorCode.FILE_NOT_FOUND, "no bucket"))
+        .when(storageService)
+        .claimStaleValidations(any(), anyInt(), any());
+
+    underTest.recoverFromStorage();
+
+    assertThat(underTest.size()).isZero();
+  }
+
+  private static ValidationJob job(String documentId, boolean fastaOnly, long submittedAt) {
+    return new ValidationJob(documentId, "lab", fastaOnly, submittedAt, 0);
+  }
+}
@@ -0,0 +1,172 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ValidationSchedulingPolicyTest {
+
+  private static final long NOW = 1_000_000;
+  private static final long SMALL = 10;
+  private static final long LARGE = 1000;
+
+  private ValidationSchedulingPolicy underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest =
+        new ValidationSchedulingPolicy(
+            ValidationQueueConfiguration.builder()
+                .maxConcurrentValidations(3)
+                .maxConcurrentValidationsPerLab(2)
+                .reservedFastSlots(1)
+                .schedulingQuantumInBytes(LARGE)
+                .smallJobThresholdInBytes(100)
+                .maxBulkWaitSecs(60)
+                .build());
+  }
+
+  @Test
+  void shouldStartSmallFilesBeforeLargeOnesOfTheSameLab() {
+    underTest.add(job("large", "lab", LARGE, NOW));
+    underTest.add(job("medium", "lab", 50, NOW));
+    underTest.add(job("small", "lab", SMALL, NOW));
+
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("small");
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("medium");
+    assertThat(underTest.poll(NOW)).isNull();
+  }
+
+  @Test
+  void shouldKeepReservedSlotForSmallFilesWhileTheyAreWaiting() {
+    underTest.add(job("large-1", "labA", LARGE, NOW));
+    underTest.add(job("large-2", "labB", LARGE, NOW));
+    underTest.add(job("large-3", "labC", LARGE, NOW));
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("large-1");
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("large-2");
+    underTest.add(job("small", "labD", SMALL, NOW));
+
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("small");
+  }
+
+  @Test
+  void shouldUseReservedSlotForLargeFilesIfNoSmallFileIsWaiting() {
+    underTest.add(job("large-1", "labA", LARGE, NOW));
+    underTest.add(job("large-2", "labB", LARGE, NOW));
+    underTest.add(job("large-3", "labC", LARGE, NOW));
+
+    assertThat(underTest.poll(NOW)).isNotNull();
+    assertThat(underTest.poll(NOW)).isNotNull();
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("large-3");
+  }
+
+  @Test
+  void shouldLetSmallFilesPassTheCapOfTheirLab() {
+    underTest.add(job("large-1", "lab", LARGE, NOW));
+    underTest.add(job("large-2", "lab", LARGE, NOW));
+    underTest.add(job("large-3", "lab", LARGE, NOW));
+    underTest.poll(NOW);
+    underTest.poll(NOW);
+    assertThat(underTest.poll(NOW)).isNull();
+
+    underTest.add(job("small", "lab", SMALL, NOW));
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("small");
+  }
+
+  @Test
+  void shouldPromoteAgedLargeFilesAheadOfSmallOnes() {
+    underTest.add(job("old-large", "lab", LARGE, NOW - 60_000));
+    underTest.add(job("small", "lab", SMALL, NOW));
+
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("old-large");
+  }
+
+  @Test
+  void shouldFreeSlotsOnCompletion() {
+    ValidationJob first = job("large-1", "lab", LARGE, NOW);
+    underTest.add(first);
+    underTest.add(job("large-2", "lab", LARGE, NOW));
+    underTest.add(job("large-3", "lab", LARGE, NOW));
+    underTest.poll(NOW);
+    underTest.poll(NOW);
+
+    underTest.complete(first);
+
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("large-3");
+    assertThat(underTest.size()).isZero();
+    assertThat(underTest.running("lab")).isEqualTo(2);
+    assertThat(underTest.queued("lab")).isZero();
+  }
+
+  @Test
+  void shouldForgetLabsOnceIdle() {
+    ValidationJob first = job("large-1", "lab", LARGE, NOW);
+    ValidationJob second = job("large-2", "lab", LARGE, NOW);
+    underTest.add(first);
+    underTest.add(second);
+    underTest.poll(NOW);
+
+    underTest.complete(first);
+    assertThat(underTest.labs()).isOne();
+
+    underTest.poll(NOW);
+    underTest.complete(second);
+    assertThat(underTest.labs()).isZero();
+    assertThat(underTest.running("lab")).isZero();
+  }
+
+  @Test
+  void shouldServeTheLabNeedingTheFewestRounds() {
+    underTest =
+        new ValidationSchedulingPolicy(
+            ValidationQueueConfiguration.builder()
+                .maxConcurrentValidations(3)
+                .maxConcurrentValidationsPerLab(2)
+                .schedulingQuantumInBytes(100)
+                .smallJobThresholdInBytes(0)
+                .maxBulkWaitSecs(60)
+                .labWeights(Map.of("heavy", 4))
+                .build());
+    underTest.add(job("light-large", "light", 1000, NOW));
+    underTest.add(job("heavy-large", "heavy", 1000, NOW));
+    underTest.add(job("heavy-medium", "heavy", 250, NOW));
+
+    // light needs 10 rounds for its job, heavy with its weight only 3
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("heavy-large");
+    // heavy keeps 200 bytes and needs another round, light has earned 400 bytes and needs 6
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("heavy-medium");
+    assertThat(underTest.poll(NOW).documentId()).isEqualTo("light-large");
+  }
+
+  private static ValidationJob job(String documentId, String sender, long size, long submitted) {
+    return new ValidationJob(documentId, sender, false, submitted, size);
+  }
+}
@@ -0,0 +1,216 @@
+package de.gematik.demis.igs.service.service.validation.queue;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Deterministic simulation of the validation queue on a mixed corpus of small FASTA and large FASTQ
+ * uploads, comparing the time from $validate to a final status of the scheduling policy with plain
+ * FIFO processing. Validation time is modelled linear in the file size. The numbers are documented
+ * in the README.
+ */
+class ValidationSchedulingSimulationTest {
+
+  private static final int WORKERS = 3;
+  private static final int JOBS = 3000;
+  private static final long SMALL_THRESHOLD = 10L * 1024 * 1024;
+  private static final double BYTES_PER_MILLI = 25.0 * 1024 * 1024 / 1000;
+  private static final long OVERHEAD_MILLIS = 200;
+  private static final double ARRIVALS_PER_MILLI = 0.72 / 1000;
+
+  @Test
+  void shouldReduceTimeToValidForSmallFilesWithoutStarvingLargeOnes() {
+    List<ValidationJob> corpus = corpus(new Random(42));
+
+    Result fifo = simulate(corpus, new Fifo());
+    Result scheduled = simulate(corpus, new Policy(configuration()));
+
+    assertThat(scheduled.small().p50()).isLessThan(fifo.small().p50());
+    assertThat(scheduled.small().p99()).isLessThan(fifo.small().p99() / 3);
+    assertThat(scheduled.large().max())
+        .isLessThan((configuration().getMaxBulkWaitSecs() + 60) * 1000L);
+  }
+
+  static ValidationQueueConfiguration configuration() {
+    return ValidationQueueConfiguration.builder()
+        .maxConcurrentValidations(WORKERS)
+        .maxConcurrentValidationsPerLab(2)
+        .schedulingQuantumInBytes(64L * 1024 * 1024)
+        .smallJobThresholdInBytes(SMALL_THRESHOLD)
+        .reservedFastSlots(1)
+        .maxBulkWaitSecs(900)
+        .build();
+  }
+
+  static List<ValidationJob> corpus(Random random) {
+    List<ValidationJob> jobs = new ArrayList<>();
+    long arrival = 0;
+    for (int i = 0; i < JOBS; i++) {
+      arrival += (long) (-Math.log(1 - random.nextDouble()) / ARRIVALS_PER_MILLI);
+      boolean large = random.nextDouble() < 0.15;
+      long size;
+      String lab;
+      if (large) {
+        size = 100L * 1024 * 1024 + (long) (random.nextDouble() * 900 * 1024 * 1024);
+        lab = random.nextDouble() < 0.7 ? "lab-0" : "lab-" + (1 + random.nextInt(5));
+      } else {
+        size = (long) (20 * 1024 * Math.pow(512, random.nextDouble()));
+        lab = "lab-" + random.nextInt(6);
+      }
+      jobs.add(new ValidationJob("doc-" + i, lab, false, arrival, size));
+    }
+    return jobs;
+  }
+
+  static Result simulate(List<ValidationJob> corpus, Scheduler scheduler) {
+    PriorityQueue<Running> running =
+        new PriorityQueue<>((a, b) -> Long.compare(a.finishedAt(), b.finishedAt()));
+    List<Long> small = new ArrayList<>();
+    List<Long> large = new ArrayList<>();
+    long now = 0;
+    int next = 0;
+    while (small.size() + large.size() < corpus.size()) {
+      ValidationJob job;
+      while (running.size() < WORKERS && (job = scheduler.poll(now)) != null) {
+        running.add(new Running(job, now + serviceMillis(job)));
+      }
+      long nextArrival = next < corpus.size() ? corpus.get(next).submittedAt() : Long.MAX_VALUE;
+      long nextCompletion = running.isEmpty() ? Long.MAX_VALUE : running.peek().finishedAt();
+      // workers poll at least once a second to notice aged jobs
+      long nextTick =
+          running.size() < WORKERS && scheduler.size() > 0 ? now + 1000 : Long.MAX_VALUE;
+      if (nextArrival <= nextCompletion && nextArrival <= nextTick) {
+        now = nextArrival;
+        scheduler.add(corpus.get(next++));
+      } else if (nextCompletion <= nextTick) {
+        Running done = running.poll();
+        now = done.finishedAt();
+        scheduler.complete(done.job());
+        long timeToValid = now - done.job().submittedAt();
+        (done.job().sizeInBytes() > SMALL_THRESHOLD ? large : small).add(timeToValid);
+      } else {
+        now = nextTick;
+      }
+    }
+    return new Result(Percentiles.of(small), Percentiles.of(large));
+  }
+
+  private static long serviceMillis(ValidationJob job) {
+    return OVERHEAD_MILLIS + (long) (job.sizeInBytes() / BYTES_PER_MILLI);
+  }
+
+  interface Scheduler {
+
+    void add(ValidationJob job);
+
+    ValidationJob poll(long now);
+
+    void complete(ValidationJob job);
+
+    int size();
+  }
+
+  record Running(ValidationJob job, long finishedAt) {}
+
+  record Result(Percentiles small, Percentiles large) {}
+
+  record Percentiles(long p50, long p99, long max) {
+
+    static Percentiles of(List<Long> values) {
+      long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(sorted);
+      return new Percentiles(at(sorted, 0.5), at(sorted, 0.99), sorted[sorted.length - 1]);
+    }
+
+    private static long at(long[] sorted, double quantile) {
+      return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+  }
+
+  /** Behaviour before the scheduler: one FIFO queue in front of the workers */
+  static class Fifo implements Scheduler {
+
+    private final Deque<ValidationJob> queue = new ArrayDeque<>();
+
+    @Override
+    public void add(ValidationJob job) {
+      queue.addLast(job);
+    }
+
+    @Override
+    public ValidationJob poll(long now) {
+      return queue.pollFirst();
+    }
+
+    @Override
+    public void complete(ValidationJob job) {}
+
+    @Override
+    public int size() {
+      return queue.size();
+    }
+  }
+
+  static class Policy implements Scheduler {
+
+    private final ValidationSchedulingPolicy policy;
+
+    Policy(ValidationQueueConfiguration configuration) {
+      policy = new ValidationSchedulingPolicy(configuration);
+    }
+
+    @Override
+    public void add(ValidationJob job) {
+      policy.add(job);
+    }
+
+    @Override
+    public ValidationJob poll(long now) {
+      return policy.poll(now);
+    }
+
+    @Override
+    public void complete(ValidationJob job) {
+      policy.complete(job);
+    }
+
+    @Override
+    public int size() {
+      return policy.size();
+    }
+  }
+}
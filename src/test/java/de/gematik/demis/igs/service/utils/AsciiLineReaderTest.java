@@ -0,0 +1,116 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AsciiLineReaderTest {
+
+  @SneakyThrows
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "\n",
+        "\r",
+        "\r\n",
+        "\n\n",
+        "\r\r\n\n",
+        "abc",
+        "abc\n",
+        "abc\r\ndef",
+        "abc\rdef\r",
+        "abc\n\ndef\r\n\r\n",
+        ">header\nACGT\r\nNNNN"
+      })
+  void shouldSplitLinesLikeBufferedReader(String document) {
+    List<String> expected = new BufferedReader(new StringReader(document)).lines().toList();
+    for (int bufferSize = 1; bufferSize <= 4; bufferSize++) {
+      assertThat(readLines(document, bufferSize)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void shouldKeepBytesOutsideOfAsciiDistinguishable() {
+    List<String> lines = readLines("ACäGTÿ", 2);
+    assertThat(lines).containsExactly("ACäGTÿ");
+    assertThat(AsciiLine.of(lines.getFirst()).consistsOf(AsciiCharSet.range('A', 'Z'))).isFalse();
+  }
+
+  @Test
+  void shouldGrowLinesLongerThanTheBuffer() {
+    String line = "ACGT".repeat(10_000);
+    assertThat(readLines(line + "\n" + line, 1000)).containsExactly(line, line);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReportLinesReadOnRefill() {
+    List<Long> reported = new ArrayList<>();
+    AsciiLineReader reader =
+        new AsciiLineReader(
+            new ByteArrayInputStream("AA\nCC\nGG\nTT".getBytes(ISO_8859_1)), 6, reported::add);
+    AsciiLine line = new AsciiLine();
+    while (reader.readLine(line)) {
+      // consume all lines
+    }
+    assertThat(reader.lines()).isEqualTo(4);
+    assertThat(reported).containsExactly(0L, 2L, 3L, 4L);
+  }
+
+  @Test
+  void shouldMatchCharSetLikeRegex() {
+    AsciiCharSet chars = AsciiCharSet.of("ACGT-");
+    assertThat(AsciiLine.of("ACGT-A").consistsOf(chars)).isTrue();
+    assertThat(AsciiLine.of("ACGTa").consistsOf(chars)).isFalse();
+    assertThat(AsciiLine.of("").consistsOf(chars)).isFalse();
+    assertThat(AsciiLine.of("NANN").count('N')).isEqualTo(3);
+  }
+
+  @SneakyThrows
+  private List<String> readLines(String document, int bufferSize) {
+    AsciiLineReader reader =
+        new AsciiLineReader(new ByteArrayInputStream(document.getBytes(ISO_8859_1)), bufferSize);
+    List<String> lines = new ArrayList<>();
+    AsciiLine line = new AsciiLine();
+    while (reader.readLine(line)) {
+      lines.add(line.toString());
+    }
+    return lines;
+  }
+}
@@ -33,9 +33,11 @@ import static util.BaseUtil.TOKEN_NOT_PARSABLE;
 import static util.BaseUtil.TOKEN_NRZ;
 
 import de.gematik.demis.igs.service.exception.IgsServiceException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -79,22 +81,44 @@ class JwtUtilsTest {
   @MethodSource
   @ParameterizedTest(name = "{0}")
   void shouldReturnTrueIfTokenContainsRoles(String testName, String token, List<String> roles) {
+    JwtClaims claims = JwtUtils.readClaims(token);
     roles.forEach(
-        role ->
-            assertThat(JwtUtils.hasRole(token, role)).as("Does not have role: " + role).isTrue());
+        role -> assertThat(claims.hasRole(role)).as("Does not have role: " + role).isTrue());
   }
 
   @SneakyThrows
   @ParameterizedTest
   @MethodSource
   void shouldReturnFalseIfRoleNotContainedInToken(String token, String role) {
-    assertThat(JwtUtils.hasRole(token, role)).isFalse();
+    assertThat(JwtUtils.readClaims(token).hasRole(role)).isFalse();
   }
 
   @SneakyThrows
   @ParameterizedTest
   @ValueSource(strings = {TOKEN_NOT_PARSABLE, "Not.parsable.token"})
   void shouldThrowExceptionIfTokenNotParsable(String token) {
-    assertThrows(IgsServiceException.class, () -> JwtUtils.hasRole(token, "asdf"));
+    assertThrows(IgsServiceException.class, () -> JwtUtils.readClaims(token));
+  }
+
+  @Test
+  void shouldReturnPreferredUsernameAsSender() {
+    assertThat(JwtUtils.readClaims(TOKEN_NRZ).requireSender())
+        .isEqualTo("g-cb659e07-b516-4f77-931d-d4229dd2bd8b");
+    assertThat(JwtUtils.readClaims(TOKEN_FAST_A).requireSender())
+        .isEqualTo("g-2f213d50-1dc9-48ca-970c-c165ef643ae3");
+  }
+
+  @Test
+  void shouldFallBackToSubjectAsSender() {
+    String payload = Base64.getEncoder().encodeToString("{\"sub\":\"lab\"}".getBytes());
+    JwtClaims claims = JwtUtils.readClaims("Bearer header." + payload + ".signature");
+    assertThat(claims.requireSender()).isEqualTo("lab");
+  }
+
+  @Test
+  void shouldThrowIfTokenHasNoSender() {
+    String payload = Base64.getEncoder().encodeToString("{}".getBytes());
+    String token = "header." + payload + ".signature";
+    assertThrows(IgsServiceException.class, () -> JwtUtils.readClaims(token).requireSender());
   }
 }
@@ -0,0 +1,170 @@
+package de.gematik.demis.igs.service.utils;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+class RingBufferPipeTest {
+
+  private final AtomicReference<RingBufferPipe.Statistics> statistics = new AtomicReference<>();
+
+  @Test
+  @SneakyThrows
+  void shouldTransferDataAcrossTheBoundaryOfTheBuffer() {
+    byte[] data = new byte[100_000];
+    new Random(1).nextBytes(data);
+    RingBufferPipe pipe = new RingBufferPipe(1000, statistics::set);
+
+    CompletableFuture<Void> producer =
+        CompletableFuture.runAsync(
+            () -> {
+              try (OutputStream out = pipe.sink()) {
+                for (int off = 0; off < data.length; off += 777) {
+                  out.write(data, off, Math.min(777, data.length - off));
+                }
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    byte[] received;
+    try (InputStream in = pipe.source()) {
+      received = in.readAllBytes();
+    }
+    producer.get(5, SECONDS);
+
+    assertThat(received).isEqualTo(data);
+    assertThat(statistics.get()).isNotNull();
+    assertThat(statistics.get().meanFillRatio()).isBetween(0.0, 1.0);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldReadSingleBytes() {
+    RingBufferPipe pipe = new RingBufferPipe(2, statistics::set);
+    pipe.sink().write(0xff);
+    pipe.sink().write(1);
+    pipe.sink().close();
+
+    assertThat(pipe.source().read()).isEqualTo(0xff);
+    assertThat(pipe.source().read()).isEqualTo(1);
+    assertThat(pipe.source().read()).isEqualTo(-1);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldWakeUpWaitingConsumerOnClose() {
+    RingBufferPipe pipe = new RingBufferPipe(16, statistics::set);
+    CompletableFuture<Integer> consumer =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return pipe.source().read();
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    await().atMost(5, SECONDS).until(() -> isWaiting(pipe, "waitingConsumer"));
+
+    pipe.sink().close();
+
+    assertThat(consumer.get(5, SECONDS)).isEqualTo(-1);
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldFailWaitingProducerIfConsumerCloses() {
+    RingBufferPipe pipe = new RingBufferPipe(4, statistics::set);
+    CompletableFuture<Void> producer =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                pipe.sink().write(new byte[8]);
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    await().atMost(5, SECONDS).until(() -> isWaiting(pipe, "waitingProducer"));
+
+    pipe.source().close();
+
+    assertThatThrownBy(() -> producer.get(5, SECONDS)).hasRootCauseInstanceOf(IOException.class);
+    assertThat(statistics.get()).isNull();
+    pipe.sink().close();
+    assertThat(statistics.get().producerWaitNanos()).isPositive();
+  }
+
+  @Test
+  @SneakyThrows
+  void shouldFailWaitingConsumerOnInterrupt() {
+    RingBufferPipe pipe = new RingBufferPipe(4, statistics::set);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread consumer =
+        new Thread(
+            () -> {
+              try {
+                pipe.source().read();
+              } catch (IOException e) {
+                failure.set(e);
+              }
+            });
+    consumer.start();
+    await().atMost(5, SECONDS).until(() -> isWaiting(pipe, "waitingConsumer"));
+
+    consumer.interrupt();
+    consumer.join(5000);
+
+    assertThat(failure.get()).isInstanceOf(InterruptedIOException.class);
+  }
+
+  @Test
+  void shouldRejectWritesAfterClose() {
+    RingBufferPipe pipe = new RingBufferPipe(4, statistics::set);
+    pipe.sink().close();
+
+    assertThatThrownBy(() -> pipe.sink().write(1)).isInstanceOf(IOException.class);
+  }
+
+  @SneakyThrows
+  private static boolean isWaiting(RingBufferPipe pipe, String field) {
+    var declared = RingBufferPipe.class.getDeclaredField(field);
+    declared.setAccessible(true);
+    return declared.get(pipe) != null;
+  }
+}
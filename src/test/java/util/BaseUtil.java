@@ -39,8 +39,11 @@ import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_XML;
 
 import ca.uhn.fhir.context.FhirContext;
+import de.gematik.demis.igs.service.service.stream.BufferPool;
+import de.gematik.demis.igs.service.service.stream.StreamConfiguration;
 import de.gematik.demis.igs.service.utils.Pair;
 import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import feign.Response;
 import java.io.File;
 import java.io.FileInputStream;
@@ -305,8 +308,10 @@ public class BaseUtil {
 
   public DocumentReference generateDocumentReference(String path)
       throws IOException, NoSuchAlgorithmException {
-    String hash = calcHashOnFile(path);
+    return generateDocumentReferenceForHash(calcHashOnFile(path));
+  }
 
+  public DocumentReference generateDocumentReferenceForHash(String hash) {
     Attachment attachment = new Attachment();
     attachment.setHashElement(new Base64BinaryType(hash));
     return new DocumentReference()
@@ -431,4 +436,20 @@ public class BaseUtil {
     metadata.put(VALIDATION_STATUS, VALIDATION_FAILED.toString());
     return metadata;
   }
+
+  /**
+   * @return a small buffer pool keeping the allocation site of every open lease, see {@link
+   *     BufferPool#getLeaks()}
+   */
+  public BufferPool createLeakTrackingBufferPool() {
+    return new BufferPool(
+        StreamConfiguration.builder()
+            .pipeCapacityInBytes(1024)
+            .copyBufferSizeInBytes(256)
+            .maxIdlePipeBuffers(4)
+            .maxIdleCopyBuffers(4)
+            .trackBufferLeaks(true)
+            .build(),
+        new SimpleMeterRegistry());
+  }
 }
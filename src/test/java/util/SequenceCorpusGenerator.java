@@ -0,0 +1,519 @@
+package util;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import de.gematik.demis.igs.service.service.validation.FastAValidationSpecifications.FastAConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.Builder;
+import lombok.Singular;
+
+/**
+ * Deterministic generator of FastA and FastQ documents of any size for performance and scale
+ * tests. The same configuration including the seed always produces the same bytes. Documents are
+ * generated while they are read, so even documents beyond the upload limit of 1 GB need neither
+ * memory nor checked in files.
+ *
+ * <pre>{@code
+ * InputStream document =
+ *     SequenceCorpusGenerator.builder()
+ *         .format(Format.FASTA)
+ *         .pathogen(new FastAConfig("asdf", 40, 20, 0.5))
+ *         .recordCount(10)
+ *         .compression(Compression.BGZF)
+ *         .error(ErrorInjection.at(100, '!'))
+ *         .build()
+ *         .openStream();
+ * }</pre>
+ */
+@Builder(toBuilder = true)
+public class SequenceCorpusGenerator {
+
+  private static final byte[] BASES = "ACGT".getBytes(US_ASCII);
+  private static final int MIN_QUALITY = 2;
+  private static final int MAX_QUALITY = 41;
+  private static final int PHRED_OFFSET = 33;
+
+  @Builder.Default private final long seed = 42;
+  @Builder.Default private final Format format = Format.FASTA;
+  @Builder.Default private final Compression compression = Compression.PLAIN;
+
+  /** Stop after this many records, 0 for no limit. */
+  @Builder.Default private final long recordCount = 0;
+
+  /** Stop after the record reaching this many bytes of the plain document, 0 for no limit. */
+  @Builder.Default private final long sizeInBytes = 0;
+
+  /** Fraction of N in each sequence or read. */
+  @Builder.Default private final double nFraction = 0.01;
+
+  /** Length of each FastA sequence without a pathogen. */
+  @Builder.Default private final int sequenceLength = 30_000;
+
+  /** Bases per line of a FastA sequence, 0 to write each sequence on a single line. */
+  @Builder.Default private final int lineWidth = 80;
+
+  /**
+   * If set, FastA headers name the pathogen and each sequence keeps to its length and N limits,
+   * so the document passes the extended validation of {@code FastAValidationSpecifications}.
+   */
+  private final FastAConfig pathogen;
+
+  /** Length of each FastQ read. */
+  @Builder.Default private final int readLength = 150;
+
+  /** Mean of the normally distributed Phred scores of a FastQ read, N are always scored 2. */
+  @Builder.Default private final double meanQuality = 30;
+
+  @Builder.Default private final double qualityStandardDeviation = 5;
+
+  /** Bytes of the plain document per member for {@link Compression#MULTI_MEMBER_GZIP}. */
+  @Builder.Default private final int memberSizeInBytes = 1024 * 1024;
+
+  @Singular private final List<ErrorInjection> errors;
+
+  public enum Format {
+    FASTA,
+    FASTQ
+  }
+
+  public enum Compression {
+    PLAIN,
+    GZIP,
+    /** Concatenated gzip members as written by e.g. {@code pigz} or {@code cat a.gz b.gz}. */
+    MULTI_MEMBER_GZIP,
+    /** Blocked gzip as written by {@code bgzip}, ending with the empty EOF block. */
+    BGZF
+  }
+
+  /** Replaces the byte at the given offset of the plain document, before compression. */
+  public record ErrorInjection(long offset, byte value) {
+
+    public static ErrorInjection at(long offset, char value) {
+      return new ErrorInjection(offset, (byte) value);
+    }
+  }
+
+  /** Opens a new stream of the document, each stream starts again from the seed. */
+  public InputStream openStream() {
+    if (recordCount <= 0 && sizeInBytes <= 0) {
+      throw new IllegalStateException("Either recordCount or sizeInBytes has to be set");
+    }
+    return new GeneratingInputStream();
+  }
+
+  /** Generates the whole document into memory, only for small documents. */
+  public byte[] generate() {
+    try (InputStream in = openStream()) {
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes the document to the given file.
+   *
+   * @return the number of bytes written
+   */
+  public long writeTo(Path file) throws IOException {
+    try (InputStream in = openStream();
+        OutputStream out = Files.newOutputStream(file)) {
+      return in.transferTo(out);
+    }
+  }
+
+  private OutputStream compress(OutputStream out) throws IOException {
+    return switch (compression) {
+      case PLAIN -> out;
+      case GZIP -> new GZIPOutputStream(out, 64 * 1024);
+      case MULTI_MEMBER_GZIP -> new MultiMemberGzipOutputStream(out, memberSizeInBytes);
+      case BGZF -> new BgzfOutputStream(out);
+    };
+  }
+
+  /** Generates the next records whenever the compressed output of the previous ones is read. */
+  private class GeneratingInputStream extends InputStream {
+
+    private final Chunk chunk = new Chunk();
+    private final SplittableRandom random = new SplittableRandom(seed);
+    private final InjectingOutputStream plain;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final byte[] qualityTable = new byte[1024];
+    private long records;
+    private int position;
+    private boolean finished;
+
+    GeneratingInputStream() {
+      try {
+        plain = new InjectingOutputStream(compress(chunk), errors);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      // drawing a score per base is the bottleneck of the generator, so scores are drawn up front
+      for (int i = 0; i < qualityTable.length; i++) {
+        long score = Math.round(meanQuality + qualityStandardDeviation * random.nextGaussian());
+        int quality = (int) Math.max(MIN_QUALITY, Math.min(MAX_QUALITY, score));
+        qualityTable[i] = (byte) (quality + PHRED_OFFSET);
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!fill()) {
+        return -1;
+      }
+      return chunk.buffer()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+      int read = Math.min(length, chunk.size() - position);
+      System.arraycopy(chunk.buffer(), position, buffer, offset, read);
+      position += read;
+      return read;
+    }
+
+    private boolean fill() throws IOException {
+      while (position == chunk.size()) {
+        if (finished) {
+          return false;
+        }
+        chunk.reset();
+        position = 0;
+        if ((recordCount <= 0 || records < recordCount)
+            && (sizeInBytes <= 0 || plain.offset() < sizeInBytes)) {
+          writeRecord();
+        } else {
+          plain.close();
+          finished = true;
+        }
+      }
+      return true;
+    }
+
+    private void writeRecord() throws IOException {
+      record.reset();
+      if (format == Format.FASTA) {
+        writeFastA();
+      } else {
+        writeFastQ();
+      }
+      record.writeTo(plain);
+      records++;
+    }
+
+    private void writeFastA() {
+      int length = sequenceLength;
+      double fraction = nFraction;
+      String header = ">sequence" + records + " synthetic";
+      if (pathogen != null) {
+        length = (int) random.nextLong(pathogen.getShortest(), pathogen.getLongest() + 1);
+        fraction = Math.min(fraction, pathogen.getPercentageN());
+        header += " pathogen=" + pathogen.getName();
+      }
+      writeLine(header.getBytes(US_ASCII), 0, header.length());
+      byte[] bases = bases(length, fraction);
+      int width = lineWidth > 0 ? lineWidth : length;
+      for (int offset = 0; offset < length; offset += width) {
+        writeLine(bases, offset, Math.min(width, length - offset));
+      }
+    }
+
+    private void writeFastQ() {
+      byte[] bases = bases(readLength, nFraction);
+      byte[] qualities = new byte[readLength];
+      long bits = 0;
+      for (int i = 0; i < readLength; i++) {
+        if (i % 6 == 0) {
+          bits = random.nextLong();
+        }
+        qualities[i] = qualityTable[(int) (bits & 1023)];
+        if (bases[i] == 'N') {
+          qualities[i] = MIN_QUALITY + PHRED_OFFSET;
+        }
+        bits >>>= 10;
+      }
+      String header = "@read" + records + " synthetic";
+      writeLine(header.getBytes(US_ASCII), 0, header.length());
+      writeLine(bases, 0, readLength);
+      writeLine(new byte[] {'+'}, 0, 1);
+      writeLine(qualities, 0, readLength);
+    }
+
+    /**
+     * Random bases with exactly the fraction of N rounded down, so the limits of a pathogen are
+     * kept.
+     */
+    private byte[] bases(int length, double fraction) {
+      byte[] bases = new byte[length];
+      for (int i = 0; i < length; i += 32) {
+        long bits = random.nextLong();
+        for (int j = i; j < Math.min(i + 32, length); j++, bits >>>= 2) {
+          bases[j] = BASES[(int) (bits & 3)];
+        }
+      }
+      int amountN = (int) Math.floor(length * fraction);
+      if (amountN <= length / 2) {
+        for (int placed = 0; placed < amountN; ) {
+          int position = random.nextInt(length);
+          if (bases[position] != 'N') {
+            bases[position] = 'N';
+            placed++;
+          }
+        }
+      } else {
+        // mostly N, so the bases are placed into a sequence of N instead
+        byte[] generated = bases.clone();
+        Arrays.fill(bases, (byte) 'N');
+        for (int placed = 0; placed < length - amountN; ) {
+          int position = random.nextInt(length);
+          if (bases[position] == 'N') {
+            bases[position] = generated[position];
+            placed++;
+          }
+        }
+      }
+      return bases;
+    }
+
+    private void writeLine(byte[] bytes, int offset, int length) {
+      record.write(bytes, offset, length);
+      record.write('\n');
+    }
+  }
+
+  private static class Chunk extends ByteArrayOutputStream {
+
+    byte[] buffer() {
+      return buf;
+    }
+  }
+
+  /** Replaces the bytes at the offsets of the error injections while counting the offset. */
+  private static class InjectingOutputStream extends FilterOutputStream {
+
+    private final NavigableMap<Long, Byte> errors = new TreeMap<>();
+    private long offset;
+
+    InjectingOutputStream(OutputStream out, List<ErrorInjection> injections) {
+      super(out);
+      injections.forEach(injection -> errors.put(injection.offset(), injection.value()));
+    }
+
+    long offset() {
+      return offset;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      Byte error = errors.get(offset++);
+      out.write(error != null ? error : b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int length) throws IOException {
+      NavigableMap<Long, Byte> hits = errors.subMap(offset, true, offset + length, false);
+      if (hits.isEmpty()) {
+        out.write(bytes, off, length);
+      } else {
+        byte[] copy = Arrays.copyOfRange(bytes, off, off + length);
+        hits.forEach((position, value) -> copy[(int) (position - offset)] = value);
+        out.write(copy);
+      }
+      offset += length;
+    }
+  }
+
+  /** Starts a new gzip member after every {@code memberSize} bytes. */
+  private static class MultiMemberGzipOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final OutputStream unclosable;
+    private final long memberSize;
+    private GZIPOutputStream member;
+    private long inMember;
+
+    MultiMemberGzipOutputStream(OutputStream out, long memberSize) {
+      this.out = out;
+      this.memberSize = memberSize;
+      this.unclosable =
+          new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+              out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() {
+              // the members end, the stream goes on
+            }
+          };
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      while (length > 0) {
+        if (member == null) {
+          member = new GZIPOutputStream(unclosable);
+        }
+        int count = (int) Math.min(length, memberSize - inMember);
+        member.write(bytes, offset, count);
+        inMember += count;
+        offset += count;
+        length -= count;
+        if (inMember == memberSize) {
+          endMember();
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      endMember();
+      out.close();
+    }
+
+    private void endMember() throws IOException {
+      if (member != null) {
+        member.close();
+        member = null;
+        inMember = 0;
+      }
+    }
+  }
+
+  /**
+   * Writes BGZF, gzip members of at most 64 KiB each carrying their size in a {@code BC} extra
+   * field, see the SAM/BAM format specification.
+   */
+  private static class BgzfOutputStream extends OutputStream {
+
+    private static final int MAX_BLOCK_INPUT = 0xff00;
+    private static final byte[] EOF_BLOCK = {
+      0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0, 0x1b, 0, 3, 0, 0,
+      0, 0, 0, 0, 0, 0, 0
+    };
+
+    private final OutputStream out;
+    private final byte[] block = new byte[MAX_BLOCK_INPUT];
+    private final byte[] compressed = new byte[64 * 1024];
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private int count;
+
+    BgzfOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (count == block.length) {
+        writeBlock();
+      }
+      block[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      while (length > 0) {
+        if (count == block.length) {
+          writeBlock();
+        }
+        int copied = Math.min(length, block.length - count);
+        System.arraycopy(bytes, offset, block, count, copied);
+        count += copied;
+        offset += copied;
+        length -= copied;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      writeBlock();
+      out.write(EOF_BLOCK);
+      deflater.end();
+      out.close();
+    }
+
+    private void writeBlock() throws IOException {
+      if (count == 0) {
+        return;
+      }
+      deflater.reset();
+      deflater.setInput(block, 0, count);
+      deflater.finish();
+      int size = 0;
+      while (!deflater.finished()) {
+        size += deflater.deflate(compressed, size, compressed.length - size);
+      }
+      crc.reset();
+      crc.update(block, 0, count);
+      int blockSize = 18 + size + 8;
+      out.write(new byte[] {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C'});
+      out.write(new byte[] {2, 0, (byte) (blockSize - 1), (byte) ((blockSize - 1) >> 8)});
+      out.write(compressed, 0, size);
+      writeInt((int) crc.getValue());
+      writeInt(count);
+      count = 0;
+    }
+
+    private void writeInt(int value) throws IOException {
+      out.write(value);
+      out.write(value >> 8);
+      out.write(value >> 16);
+      out.write(value >> 24);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package util;
+
+/*-
+ * #%L
+ * Integrierte-Genomische-Surveillance-Service
+ * %%
+ * Copyright (C) 2025 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.igs.service.service.validation.FastAValidator.INVALID_CHAR_ERROR_MSG;
+import static de.gematik.demis.igs.service.service.validation.FastQValidator.INVALID_CHAR_FOUND_MSG;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+import de.gematik.demis.igs.service.exception.IgsServiceException;
+import de.gematik.demis.igs.service.service.validation.FastAValidationSpecifications;
+import de.gematik.demis.igs.service.service.validation.FastAValidationSpecifications.FastAConfig;
+import de.gematik.demis.igs.service.service.validation.FastAValidator;
+import de.gematik.demis.igs.service.service.validation.FastQValidator;
+import de.gematik.demis.igs.service.service.validation.SequenceValidator;
+import de.gematik.demis.igs.service.utils.AsciiLine;
+import de.gematik.demis.igs.service.utils.AsciiLineReader;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import util.SequenceCorpusGenerator.Compression;
+import util.SequenceCorpusGenerator.ErrorInjection;
+import util.SequenceCorpusGenerator.Format;
+
+class SequenceCorpusGeneratorTest {
+
+  private static final FastAConfig PATHOGEN = new FastAConfig("asdf", 40, 20, 0.5);
+  private static final FastAValidationSpecifications SPECIFICATIONS =
+      FastAValidationSpecifications.builder().fastAConfigs(List.of(PATHOGEN)).build();
+
+  @Test
+  void shouldGenerateSameDocumentForSameSeed() {
+    SequenceCorpusGenerator generator =
+        SequenceCorpusGenerator.builder().format(Format.FASTQ).recordCount(100).build();
+    assertThat(generator.generate()).isEqualTo(generator.generate());
+    assertThat(generator.toBuilder().seed(7).build().generate())
+        .isNotEqualTo(generator.generate());
+  }
+
+  @Test
+  void shouldStopAfterTheRecordReachingTheSize() {
+    SequenceCorpusGenerator generator =
+        SequenceCorpusGenerator.builder().sizeInBytes(100_000).sequenceLength(1000).build();
+    byte[] document = generator.generate();
+    assertThat(document.length).isBetween(100_000, 100_000 + 1100);
+  }
+
+  @SneakyThrows
+  @ParameterizedTest
+  @EnumSource(Compression.class)
+  void shouldCompressTheSameDocument(Compression compression) {
+    SequenceCorpusGenerator plain =
+        SequenceCorpusGenerator.builder().sizeInBytes(300_000).memberSizeInBytes(50_000).build();
+    byte[] compressed = plain.toBuilder().compression(compression).build().generate();
+    byte[] decompressed =
+        compression == Compression.PLAIN
+            ? compressed
+            : new GzipCompressorInputStream(new ByteArrayInputStream(compressed), true)
+                .readAllBytes();
+    assertThat(decompressed).isEqualTo(plain.generate());
+  }
+
+  @SneakyThrows
+  @Test
+  void shouldWriteSeveralMembers() {
+    SequenceCorpusGenerator generator =
+        SequenceCorpusGenerator.builder().sizeInBytes(300_000).memberSizeInBytes(50_000).build();
+    byte[] compressed =
+        generator.toBuilder().compression(Compression.MULTI_MEMBER_GZIP).build().generate();
+    byte[] firstMember =
+        new GzipCompressorInputStream(new ByteArrayInputStream(compressed), false).readAllBytes();
+    assertThat(firstMember).hasSize(50_000);
+  }
+
+  @Test
+  void shouldGenerateValidFastAForPathogen() {
+    SequenceCorpusGenerator generator =
+        SequenceCorpusGenerator.builder()
+            .pathogen(PATHOGEN)
+            .recordCount(200)
+            .nFraction(0.5)
+            .lineWidth(7)
+            .build();
+    assertDoesNotThrow(
+        () -> validate(new FastAValidator(SPECIFICATIONS, true), generator.generate()));
+  }
+
+  @Test
+  void shouldGenerateValidFastQ() {
+    SequenceCorpusGenerator generator =
+        SequenceCorpusGenerator.builder().format(Format.FASTQ).recordCount(1000).build();
+    assertDoesNotThrow(() -> validate(new FastQValidator(), generator.generate()));
+  }
+
+  @Test
+  void shouldInjectErrors() {
+    SequenceCorpusGenerator fastA =
+        SequenceCorpusGenerator.builder()
+            .recordCount(1)
+            .sequenceLength(100)
+            .lineWidth(10)
+            .error(ErrorInjection.at(">sequence0 synthetic\n".length() + 25, '!'))
+            .build();
+    assertThatThrownBy(() -> validate(new FastAValidator(SPECIFICATIONS, false), fastA.generate()))
+        .isInstanceOf(IgsServiceException.class)
+        .hasMessage(format(INVALID_CHAR_ERROR_MSG, "sequence", 4));
+
+    SequenceCorpusGenerator fastQ =
+        SequenceCorpusGenerator.builder()
+            .format(Format.FASTQ)
+            .recordCount(3)
+            .readLength(10)
+            .error(ErrorInjection.at(2 * 41 + "@read2 synthetic\n".length() + 3, 'x'))
+            .build();
+    assertThatThrownBy(() -> validate(new FastQValidator(), fastQ.generate()))
+        .isInstanceOf(IgsServiceException.class)
+        .hasMessage(format(INVALID_CHAR_FOUND_MSG, 10));
+  }
+
+  @SneakyThrows
+  private static void validate(SequenceValidator validator, byte[] document) {
+    AsciiLineReader lineReader = new AsciiLineReader(new ByteArrayInputStream(document));
+    AsciiLine firstLine = new AsciiLine();
+    lineReader.readLine(firstLine);
+    validator.validate(firstLine, lineReader);
+  }
+}